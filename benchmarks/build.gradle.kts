@@ -0,0 +1,117 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+plugins {
+  alias(libs.plugins.ceres.android.library)
+  alias(libs.plugins.androidx.benchmark)
+  alias(libs.plugins.ksp)
+}
+
+// Number of synthetic Drifter modules compiled with the benchmarks.
+val syntheticModuleCount = providers.gradleProperty("drifter.syntheticModules")
+  .map(String::toInt)
+  .orElse(0)
+val syntheticSourceDir = layout.projectDirectory.dir("src/synthetic/kotlin")
+
+android {
+  namespace = "dev.teogor.drifter.benchmarks"
+
+  sourceSets {
+    if (syntheticModuleCount.get() > 0) {
+      getByName("main").kotlin.srcDir(syntheticSourceDir)
+    }
+  }
+
+  defaultConfig {
+    testInstrumentationRunner = "androidx.benchmark.junit4.AndroidBenchmarkRunner"
+  }
+
+  // Benchmarks run against the non-debuggable build, like the apps shipping the library.
+  testBuildType = "release"
+
+  buildTypes {
+    release {
+      isDefault = true
+      isMinifyEnabled = false
+      signingConfig = signingConfigs.getByName("debug")
+    }
+  }
+}
+
+dependencies {
+  implementation(projects.runtime)
+  ksp(projects.compiler)
+
+  implementation(projects.core)
+  implementation(projects.integration)
+  implementation(projects.unity.common)
+  implementation(projects.wallpaper)
+
+  implementation(platform(libs.ceres.bom))
+  implementation(libs.ceres.core.register)
+
+  androidTestImplementation(libs.androidx.benchmark.junit4)
+  androidTestImplementation(libs.androidx.test.ext.junit)
+}
+
+ksp {
+  arg("drifter.generateStreamingJson", "true")
+}
+
+tasks.register("generateSyntheticModules") {
+  description = "Generates the Drifter modules compiled when drifter.syntheticModules is set."
+
+  val moduleCount = syntheticModuleCount
+  val packageDir = syntheticSourceDir.dir("dev/teogor/drifter/benchmarks/synthetic")
+  outputs.dir(packageDir)
+
+  doLast {
+    val directory = packageDir.asFile
+    directory.deleteRecursively()
+    directory.mkdirs()
+    directory.resolve("SyntheticEncoders.kt").writeText(
+      """
+      |package dev.teogor.drifter.benchmarks.synthetic
+      |
+      |import dev.teogor.drifter.DrifterEncoder
+      |
+      |data class SyntheticColor(val argb: Int)
+      |
+      |@DrifterEncoder
+      |fun SyntheticColor.encodeSyntheticColor(): Int = argb
+      |
+      """.trimMargin(),
+    )
+    repeat(moduleCount.get()) { index ->
+      directory.resolve("SyntheticModule$index.kt").writeText(
+        """
+        |package dev.teogor.drifter.benchmarks.synthetic
+        |
+        |import dev.teogor.drifter.DrifterModule
+        |
+        |@DrifterModule(name = "Synthetic$index", receiver = "SyntheticController$index")
+        |data class SyntheticModule$index(
+        |  val speed: Float? = null,
+        |  val count: Int? = null,
+        |  val label: String? = null,
+        |  val tint: SyntheticColor? = null,
+        |)
+        |
+        """.trimMargin(),
+      )
+    }
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.benchmarks
+
+import androidx.benchmark.junit4.BenchmarkRule
+import androidx.benchmark.junit4.measureRepeated
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import dev.teogor.drifter.unity.common.binary.UnityBinaryWriter
+import dev.teogor.drifter.unity.common.json.UnityJsonWriter
+import org.junit.Rule
+import org.junit.Test
+import org.junit.runner.RunWith
+
+@RunWith(AndroidJUnit4::class)
+class ActionParamsBenchmark {
+
+  @get:Rule
+  val benchmarkRule = BenchmarkRule()
+
+  private val params = BenchmarkActionParams(
+    speed = 1.5f,
+    count = 3,
+    enabled = true,
+    label = "benchmark",
+  )
+
+  @Test
+  fun toJsonObject() = benchmarkRule.measureRepeated {
+    params.toJsonObject().toString()
+  }
+
+  @Test
+  fun writeJson() = benchmarkRule.measureRepeated {
+    val writer = UnityJsonWriter.obtain()
+    params.writeJson(writer)
+    writer.toByteArray()
+  }
+
+  /**
+   * Writes the same fields as [writeJson] the way `writeBinary` does under
+   * `drifter.wireFormat=binary`, Base64 encoding included.
+   */
+  @Test
+  fun writeBinary() = benchmarkRule.measureRepeated {
+    val writer = UnityBinaryWriter.obtain()
+    writer.begin(schemaVersion = 0, fieldCount = 4)
+    params.speed?.let { writer.field(0).value(it) }
+    params.count?.let { writer.field(1).value(it) }
+    params.enabled?.let { writer.field(2).value(it) }
+    params.label?.let { writer.field(3).value(it) }
+    writer.toByteArray()
+  }
+
+  @Test
+  fun toJsonObjectFromFourProducers() = ConcurrentProducers(4).use { producers ->
+    benchmarkRule.measureRepeated {
+      producers.run(ITERATIONS_PER_PRODUCER) {
+        params.toJsonObject().toString()
+      }
+    }
+  }
+
+  private companion object {
+    const val ITERATIONS_PER_PRODUCER = 100
+  }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.benchmarks
+
+import java.io.Closeable
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.atomic.AtomicReference
+
+/**
+ * Runs the same work on several producer threads at once, so benchmarks can measure contended
+ * send paths. The threads are created once and reused by every [run].
+ *
+ * @param threadCount Number of producer threads.
+ */
+class ConcurrentProducers(private val threadCount: Int) : Closeable {
+
+  private val executor: ExecutorService = Executors.newFixedThreadPool(threadCount)
+
+  /**
+   * Calls [produce] [iterations] times on every producer thread, releasing the threads together
+   * and returning once all of them are done. The first failure of a producer is rethrown.
+   */
+  fun run(iterations: Int, produce: (iteration: Int) -> Unit) {
+    val start = CountDownLatch(1)
+    val done = CountDownLatch(threadCount)
+    val failure = AtomicReference<Throwable>()
+    repeat(threadCount) {
+      executor.execute {
+        try {
+          start.await()
+          repeat(iterations, produce)
+        } catch (throwable: Throwable) {
+          failure.compareAndSet(null, throwable)
+        } finally {
+          done.countDown()
+        }
+      }
+    }
+    start.countDown()
+    done.await()
+    failure.get()?.let { throw it }
+  }
+
+  override fun close() {
+    executor.shutdownNow()
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.benchmarks
+
+import androidx.benchmark.junit4.BenchmarkRule
+import androidx.benchmark.junit4.measureRepeated
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import dev.teogor.drifter.wallpaper.ILiveWallpaperEventsListener
+import dev.teogor.drifter.wallpaper.UnityEventsProxy
+import org.junit.Before
+import org.junit.Rule
+import org.junit.Test
+import org.junit.runner.RunWith
+
+@RunWith(AndroidJUnit4::class)
+class DispatchEventsBenchmark {
+
+  @get:Rule
+  val benchmarkRule = BenchmarkRule()
+
+  private val proxy = UnityEventsProxy()
+
+  @Volatile
+  private var dispatched = 0
+
+  @Before
+  fun setUp() {
+    proxy.registerLiveWallpaperEventsListener(CountingListener())
+  }
+
+  @Test
+  fun dispatchEvents() = benchmarkRule.measureRepeated {
+    runWithTimingDisabled {
+      queueEvents(0)
+    }
+    proxy.dispatchEvents()
+  }
+
+  @Test
+  fun queueAndDispatchEvents() = benchmarkRule.measureRepeated {
+    queueEvents(0)
+    proxy.dispatchEvents()
+  }
+
+  @Test
+  fun queueFromFourProducers() = ConcurrentProducers(4).use { producers ->
+    benchmarkRule.measureRepeated {
+      producers.run(EVENTS_PER_PRODUCER, ::queueEvents)
+      proxy.dispatchEvents()
+    }
+  }
+
+  private fun queueEvents(iteration: Int) {
+    val offset = (iteration % 100) / 100f
+    proxy.offsetsChanged(offset, 0f, 0.25f, 0f, iteration, 0)
+    proxy.visibilityChanged(iteration % 2 == 0)
+    proxy.customEventReceived("benchmark", "payload-$iteration")
+  }
+
+  private inner class CountingListener : ILiveWallpaperEventsListener {
+    override fun visibilityChanged(isVisible: Boolean) {
+      dispatched++
+    }
+
+    override fun isPreviewChanged(isPreview: Boolean) {
+      dispatched++
+    }
+
+    override fun desiredSizeChanged(desiredWidth: Int, desiredHeight: Int) {
+      dispatched++
+    }
+
+    override fun offsetsChanged(
+      xOffset: Float,
+      yOffset: Float,
+      xOffsetStep: Float,
+      yOffsetStep: Float,
+      xPixelOffset: Int,
+      yPixelOffset: Int,
+    ) {
+      dispatched++
+    }
+
+    override fun preferenceChanged(key: String) {
+      dispatched++
+    }
+
+    override fun preferencesActivityTriggered() {
+      dispatched++
+    }
+
+    override fun customEventReceived(eventName: String, eventData: String) {
+      dispatched++
+    }
+
+    override fun multiTapDetected(finalTapPositionX: Float, finalTapPositionY: Float) {
+      dispatched++
+    }
+  }
+
+  private companion object {
+    const val EVENTS_PER_PRODUCER = 50
+  }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.benchmarks
+
+import androidx.benchmark.junit4.BenchmarkRule
+import androidx.benchmark.junit4.measureRepeated
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import dev.teogor.drifter.integration.model.Vector2
+import dev.teogor.drifter.integration.utilities.asString
+import org.junit.Rule
+import org.junit.Test
+import org.junit.runner.RunWith
+
+@RunWith(AndroidJUnit4::class)
+class MessageAsStringBenchmark {
+
+  @get:Rule
+  val benchmarkRule = BenchmarkRule()
+
+  private val vector = Vector2(x = 0.25f, y = 0.75f)
+  private val message = BenchmarkMessage(x = 0.25f, y = 0.75f, frame = 42L, label = "benchmark")
+
+  @Test
+  fun vector2() = benchmarkRule.measureRepeated {
+    vector.asString
+  }
+
+  @Test
+  fun generatedSerializer() = benchmarkRule.measureRepeated {
+    message.asString
+  }
+
+  @Test
+  fun generatedSerializerFromFourProducers() = ConcurrentProducers(4).use { producers ->
+    benchmarkRule.measureRepeated {
+      producers.run(ITERATIONS_PER_PRODUCER) {
+        message.asString
+      }
+    }
+  }
+
+  private companion object {
+    const val ITERATIONS_PER_PRODUCER = 100
+  }
+}
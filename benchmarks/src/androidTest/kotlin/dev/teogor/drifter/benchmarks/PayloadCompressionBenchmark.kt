@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.benchmarks
+
+import androidx.benchmark.junit4.BenchmarkRule
+import androidx.benchmark.junit4.measureRepeated
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import dev.teogor.drifter.unity.common.messaging.PayloadCompression
+import org.json.JSONArray
+import org.json.JSONObject
+import org.junit.After
+import org.junit.Before
+import org.junit.Rule
+import org.junit.Test
+import org.junit.runner.RunWith
+
+/**
+ * Finds the size from which `PayloadCompression` pays off.
+ *
+ * Every parameter is decoded from UTF-8 into a string when it crosses the native bridge, so the
+ * uncompressed cost of a payload is one decode of its bytes, and the compressed cost is the
+ * compression plus one decode of the smaller encoded payload. The break-even threshold is the
+ * smallest size at which `compressAndDecode` beats `decodeUncompressed`.
+ */
+@RunWith(AndroidJUnit4::class)
+class PayloadCompressionBenchmark {
+
+  @get:Rule
+  val benchmarkRule = BenchmarkRule()
+
+  @Before
+  fun setUp() {
+    PayloadCompression.threshold = 1
+  }
+
+  @After
+  fun tearDown() {
+    PayloadCompression.threshold = PayloadCompression.DISABLED
+  }
+
+  @Test
+  fun decodeUncompressed1KiB() = decodeUncompressed(configPayload(1 * KIB))
+
+  @Test
+  fun compressAndDecode1KiB() = compressAndDecode(configPayload(1 * KIB))
+
+  @Test
+  fun decodeUncompressed4KiB() = decodeUncompressed(configPayload(4 * KIB))
+
+  @Test
+  fun compressAndDecode4KiB() = compressAndDecode(configPayload(4 * KIB))
+
+  @Test
+  fun decodeUncompressed16KiB() = decodeUncompressed(configPayload(16 * KIB))
+
+  @Test
+  fun compressAndDecode16KiB() = compressAndDecode(configPayload(16 * KIB))
+
+  @Test
+  fun decodeUncompressed64KiB() = decodeUncompressed(configPayload(64 * KIB))
+
+  @Test
+  fun compressAndDecode64KiB() = compressAndDecode(configPayload(64 * KIB))
+
+  private fun decodeUncompressed(payload: ByteArray) = benchmarkRule.measureRepeated {
+    String(payload, Charsets.UTF_8)
+  }
+
+  private fun compressAndDecode(payload: ByteArray) = benchmarkRule.measureRepeated {
+    String(PayloadCompression.compress(payload) ?: payload, Charsets.UTF_8)
+  }
+
+  /**
+   * Builds a JSON config of about [size] bytes, as repetitive as the configs sent by apps.
+   */
+  private fun configPayload(size: Int): ByteArray {
+    val entries = JSONArray()
+    var index = 0
+    while (entries.toString().length < size) {
+      entries.put(
+        JSONObject()
+          .put("id", "layer_$index")
+          .put("enabled", index % 3 != 0)
+          .put("opacity", (index % 10) / 10.0)
+          .put("blendMode", "multiply"),
+      )
+      index++
+    }
+    return entries.toString().toByteArray(Charsets.UTF_8)
+  }
+
+  private companion object {
+    const val KIB = 1024
+  }
+}
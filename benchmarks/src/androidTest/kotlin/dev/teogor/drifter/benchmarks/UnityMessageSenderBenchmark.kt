@@ -0,0 +1,146 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.benchmarks
+
+import androidx.benchmark.junit4.BenchmarkRule
+import androidx.benchmark.junit4.measureRepeated
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import dev.teogor.drifter.core.UnityMessageSender
+import dev.teogor.drifter.unity.common.messaging.DeliveryMode
+import org.json.JSONObject
+import org.junit.After
+import org.junit.Before
+import org.junit.Rule
+import org.junit.Test
+import org.junit.runner.RunWith
+
+@RunWith(AndroidJUnit4::class)
+class UnityMessageSenderBenchmark {
+
+  @get:Rule
+  val benchmarkRule = BenchmarkRule()
+
+  private val sender = UnityMessageSender(RECEIVER)
+  private val batchedSender = UnityMessageSender(BATCHED_RECEIVER, DeliveryMode.Batched)
+  private val player = FakeUnityPlayer()
+  private val generatedSender = BenchmarkMessageSender()
+  private val payload = JSONObject()
+    .put("speed", 1.5)
+    .put("label", "benchmark")
+  private val payloadBytes = payload.toString().toByteArray()
+  private val module = BenchmarkModule(
+    speed = 1.5f,
+    count = 3,
+    enabled = true,
+    label = "benchmark",
+  )
+
+  @Before
+  fun setUp() {
+    FakeUnityEngineFactory.install()
+    player.resume()
+  }
+
+  @After
+  fun tearDown() {
+    player.pause()
+  }
+
+  @Test
+  fun sendJsonObject() = benchmarkRule.measureRepeated {
+    sender.sendMessage(METHOD, payload)
+  }
+
+  @Test
+  fun sendByteArray() = benchmarkRule.measureRepeated {
+    sender.sendMessage(METHOD, payloadBytes)
+  }
+
+  @Test
+  fun sendGeneratedField() = benchmarkRule.measureRepeated {
+    generatedSender.speed(1.5f)
+  }
+
+  @Test
+  fun sendGeneratedMethod() = benchmarkRule.measureRepeated {
+    generatedSender.applySettings(1.5f, 3, true, "benchmark")
+  }
+
+  /**
+   * Restores a whole module with one message per field, the baseline of [sendGeneratedApplyFields].
+   */
+  @Test
+  fun sendGeneratedFieldsOfModule() = benchmarkRule.measureRepeated {
+    module.speed?.let { generatedSender.speed(it) }
+    module.count?.let { generatedSender.count(it) }
+    module.enabled?.let { generatedSender.enabled(it) }
+    module.label?.let { generatedSender.label(it) }
+  }
+
+  @Test
+  fun sendGeneratedApplyFields() = benchmarkRule.measureRepeated {
+    generatedSender.applyFields(module)
+  }
+
+  @Test
+  fun sendGeneratedApplyAll() = benchmarkRule.measureRepeated {
+    generatedSender.applyAll(module)
+  }
+
+  /**
+   * Sends batched messages while the frame loop of [player] delivers them, as the render thread
+   * of the Unity Player does.
+   */
+  @Test
+  fun sendBatchedByteArray() = benchmarkRule.measureRepeated {
+    batchedSender.sendMessage(METHOD, payloadBytes)
+  }
+
+  @Test
+  fun sendBatchedByteArrayFromFourProducers() = ConcurrentProducers(4).use { producers ->
+    benchmarkRule.measureRepeated {
+      producers.run(MESSAGES_PER_PRODUCER) {
+        batchedSender.sendMessage(METHOD, payloadBytes)
+      }
+    }
+  }
+
+  @Test
+  fun sendByteArrayFromFourProducers() = ConcurrentProducers(4).use { producers ->
+    benchmarkRule.measureRepeated {
+      producers.run(MESSAGES_PER_PRODUCER) {
+        sender.sendMessage(METHOD, payloadBytes)
+      }
+    }
+  }
+
+  @Test
+  fun sendGeneratedFieldFromFourProducers() = ConcurrentProducers(4).use { producers ->
+    benchmarkRule.measureRepeated {
+      producers.run(MESSAGES_PER_PRODUCER) {
+        generatedSender.speed(it.toFloat())
+      }
+    }
+  }
+
+  private companion object {
+    const val RECEIVER = "BenchmarkController"
+    const val BATCHED_RECEIVER = "BenchmarkBatchedController"
+    const val METHOD = "SetSpeed"
+    const val MESSAGES_PER_PRODUCER = 100
+  }
+}
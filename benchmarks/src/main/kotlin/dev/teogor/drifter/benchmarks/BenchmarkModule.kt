@@ -0,0 +1,48 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.benchmarks
+
+import dev.teogor.drifter.DrifterModule
+import dev.teogor.drifter.DrifterUnityMethod
+
+/**
+ * Module whose generated sender and action parameters are measured by the benchmarks.
+ */
+@DrifterModule(
+  name = "Benchmark",
+  receiver = "BenchmarkController",
+  methods = BenchmarkMethods::class,
+)
+data class BenchmarkModule(
+  val speed: Float? = null,
+  val count: Int? = null,
+  val enabled: Boolean? = null,
+  val label: String? = null,
+)
+
+interface BenchmarkMethods {
+  @DrifterUnityMethod(
+    name = "applySettings",
+    parameters = [
+      "speed",
+      "count",
+      "enabled",
+      "label",
+    ],
+  )
+  fun applySettings()
+}
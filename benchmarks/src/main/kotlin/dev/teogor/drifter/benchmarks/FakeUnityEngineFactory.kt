@@ -0,0 +1,111 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.benchmarks
+
+import android.content.ContextWrapper
+import dev.teogor.ceres.core.register.RegistryStartup
+import dev.teogor.drifter.unity.common.IUnityPlayer
+import dev.teogor.drifter.unity.common.LocalUnityEngine
+import dev.teogor.drifter.unity.common.UnityEngineFactory
+import dev.teogor.drifter.unity.common.UnityOptions
+import java.nio.ByteBuffer
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * In-memory [UnityEngineFactory] that exercises the send path without `libunity.so`.
+ *
+ * Every native call is replaced by counting the message and its payload, so benchmarks measure
+ * the Kotlin side of the bridge only. The last payload is kept in a volatile field so the
+ * compiler cannot discard the work that produced it.
+ */
+class FakeUnityEngineFactory : UnityEngineFactory {
+
+  override val version = "fake"
+
+  private val messages = AtomicLong()
+  private val bytes = AtomicLong()
+
+  /**
+   * Number of native calls received.
+   */
+  val messageCount: Long
+    get() = messages.get()
+
+  /**
+   * Total size of the payloads received, in UTF-16 code units for strings and bytes otherwise.
+   */
+  val payloadBytes: Long
+    get() = bytes.get()
+
+  /**
+   * Last payload received.
+   */
+  @Volatile
+  var lastPayload: Any? = null
+    private set
+
+  /**
+   * The last player created by [createUnityPlayer].
+   */
+  @Volatile
+  var player: FakeUnityPlayer? = null
+    private set
+
+  override fun createUnityPlayer(
+    contextWrapper: ContextWrapper,
+    options: UnityOptions,
+  ): IUnityPlayer = FakeUnityPlayer().also { player = it }
+
+  override fun sendMessage(gameObject: String, methodName: String, funcParam: String) {
+    record(funcParam, funcParam.length)
+  }
+
+  override fun sendMessage(gameObject: String, methodName: String, funcParam: ByteArray) {
+    record(funcParam, funcParam.size)
+  }
+
+  override fun sendMessage(gameObject: String, methodName: String, funcParam: ByteBuffer) {
+    record(funcParam, funcParam.remaining())
+  }
+
+  /**
+   * Forgets the messages received so far.
+   */
+  fun reset() {
+    messages.set(0L)
+    bytes.set(0L)
+    lastPayload = null
+  }
+
+  private fun record(payload: Any, size: Int) {
+    messages.incrementAndGet()
+    bytes.addAndGet(size.toLong())
+    lastPayload = payload
+  }
+
+  companion object {
+
+    /**
+     * Registers a new [FakeUnityEngineFactory] as [LocalUnityEngine] and returns it.
+     */
+    fun install(): FakeUnityEngineFactory {
+      val factory = FakeUnityEngineFactory()
+      RegistryStartup.provides(LocalUnityEngine provide factory)
+      return factory
+    }
+  }
+}
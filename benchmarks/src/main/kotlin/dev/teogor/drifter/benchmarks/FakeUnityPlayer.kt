@@ -0,0 +1,114 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.benchmarks
+
+import android.app.Activity
+import android.content.res.Configuration
+import android.view.InputEvent
+import android.view.Surface
+import dev.teogor.drifter.unity.common.IUnityPlayer
+import dev.teogor.drifter.unity.common.messaging.UnityFrameCallbacks
+import java.util.concurrent.locks.LockSupport
+
+/**
+ * In-memory [IUnityPlayer] that simulates the frame loop of the Unity Player.
+ *
+ * While resumed, a background thread calls [UnityFrameCallbacks.dispatchFrame] every
+ * [frameIntervalNanos], as the render thread of the real player does before rendering a frame.
+ * Benchmarks that need deterministic frames can leave the player paused and call [frame].
+ *
+ * @param frameIntervalNanos Duration of a simulated frame. Defaults to 60 frames per second.
+ */
+class FakeUnityPlayer(
+  private val frameIntervalNanos: Long = DEFAULT_FRAME_INTERVAL_NANOS,
+) : IUnityPlayer {
+
+  private val lock = Any()
+  private var frameLoop: Thread? = null
+
+  @Volatile
+  private var frames = 0L
+
+  /**
+   * Number of frames produced so far.
+   */
+  val frameCount: Long
+    get() = frames
+
+  /**
+   * Produces a single frame on the calling thread.
+   */
+  fun frame() {
+    UnityFrameCallbacks.dispatchFrame()
+    frames++
+  }
+
+  override fun pause() {
+    val loop = synchronized(lock) {
+      frameLoop.also { frameLoop = null }
+    } ?: return
+    loop.interrupt()
+    loop.join()
+  }
+
+  override fun resume() {
+    synchronized(lock) {
+      if (frameLoop != null) return
+      frameLoop = Thread(::runFrameLoop, "FakeUnityMain").apply {
+        isDaemon = true
+        start()
+      }
+    }
+  }
+
+  override fun quit() = pause()
+
+  override fun unload() = pause()
+
+  override fun lowMemory() = Unit
+
+  override fun kill() = pause()
+
+  override fun destroy() = pause()
+
+  override fun windowFocusChanged(hasFocus: Boolean) = Unit
+
+  override fun injectEvent(inputEvent: InputEvent?) = false
+
+  override fun configurationChanged(configuration: Configuration?) = Unit
+
+  override fun displayChanged(displayId: Int, updatedSurface: Surface?) = true
+
+  override fun onNewCurrentActivity(activity: Activity) = Unit
+
+  private fun runFrameLoop() {
+    var nextFrame = System.nanoTime()
+    while (!Thread.currentThread().isInterrupted) {
+      frame()
+      nextFrame += frameIntervalNanos
+      var delay = nextFrame - System.nanoTime()
+      while (delay > 0L && !Thread.currentThread().isInterrupted) {
+        LockSupport.parkNanos(delay)
+        delay = nextFrame - System.nanoTime()
+      }
+    }
+  }
+
+  companion object {
+    const val DEFAULT_FRAME_INTERVAL_NANOS = 1_000_000_000L / 60
+  }
+}
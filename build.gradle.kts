@@ -25,6 +25,7 @@ plugins {
 
   alias(libs.plugins.teogor.winds) apply true
   alias(libs.plugins.teogor.drifter) apply false
+  alias(libs.plugins.androidx.benchmark) apply false
 
   alias(libs.plugins.vanniktech.maven) apply true
   alias(libs.plugins.dokka) apply true
@@ -112,6 +113,7 @@ val modulesByPath = listOf(
   ":demo",
   ":demo:app",
   ":demo:module-unity",
+  ":benchmarks",
 )
 
 val ktlintVersion = "0.50.0"
@@ -189,6 +191,7 @@ apiValidation {
    * Sub-projects that are excluded from API validation
    */
   ignoredProjects.addAll(excludeModules)
+  ignoredProjects.add("benchmarks")
 
   /**
    * Flag to programmatically disable compatibility validator
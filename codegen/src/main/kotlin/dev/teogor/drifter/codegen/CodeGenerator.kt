@@ -18,14 +18,23 @@
 
 package dev.teogor.drifter.codegen
 
+import dev.teogor.drifter.codegen.commons.usedBy
 import dev.teogor.drifter.codegen.facades.CodeOutputStreamMaker
 import dev.teogor.drifter.codegen.model.CodeGenConfig
 import dev.teogor.drifter.codegen.model.ConverterType
 import dev.teogor.drifter.codegen.model.DrifterActionBridgeData
+import dev.teogor.drifter.codegen.model.MessageSerializerData
+import dev.teogor.drifter.codegen.model.PackedArraysData
+import dev.teogor.drifter.codegen.model.UnityCallbackData
 import dev.teogor.drifter.codegen.servicelocator.ServiceLocatorAccessor
 import dev.teogor.drifter.codegen.servicelocator.actionMappingsOutputWriter
 import dev.teogor.drifter.codegen.servicelocator.actionParamsOutputWriter
+import dev.teogor.drifter.codegen.servicelocator.csharpReceiverOutputWriter
 import dev.teogor.drifter.codegen.servicelocator.keyConstantsOutputWriter
+import dev.teogor.drifter.codegen.servicelocator.messageSerializerOutputWriter
+import dev.teogor.drifter.codegen.servicelocator.packedArraysOutputWriter
+import dev.teogor.drifter.codegen.servicelocator.storageOutputWriter
+import dev.teogor.drifter.codegen.servicelocator.unityCallbackDispatcherOutputWriter
 import dev.teogor.drifter.codegen.servicelocator.unityMessageSenderOutputWriter
 
 class CodeGenerator(
@@ -40,19 +49,54 @@ class CodeGenerator(
     drifterActionBridges.filterNot {
       it.isError
     }.forEach { drifterActionBridge ->
-      keyConstantsOutputWriter.write(drifterActionBridge)
+      // Only the converters a module uses end up in its sources, so editing another converter
+      // or module leaves its generated files untouched.
+      val moduleConverters = converters.usedBy(drifterActionBridge)
+      val keyConstants = keyConstantsOutputWriter.write(drifterActionBridge)
+      storageOutputWriter.write(drifterActionBridge, keyConstants)
       val actionMappings = actionMappingsOutputWriter.write(drifterActionBridge)
       val actionParams = actionParamsOutputWriter.write(
         drifterActionBridge,
-        converters,
+        moduleConverters,
       )
       if (drifterActionBridge.receiverGameObject.isNotEmpty()) {
         unityMessageSenderOutputWriter.write(
           drifterActionBridge,
           actionParams,
           actionMappings,
+          moduleConverters,
         )
+        if (codeGenConfig.generateCSharp) {
+          csharpReceiverOutputWriter.write(drifterActionBridge, moduleConverters)
+        }
       }
     }
   }
+
+  fun generateCSharpRuntime(sourceIds: List<String>) {
+    csharpReceiverOutputWriter.writeRuntime(sourceIds)
+  }
+
+  fun generateMessageSerializers(messages: List<MessageSerializerData>) {
+    messages.forEach { message ->
+      messageSerializerOutputWriter.write(message)
+    }
+  }
+
+  fun generatePackedArrays(packedArrays: List<PackedArraysData>) {
+    packedArrays.forEach { data ->
+      packedArraysOutputWriter.write(data)
+    }
+  }
+
+  fun generateUnityCallbacks(packageName: String, callbacks: List<UnityCallbackData>) {
+    val callbacksPackageName = codeGenConfig.generatedPackageName ?: packageName
+    unityCallbackDispatcherOutputWriter.write(
+      packageName = callbacksPackageName,
+      callbacks = callbacks,
+    )
+    if (codeGenConfig.generateCSharp) {
+      csharpReceiverOutputWriter.writeCallbackIds(callbacksPackageName, callbacks)
+    }
+  }
 }
@@ -37,5 +37,125 @@ object DrifterConstants {
       "dev.teogor.drifter.core",
       "UnityMessageSender",
     )
+
+    /**
+     * Represents the fully qualified class name of the `UnityJsonWriter` class within the Drifter Unity common library.
+     *
+     * This class writes the JSON payloads of generated senders without intermediate objects.
+     */
+    val UnityJsonWriter = ClassName(
+      "dev.teogor.drifter.unity.common.json",
+      "UnityJsonWriter",
+    )
+
+    /**
+     * Represents the fully qualified class name of the `UnityBinaryWriter` class within the Drifter Unity common library.
+     *
+     * This class writes the payloads of generated senders in the binary wire format.
+     */
+    val UnityBinaryWriter = ClassName(
+      "dev.teogor.drifter.unity.common.binary",
+      "UnityBinaryWriter",
+    )
+
+    /**
+     * Represents the fully qualified class name of the `DeliveryMode` enum within the Drifter Unity common library.
+     *
+     * Generated senders use it to apply the delivery policy declared on their methods.
+     */
+    val DeliveryMode = ClassName(
+      "dev.teogor.drifter.unity.common.messaging",
+      "DeliveryMode",
+    )
+
+    /**
+     * Represents the fully qualified class name of the `MethodIdRegistry` object within the Drifter Unity common library.
+     *
+     * Generated action mappings register their methods in it to be sent by ID.
+     */
+    val MethodIdRegistry = ClassName(
+      "dev.teogor.drifter.unity.common.messaging",
+      "MethodIdRegistry",
+    )
+
+    /**
+     * Represents the fully qualified class name of the `PackedArrayWriter` class within the Drifter Unity common library.
+     *
+     * Generated packed arrays use it to pack their columns into a single message.
+     */
+    val PackedArrayWriter = ClassName(
+      "dev.teogor.drifter.unity.common.messaging",
+      "PackedArrayWriter",
+    )
+
+    /**
+     * Represents the fully qualified class name of the `SharedMemorySlot` class within the Drifter Unity common library.
+     *
+     * Generated packed arrays can write their message into a slot instead of sending it.
+     */
+    val SharedMemorySlot = ClassName(
+      "dev.teogor.drifter.unity.common.memory",
+      "SharedMemorySlot",
+    )
+
+    /**
+     * Represents the fully qualified class name of the `UnityCallback` annotation within the Drifter integration library.
+     *
+     * Functions annotated with it are invoked from Unity through the generated dispatcher.
+     */
+    val UnityCallback = ClassName(
+      "dev.teogor.drifter.integration.core",
+      "UnityCallback",
+    )
+
+    /**
+     * Represents the fully qualified class name of the `UnityCallbackDispatcher` interface within the Drifter integration library.
+     *
+     * The generated dispatcher implements this interface to invoke callbacks by identifier.
+     */
+    val UnityCallbackDispatcher = ClassName(
+      "dev.teogor.drifter.integration.core",
+      "UnityCallbackDispatcher",
+    )
+
+    /**
+     * Represents the fully qualified class name of the `Message` class within the Drifter integration library.
+     *
+     * Subclasses of this class are sent to Unity through `UnityDispatcher`.
+     */
+    val Message = ClassName(
+      "dev.teogor.drifter.integration.core",
+      "Message",
+    )
+
+    /**
+     * Represents the fully qualified class name of the `MessageSerializer` interface within the Drifter integration library.
+     *
+     * Generated serializers implement this interface to write messages without reflection.
+     */
+    val MessageSerializer = ClassName(
+      "dev.teogor.drifter.integration.core",
+      "MessageSerializer",
+    )
+
+    /**
+     * Represents the fully qualified class name of the `CachedPlayerPrefs` class within the Drifter core library.
+     *
+     * Generated storages extend this class to keep PlayerPrefs values cached in memory.
+     */
+    val CachedPlayerPrefs = ClassName(
+      "dev.teogor.drifter.core.storage",
+      "CachedPlayerPrefs",
+    )
+
+    /**
+     * Represents the fully qualified class name of the `Serializable` class within the Drifter core library.
+     *
+     * Generated storages take one per stored type that is not a primitive, a string or an enum.
+     */
+    val Serializable = ClassName(
+      "dev.teogor.drifter.core",
+      "Serializable",
+    )
   }
 }
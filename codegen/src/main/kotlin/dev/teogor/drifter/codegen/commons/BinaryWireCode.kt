@@ -0,0 +1,101 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.codegen.commons
+
+import com.squareup.kotlinpoet.BOOLEAN
+import com.squareup.kotlinpoet.BYTE
+import com.squareup.kotlinpoet.ClassName
+import com.squareup.kotlinpoet.CodeBlock
+import com.squareup.kotlinpoet.DOUBLE
+import com.squareup.kotlinpoet.FLOAT
+import com.squareup.kotlinpoet.INT
+import com.squareup.kotlinpoet.LONG
+import com.squareup.kotlinpoet.SHORT
+import dev.teogor.drifter.codegen.model.BridgeKeyData
+import dev.teogor.drifter.codegen.model.ConverterType
+import dev.teogor.drifter.codegen.model.DrifterActionBridgeData
+
+/**
+ * How a field is laid out in the binary wire format of `UnityBinaryWriter`.
+ */
+enum class BinaryFieldKind {
+  Bool,
+  Int32,
+  Int64,
+  Float32,
+  Float64,
+  Utf8,
+}
+
+/**
+ * Returns how this field is written in the binary wire format.
+ *
+ * Encoded values are written as the type their converter returns and enums as their ordinal.
+ * Types without a native layout are written as their `toString()`, as in JSON.
+ */
+fun BridgeKeyData.binaryKind(converters: List<ConverterType>): BinaryFieldKind {
+  if (isEnum) return BinaryFieldKind.Int32
+  return when ((converters.findFor(type)?.returnType ?: type).safe) {
+    BOOLEAN -> BinaryFieldKind.Bool
+    INT, SHORT, BYTE -> BinaryFieldKind.Int32
+    LONG -> BinaryFieldKind.Int64
+    FLOAT -> BinaryFieldKind.Float32
+    DOUBLE -> BinaryFieldKind.Float64
+    else -> BinaryFieldKind.Utf8
+  }
+}
+
+/**
+ * Returns the schema version of the binary wire format of [this] module: the FNV-1a hash of the
+ * name and layout of its fields, so both ends agree as long as they are generated from the same
+ * declaration.
+ */
+fun DrifterActionBridgeData.binarySchemaVersion(converters: List<ConverterType>): Int {
+  val layout = params.joinToString(",") { "${it.name}:${it.binaryKind(converters)}" }
+  var hash = FNV_OFFSET_BASIS
+  layout.forEach { char ->
+    hash = (hash xor char.code) * FNV_PRIME
+  }
+  return hash
+}
+
+/**
+ * Adds a statement writing [value] as the field at [index] through the `UnityBinaryWriter`
+ * held by [writer].
+ */
+fun CodeBlock.Builder.addBinaryField(
+  writer: String,
+  index: Int,
+  value: String,
+  field: BridgeKeyData,
+  converters: List<ConverterType>,
+): CodeBlock.Builder {
+  val converter = converters.findFor(field.type)
+  when {
+    converter != null -> addStatement(
+      "$writer.field($index).value($value.%T()${jsonValueSuffix(converter.returnType)})",
+      ClassName(converter.packageName, converter.name),
+    )
+
+    field.isEnum -> addStatement("$writer.field($index).value($value.ordinal)")
+    else -> addStatement("$writer.field($index).value($value${jsonValueSuffix(field.type)})")
+  }
+  return this
+}
+
+private const val FNV_OFFSET_BASIS = -0x7EE3623B
+private const val FNV_PRIME = 0x01000193
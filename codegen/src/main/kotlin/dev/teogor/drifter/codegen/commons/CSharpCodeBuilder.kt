@@ -0,0 +1,72 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.codegen.commons
+
+/**
+ * Minimal builder of C# sources, laid out the way Unity scripts are: four spaces of
+ * indentation and braces on their own line.
+ */
+class CSharpCodeBuilder {
+
+  private val code = StringBuilder()
+  private var indentLevel = 0
+
+  /**
+   * Adds a single line, or an empty line when [text] is empty.
+   */
+  fun line(text: String = ""): CSharpCodeBuilder = apply {
+    if (text.isNotEmpty()) {
+      repeat(indentLevel) { code.append(INDENT) }
+      code.append(text)
+    }
+    code.append('\n')
+  }
+
+  /**
+   * Adds [header] followed by a braced block holding the lines added by [body].
+   */
+  fun block(header: String, body: CSharpCodeBuilder.() -> Unit): CSharpCodeBuilder = apply {
+    line(header)
+    line("{")
+    indentLevel++
+    body()
+    indentLevel--
+    line("}")
+  }
+
+  /**
+   * Adds [text] as an XML documentation `summary`.
+   */
+  fun summary(text: String): CSharpCodeBuilder = apply {
+    line("/// <summary>")
+    line("/// $text")
+    line("/// </summary>")
+  }
+
+  override fun toString(): String = code.toString()
+
+  private companion object {
+    const val INDENT = "    "
+  }
+}
+
+/**
+ * Builds a C# source with a [CSharpCodeBuilder].
+ */
+inline fun csharpCode(body: CSharpCodeBuilder.() -> Unit): String {
+  return CSharpCodeBuilder().apply(body).toString()
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.codegen.commons
+
+import com.squareup.kotlinpoet.BOOLEAN
+import com.squareup.kotlinpoet.BYTE
+import com.squareup.kotlinpoet.ClassName
+import com.squareup.kotlinpoet.CodeBlock
+import com.squareup.kotlinpoet.DOUBLE
+import com.squareup.kotlinpoet.FLOAT
+import com.squareup.kotlinpoet.INT
+import com.squareup.kotlinpoet.LONG
+import com.squareup.kotlinpoet.SHORT
+import com.squareup.kotlinpoet.STRING
+import com.squareup.kotlinpoet.TypeName
+import dev.teogor.drifter.codegen.model.ConverterType
+import dev.teogor.drifter.codegen.model.DrifterActionBridgeData
+
+private val directJsonTypes = setOf(BOOLEAN, INT, LONG, FLOAT, DOUBLE, STRING)
+
+private val widenedJsonTypes = setOf(BYTE, SHORT)
+
+private val encodedJsonTypes = setOf(
+  ClassName("org.json", "JSONObject"),
+  ClassName("org.json", "JSONArray"),
+)
+
+/**
+ * Returns the converter registered for [type], if any.
+ */
+fun List<ConverterType>.findFor(type: TypeName): ConverterType? {
+  return firstOrNull { it.receiverType == type.safe }
+}
+
+/**
+ * Returns the converters applied to the parameters of [actionBridge].
+ */
+fun List<ConverterType>.usedBy(actionBridge: DrifterActionBridgeData): List<ConverterType> {
+  return actionBridge.params.mapNotNull { findFor(it.type) }.distinct()
+}
+
+/**
+ * Returns the sources of [actionBridge] along with the ones declaring [converters].
+ */
+fun DrifterActionBridgeData.sourceIdsWith(converters: List<ConverterType>): List<String> {
+  return (sourceIds + converters.mapNotNull { it.sourceId }).distinct()
+}
+
+/**
+ * Adds a statement writing [value] as the object member [name] through the
+ * `UnityJsonWriter` held by [writer].
+ *
+ * Converters are applied the same way `toJsonObject()` applies them. `JSONObject` and
+ * `JSONArray` values are nested as they are, and other values that the writer cannot encode
+ * natively are written as their `toString()`, which is what `JSONObject` does.
+ */
+fun CodeBlock.Builder.addJsonMember(
+  writer: String,
+  name: String,
+  value: String,
+  type: TypeName,
+  converters: List<ConverterType>,
+): CodeBlock.Builder {
+  val converter = converters.findFor(type)
+  if (converter != null) {
+    addStatement(
+      "$writer.name(%S).${jsonValueCall("$value.%T()", converter.returnType)}",
+      name,
+      ClassName(converter.packageName, converter.name),
+    )
+  } else {
+    addStatement("$writer.name(%S).${jsonValueCall(value, type)}", name)
+  }
+  return this
+}
+
+private fun jsonValueCall(value: String, type: TypeName): String {
+  return if (type.safe in encodedJsonTypes) {
+    "rawValue($value.toString())"
+  } else {
+    "value($value${jsonValueSuffix(type)})"
+  }
+}
+
+internal fun jsonValueSuffix(type: TypeName): String {
+  return when (type.safe) {
+    in directJsonTypes -> ""
+    in widenedJsonTypes -> ".toInt()"
+    else -> ".toString()"
+  }
+}
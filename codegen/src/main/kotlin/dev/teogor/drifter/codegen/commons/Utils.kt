@@ -68,10 +68,11 @@ inline fun fileBuilder(
 
 fun FileSpec.writeWith(
   codeOutputStreamMaker: CodeOutputStreamMaker,
+  sourceIds: List<String> = emptyList(),
   error: (FileSpec) -> Unit = {},
 ) {
   try {
-    codeOutputStreamMaker.writeTo(this)
+    codeOutputStreamMaker.writeTo(this, sourceIds = sourceIds)
   } catch (e: Exception) {
     error(this)
   }
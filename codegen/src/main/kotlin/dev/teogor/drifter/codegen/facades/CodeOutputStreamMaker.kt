@@ -23,24 +23,64 @@ import java.nio.charset.StandardCharsets
 
 interface CodeOutputStreamMaker {
 
+  /**
+   * Creates a generated file.
+   *
+   * @param sourceIds The sources the file is generated from. The file is only regenerated when
+   * one of them changes, or, when empty, when any source changes.
+   */
   fun makeFile(
     name: String,
     packageName: String,
     vararg sourceIds: String,
   ): OutputStream
+
+  /**
+   * Creates a generated file that is not Kotlin code, such as the C# sources of the Unity side.
+   *
+   * @param extensionName The extension of the file, without the leading dot.
+   * @param sourceIds The sources the file is generated from, as for the Kotlin files.
+   */
+  fun makeFile(
+    name: String,
+    packageName: String,
+    extensionName: String,
+    sourceIds: List<String>,
+  ): OutputStream
 }
 
 fun CodeOutputStreamMaker.writeTo(
   file: FileSpec,
   fileName: String = file.name,
   packageName: String = file.packageName,
+  sourceIds: List<String> = emptyList(),
 ) {
   makeFile(
     fileName,
     packageName,
+    *sourceIds.toTypedArray(),
   ).use { out ->
     OutputStreamWriter(out, StandardCharsets.UTF_8).use { writer ->
       file.writeTo(writer)
     }
   }
 }
+
+fun CodeOutputStreamMaker.writeText(
+  text: String,
+  fileName: String,
+  packageName: String,
+  extensionName: String,
+  sourceIds: List<String> = emptyList(),
+) {
+  makeFile(
+    fileName,
+    packageName,
+    extensionName,
+    sourceIds,
+  ).use { out ->
+    OutputStreamWriter(out, StandardCharsets.UTF_8).use { writer ->
+      writer.write(text)
+    }
+  }
+}
@@ -16,7 +16,10 @@
 
 package dev.teogor.drifter.codegen.model
 
+import dev.teogor.drifter.DrifterDelivery
+
 data class AdvancedMethodsData(
   val name: String,
   val params: List<String>,
+  val delivery: DrifterDelivery,
 )
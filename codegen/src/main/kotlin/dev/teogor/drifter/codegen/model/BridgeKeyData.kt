@@ -18,6 +18,7 @@ package dev.teogor.drifter.codegen.model
 
 import com.squareup.kotlinpoet.TypeName
 import com.squareup.kotlinpoet.UNIT
+import dev.teogor.drifter.DrifterDelivery
 import dev.teogor.drifter.codegen.commons.toSnakeCase
 import dev.teogor.drifter.codegen.commons.toTitleCase
 
@@ -26,6 +27,9 @@ data class BridgeKeyData(
   val keyName: String,
   val unityNativeMethod: String,
   val type: TypeName,
+  val delivery: DrifterDelivery,
+  val isEnum: Boolean = false,
+  val enumEntries: List<String> = emptyList(),
 ) {
 
   val storageKeyName: String
@@ -49,6 +53,7 @@ data class BridgeKeyData(
       keyName = "",
       unityNativeMethod = "",
       type = UNIT,
+      delivery = DrifterDelivery.Default,
     )
   }
 }
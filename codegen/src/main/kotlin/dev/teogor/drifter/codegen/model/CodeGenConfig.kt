@@ -20,4 +20,10 @@ data class CodeGenConfig(
   val addDocumentation: Boolean,
   val generateOperations: Boolean,
   val generatedPackageName: String?,
+  val generateStreamingJson: Boolean,
+  val generateDeltaSync: Boolean,
+  val generateMethodIds: Boolean,
+  val generateCSharp: Boolean,
+  val csharpNamespace: String?,
+  val wireFormat: WireFormat,
 )
@@ -23,4 +23,5 @@ data class ConverterType(
   val packageName: String,
   val receiverType: TypeName,
   val returnType: TypeName,
+  val sourceId: String? = null,
 )
@@ -23,6 +23,7 @@ data class DrifterActionBridgeData(
   val simpleName: String,
   val packageName: String,
   val params: List<BridgeKeyData>,
+  val sourceIds: List<String> = emptyList(),
 ) {
   val isError: Boolean
     get() = params.isEmpty()
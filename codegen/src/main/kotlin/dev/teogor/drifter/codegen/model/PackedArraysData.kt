@@ -0,0 +1,49 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.codegen.model
+
+import com.squareup.kotlinpoet.ClassName
+import com.squareup.kotlinpoet.FLOAT
+import com.squareup.kotlinpoet.TypeName
+
+data class PackedArraysData(
+  val entityType: ClassName,
+  val receiver: String,
+  val method: String,
+  val fields: List<PackedArrayFieldData>,
+  val sourceIds: List<String> = emptyList(),
+) {
+  val className: String
+    get() = entityType.simpleNames.joinToString("_") + "PackedArrays"
+
+  /**
+   * Layout of the packed message, as `name:type` pairs in column order.
+   */
+  val layout: String
+    get() = fields.joinToString(",") { "${it.name}:${it.layoutType}" }
+
+  val schemaId: Int
+    get() = layout.hashCode()
+}
+
+data class PackedArrayFieldData(
+  val name: String,
+  val type: TypeName,
+) {
+  val layoutType: String
+    get() = if (type == FLOAT) "f32" else "i32"
+}
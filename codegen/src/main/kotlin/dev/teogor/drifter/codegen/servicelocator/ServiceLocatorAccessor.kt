@@ -24,7 +24,12 @@ import dev.teogor.drifter.codegen.model.CodeGenConfig
 import dev.teogor.drifter.codegen.model.DrifterActionBridgeData
 import dev.teogor.drifter.codegen.writers.ActionMappingsOutputWriter
 import dev.teogor.drifter.codegen.writers.ActionParamsOutputWriter
+import dev.teogor.drifter.codegen.writers.CSharpReceiverOutputWriter
 import dev.teogor.drifter.codegen.writers.KeyConstantsOutputWriter
+import dev.teogor.drifter.codegen.writers.MessageSerializerOutputWriter
+import dev.teogor.drifter.codegen.writers.PackedArraysOutputWriter
+import dev.teogor.drifter.codegen.writers.StorageOutputWriter
+import dev.teogor.drifter.codegen.writers.UnityCallbackDispatcherOutputWriter
 import dev.teogor.drifter.codegen.writers.UnityMessageSenderOutputWriter
 
 internal interface ServiceLocatorAccessor {
@@ -96,3 +101,33 @@ internal val ServiceLocatorAccessor.unityMessageSenderOutputWriter
     codeOutputStreamMaker,
     codeGenConfig,
   )
+
+internal val ServiceLocatorAccessor.messageSerializerOutputWriter
+  get() = MessageSerializerOutputWriter(
+    codeOutputStreamMaker,
+    codeGenConfig,
+  )
+
+internal val ServiceLocatorAccessor.unityCallbackDispatcherOutputWriter
+  get() = UnityCallbackDispatcherOutputWriter(
+    codeOutputStreamMaker,
+    codeGenConfig,
+  )
+
+internal val ServiceLocatorAccessor.packedArraysOutputWriter
+  get() = PackedArraysOutputWriter(
+    codeOutputStreamMaker,
+    codeGenConfig,
+  )
+
+internal val ServiceLocatorAccessor.storageOutputWriter
+  get() = StorageOutputWriter(
+    codeOutputStreamMaker,
+    codeGenConfig,
+  )
+
+internal val ServiceLocatorAccessor.csharpReceiverOutputWriter
+  get() = CSharpReceiverOutputWriter(
+    codeOutputStreamMaker,
+    codeGenConfig,
+  )
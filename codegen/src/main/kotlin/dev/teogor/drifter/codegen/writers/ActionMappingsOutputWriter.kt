@@ -21,6 +21,7 @@ import com.squareup.kotlinpoet.KModifier
 import com.squareup.kotlinpoet.PropertySpec
 import com.squareup.kotlinpoet.TypeName
 import com.squareup.kotlinpoet.TypeSpec
+import dev.teogor.drifter.codegen.DrifterConstants
 import dev.teogor.drifter.codegen.commons.fileBuilder
 import dev.teogor.drifter.codegen.commons.toTitleCase
 import dev.teogor.drifter.codegen.commons.writeWith
@@ -31,7 +32,7 @@ import dev.teogor.drifter.codegen.servicelocator.OutputWriter
 
 class ActionMappingsOutputWriter(
   private val codeOutputStreamMaker: CodeOutputStreamMaker,
-  codeGenConfig: CodeGenConfig,
+  private val codeGenConfig: CodeGenConfig,
 ) : OutputWriter(codeGenConfig) {
 
   fun write(actionBridge: DrifterActionBridgeData): TypeName {
@@ -40,41 +41,69 @@ class ActionMappingsOutputWriter(
       packageName = actionBridge.getPackageName(),
       fileName = name,
     ) {
+      val mappings = actionBridge.params.map { it.name to it.actualUnityNativeMethod } +
+        actionBridge.externalMethods.orEmpty().map { it.name to it.name.toTitleCase() } +
+        listOf(UnityMessageSenderOutputWriter.APPLY.let { it to it.toTitleCase() }) +
+        if (codeGenConfig.generateDeltaSync) {
+          val applyModule = UnityMessageSenderOutputWriter.APPLY_MODULE
+          listOf(applyModule to applyModule.toTitleCase())
+        } else {
+          emptyList()
+        }
       addType(
         TypeSpec.objectBuilder(name)
           .apply {
-            actionBridge.params.forEach {
+            mappings.forEach { (key, nativeMethod) ->
               addProperty(
-                PropertySpec.builder(it.name, String::class)
+                PropertySpec.builder(key, String::class)
                   .addModifiers(KModifier.PUBLIC)
-                  .addKdoc(
-                    "Name of the corresponding Unity native method: `${it.actualUnityNativeMethod}`",
-                  )
-                  .initializer("%S", it.actualUnityNativeMethod)
+                  .addKdoc("Name of the corresponding Unity native method: `$nativeMethod`")
+                  .initializer("%S", nativeMethod)
                   .build(),
               )
             }
-            actionBridge.externalMethods?.let { methods ->
-              methods.forEach {
-                addProperty(
-                  PropertySpec.builder(it.name, String::class)
-                    .addModifiers(KModifier.PUBLIC)
-                    .addKdoc(
-                      "Name of the corresponding Unity native method: `${it.name.toTitleCase()}`",
-                    )
-                    .initializer("%S", it.name.toTitleCase())
-                    .build(),
-                )
-              }
+            if (codeGenConfig.generateMethodIds && actionBridge.receiverGameObject.isNotEmpty()) {
+              addType(idsType(actionBridge.receiverGameObject, mappings))
             }
           }
           .build(),
       )
-    }.writeWith(codeOutputStreamMaker)
+    }.writeWith(codeOutputStreamMaker, actionBridge.sourceIds)
 
     return ClassName(
       packageName = actionBridge.getPackageName(),
       name,
     )
   }
+
+  /**
+   * Builds the [IDS] object, registering every method of [receiver] in `MethodIdRegistry`.
+   */
+  private fun idsType(
+    receiver: String,
+    mappings: List<Pair<String, String>>,
+  ) = TypeSpec.objectBuilder(IDS)
+    .addKdoc("IDs of the Unity native methods of `$receiver`, used to send messages by ID.")
+    .apply {
+      mappings.forEach { (key, nativeMethod) ->
+        addProperty(
+          PropertySpec.builder(key, Int::class)
+            .addModifiers(KModifier.PUBLIC)
+            .addAnnotation(JvmField::class)
+            .addKdoc("ID of the corresponding Unity native method: `$nativeMethod`")
+            .initializer(
+              "%T.register(%S, %S)",
+              DrifterConstants.UnityIntegration.MethodIdRegistry,
+              receiver,
+              nativeMethod,
+            )
+            .build(),
+        )
+      }
+    }
+    .build()
+
+  companion object {
+    const val IDS = "Ids"
+  }
 }
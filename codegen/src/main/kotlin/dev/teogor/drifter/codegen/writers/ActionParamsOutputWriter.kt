@@ -17,24 +17,31 @@
 package dev.teogor.drifter.codegen.writers
 
 import com.squareup.kotlinpoet.ClassName
+import com.squareup.kotlinpoet.CodeBlock
 import com.squareup.kotlinpoet.FunSpec
 import com.squareup.kotlinpoet.KModifier
 import com.squareup.kotlinpoet.ParameterSpec
 import com.squareup.kotlinpoet.PropertySpec
 import com.squareup.kotlinpoet.TypeName
 import com.squareup.kotlinpoet.TypeSpec
+import dev.teogor.drifter.codegen.DrifterConstants
+import dev.teogor.drifter.codegen.commons.addBinaryField
+import dev.teogor.drifter.codegen.commons.addJsonMember
+import dev.teogor.drifter.codegen.commons.binarySchemaVersion
 import dev.teogor.drifter.codegen.commons.fileBuilder
-import dev.teogor.drifter.codegen.commons.safe
+import dev.teogor.drifter.codegen.commons.findFor
+import dev.teogor.drifter.codegen.commons.sourceIdsWith
 import dev.teogor.drifter.codegen.commons.writeWith
 import dev.teogor.drifter.codegen.facades.CodeOutputStreamMaker
 import dev.teogor.drifter.codegen.model.CodeGenConfig
 import dev.teogor.drifter.codegen.model.ConverterType
 import dev.teogor.drifter.codegen.model.DrifterActionBridgeData
+import dev.teogor.drifter.codegen.model.WireFormat
 import dev.teogor.drifter.codegen.servicelocator.OutputWriter
 
 class ActionParamsOutputWriter(
   private val codeOutputStreamMaker: CodeOutputStreamMaker,
-  codeGenConfig: CodeGenConfig,
+  private val codeGenConfig: CodeGenConfig,
 ) : OutputWriter(codeGenConfig) {
 
   fun write(actionBridge: DrifterActionBridgeData, converters: List<ConverterType>): TypeName {
@@ -70,6 +77,9 @@ class ActionParamsOutputWriter(
               )
             }
             primaryConstructor(flux.build())
+            if (codeGenConfig.wireFormat == WireFormat.Binary) {
+              addType(binaryLayoutType(actionBridge, converters))
+            }
           }
           .build(),
       )
@@ -81,9 +91,7 @@ class ActionParamsOutputWriter(
           .addStatement("val json = %T()", jsonObject)
           .apply {
             actionBridge.params.forEach {
-              val converter = converters.firstOrNull { converterType ->
-                converterType.receiverType == it.type.safe
-              }
+              val converter = converters.findFor(it.type)
               if (converter != null) {
                 val converterType = ClassName(converter.packageName, converter.name)
                 addStatement(
@@ -99,11 +107,87 @@ class ActionParamsOutputWriter(
           .addStatement("return json")
           .build(),
       )
-    }.writeWith(codeOutputStreamMaker)
+
+      if (codeGenConfig.generateStreamingJson) {
+        addFunction(
+          FunSpec.builder("writeJson")
+            .receiver(actualType)
+            .addParameter("writer", DrifterConstants.UnityIntegration.UnityJsonWriter)
+            .addStatement("writer.beginObject()")
+            .addCode(
+              CodeBlock.builder()
+                .apply {
+                  actionBridge.params.forEach {
+                    beginControlFlow("${it.name}?.let")
+                    addJsonMember("writer", it.name, "it", it.type, converters)
+                    endControlFlow()
+                  }
+                }
+                .build(),
+            )
+            .addStatement("writer.endObject()")
+            .build(),
+        )
+      }
+      if (codeGenConfig.wireFormat == WireFormat.Binary) {
+        addFunction(
+          FunSpec.builder(WRITE_BINARY)
+            .receiver(actualType)
+            .addParameter("writer", DrifterConstants.UnityIntegration.UnityBinaryWriter)
+            .addStatement(
+              "writer.begin(%T.$SCHEMA_VERSION, %T.$FIELD_COUNT)",
+              actualType,
+              actualType,
+            )
+            .addCode(
+              CodeBlock.builder()
+                .apply {
+                  actionBridge.params.forEachIndexed { index, param ->
+                    beginControlFlow("${param.name}?.let")
+                    addBinaryField("writer", index, "it", param, converters)
+                    endControlFlow()
+                  }
+                }
+                .build(),
+            )
+            .build(),
+        )
+      }
+    }.writeWith(codeOutputStreamMaker, actionBridge.sourceIdsWith(converters))
 
     return ClassName(
       packageName = actionBridge.getPackageName(),
       name,
     )
   }
+
+  /**
+   * Builds the companion object holding the [SCHEMA_VERSION] and [FIELD_COUNT] of the binary
+   * wire format.
+   */
+  private fun binaryLayoutType(
+    actionBridge: DrifterActionBridgeData,
+    converters: List<ConverterType>,
+  ) = TypeSpec.companionObjectBuilder()
+    .addProperty(
+      PropertySpec.builder(SCHEMA_VERSION, Int::class)
+        .addModifiers(KModifier.CONST)
+        .addKdoc("Version of the field layout of the binary wire format, checked by the receiver.")
+        .initializer("%L", actionBridge.binarySchemaVersion(converters))
+        .build(),
+    )
+    .addProperty(
+      PropertySpec.builder(FIELD_COUNT, Int::class)
+        .addModifiers(KModifier.CONST)
+        .addKdoc("Number of fields of the binary wire format, present or not.")
+        .initializer("%L", actionBridge.params.size)
+        .build(),
+    )
+    .build()
+
+  companion object {
+    const val SCHEMA_VERSION = "SCHEMA_VERSION"
+    const val FIELD_COUNT = "FIELD_COUNT"
+    const val WRITE_BINARY = "writeBinary"
+  }
 }
@@ -0,0 +1,430 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.codegen.writers
+
+import com.squareup.kotlinpoet.ClassName
+import dev.teogor.drifter.codegen.commons.BinaryFieldKind
+import dev.teogor.drifter.codegen.commons.CSharpCodeBuilder
+import dev.teogor.drifter.codegen.commons.binaryKind
+import dev.teogor.drifter.codegen.commons.binarySchemaVersion
+import dev.teogor.drifter.codegen.commons.csharpCode
+import dev.teogor.drifter.codegen.commons.safe
+import dev.teogor.drifter.codegen.commons.sourceIdsWith
+import dev.teogor.drifter.codegen.commons.toTitleCase
+import dev.teogor.drifter.codegen.facades.CodeOutputStreamMaker
+import dev.teogor.drifter.codegen.facades.writeText
+import dev.teogor.drifter.codegen.model.BridgeKeyData
+import dev.teogor.drifter.codegen.model.CodeGenConfig
+import dev.teogor.drifter.codegen.model.ConverterType
+import dev.teogor.drifter.codegen.model.DrifterActionBridgeData
+import dev.teogor.drifter.codegen.model.UnityCallbackData
+import dev.teogor.drifter.codegen.model.WireFormat
+import dev.teogor.drifter.codegen.servicelocator.OutputWriter
+
+/**
+ * Writes the Unity side of a module: an abstract `MonoBehaviour` with one public method per
+ * message of the generated sender, decoding the parameter in place before calling an
+ * overridable handler with typed arguments.
+ *
+ * The `.cs` files are generated as resources, so applications exclude that extension from the
+ * resources they package. The generated code requires .NET Standard 2.1.
+ */
+class CSharpReceiverOutputWriter(
+  private val codeOutputStreamMaker: CodeOutputStreamMaker,
+  private val codeGenConfig: CodeGenConfig,
+) : OutputWriter(codeGenConfig) {
+
+  fun write(actionBridge: DrifterActionBridgeData, converters: List<ConverterType>) {
+    val name = "${actionBridge.baseName}Receiver"
+    val enums = actionBridge.params.filter { it.isEnum }.distinctBy { it.type.safe }
+    val code = csharpCode {
+      line(
+        "// Generated by Drifter from " +
+          "${actionBridge.packageName}.${actionBridge.simpleName}. Do not edit.",
+      )
+      line("using Drifter;")
+      line("using UnityEngine;")
+      line()
+      block("namespace ${actionBridge.csharpNamespace}") {
+        if (codeGenConfig.addDocumentation) {
+          summary(
+            "Receives the messages of <c>${actionBridge.baseName}MessageSender</c> on the " +
+              "<c>${actionBridge.receiverGameObject}</c> GameObject.",
+          )
+        }
+        block("public abstract class $name : MonoBehaviour") {
+          if (isBinary) {
+            val schemaVersion = actionBridge.binarySchemaVersion(converters)
+            line("private const int SchemaVersion = $schemaVersion;")
+            line("private const int FieldCount = ${actionBridge.params.size};")
+            line()
+          }
+          enums.forEach { param ->
+            val enumName = param.enumName
+            block("public enum $enumName") {
+              param.enumEntries.forEach { line("$it,") }
+            }
+            line()
+            if (!isBinary) {
+              line(
+                "private static readonly string[] ${enumName}Names = " +
+                  "{ ${param.enumEntries.joinToString { "\"$it\"" }} };",
+              )
+              line()
+            }
+          }
+          actionBridge.messages().forEach { message ->
+            addMessage(message, actionBridge, converters)
+            line()
+          }
+          addApply(actionBridge, converters)
+        }
+      }
+    }
+
+    codeOutputStreamMaker.writeText(
+      text = code,
+      fileName = name,
+      packageName = actionBridge.getPackageName(),
+      extensionName = EXTENSION,
+      sourceIds = actionBridge.sourceIdsWith(converters),
+    )
+  }
+
+  /**
+   * Writes the `DrifterJsonReader`, `DrifterBinaryReader` and `DrifterPayload` types shared by
+   * every receiver.
+   *
+   * @param sourceIds The sources of the modules the receivers are generated from. The runtime
+   * does not depend on their content, but tying it to them keeps it from depending on every
+   * source of the compilation.
+   */
+  fun writeRuntime(sourceIds: List<String>) {
+    val runtime = checkNotNull(javaClass.getResource(RUNTIME_RESOURCE)) {
+      "Missing $RUNTIME_RESOURCE"
+    }.readText()
+    codeOutputStreamMaker.writeText(
+      text = runtime,
+      fileName = RUNTIME_NAME,
+      packageName = RUNTIME_PACKAGE,
+      extensionName = EXTENSION,
+      sourceIds = sourceIds,
+    )
+  }
+
+  /**
+   * Writes the identifiers of the [callbacks] as C# constants, named like the constants of the
+   * generated dispatcher, for Unity to pass to `UnityCallbacks.dispatch`.
+   */
+  fun writeCallbackIds(packageName: String, callbacks: List<UnityCallbackData>) {
+    val code = csharpCode {
+      line("// Generated by Drifter from the Unity callbacks of $packageName. Do not edit.")
+      line()
+      block("namespace ${csharpNamespaceOf(packageName)}") {
+        if (codeGenConfig.addDocumentation) {
+          summary("Identifiers of the Unity callbacks, to pass to <c>UnityCallbacks.dispatch</c>.")
+        }
+        block("public static class $CALLBACK_IDS_NAME") {
+          callbacks.forEach { callback ->
+            line("public const int ${callback.constantName} = ${callback.id};")
+          }
+        }
+      }
+    }
+
+    codeOutputStreamMaker.writeText(
+      text = code,
+      fileName = CALLBACK_IDS_NAME,
+      packageName = packageName,
+      extensionName = EXTENSION,
+      sourceIds = callbacks.mapNotNull { it.sourceId }.distinct(),
+    )
+  }
+
+  private fun CSharpCodeBuilder.addMessage(
+    message: Message,
+    actionBridge: DrifterActionBridgeData,
+    converters: List<ConverterType>,
+  ) {
+    block("public void ${message.nativeMethod}(string message)") {
+      addDecode(message, actionBridge, converters, readsMethods = false)
+      line("On${message.nativeMethod}(${message.fields.joinToString { it.localName }});")
+    }
+    line()
+    addHandler(message, converters)
+  }
+
+  /**
+   * Adds the dispatcher of the `applyFields` messages, calling the handler of every field
+   * present in the message and then of every method set in its mask.
+   */
+  private fun CSharpCodeBuilder.addApply(
+    actionBridge: DrifterActionBridgeData,
+    converters: List<ConverterType>,
+  ) {
+    val methods = actionBridge.externalMethods.orEmpty()
+    val message = Message(
+      nativeMethod = UnityMessageSenderOutputWriter.APPLY.toTitleCase(),
+      fields = actionBridge.params,
+      optional = true,
+    )
+    block("public void ${message.nativeMethod}(string message)") {
+      addDecode(message, actionBridge, converters, readsMethods = methods.isNotEmpty())
+      actionBridge.params.forEach { field ->
+        block("if (${field.presentCondition(converters)})") {
+          line("On${field.actualUnityNativeMethod}(${field.presentValue(converters)});")
+        }
+      }
+      methods.forEachIndexed { index, method ->
+        val fields = method.params.map { param ->
+          actionBridge.params.firstOrNull { it.name == param }
+            ?: error("Please provide a valid name: $param")
+        }
+        block("if (($METHODS_LOCAL & ${1 shl index}) != 0)") {
+          line(
+            "On${method.name.toTitleCase()}" +
+              "(${fields.joinToString { it.presentValue(converters) }});",
+          )
+        }
+      }
+    }
+  }
+
+  /**
+   * Declares a local per field of [message] and reads the fields present in `message` into
+   * them, along with the method mask of `applyFields` messages when [readsMethods] is set.
+   */
+  private fun CSharpCodeBuilder.addDecode(
+    message: Message,
+    actionBridge: DrifterActionBridgeData,
+    converters: List<ConverterType>,
+    readsMethods: Boolean,
+  ) {
+    val fields = message.fields
+    if (fields.isEmpty()) return
+    fields.forEach {
+      line("var ${it.localName} = default(${it.csharpType(converters, message.optional)});")
+    }
+    if (readsMethods) {
+      line("var $METHODS_LOCAL = 0;")
+    }
+    if (isBinary) {
+      addBinaryRead(message, actionBridge, converters, readsMethods)
+    } else {
+      addJsonRead(message, converters, readsMethods)
+    }
+  }
+
+  private fun CSharpCodeBuilder.addJsonRead(
+    message: Message,
+    converters: List<ConverterType>,
+    readsMethods: Boolean,
+  ) {
+    line("var reader = new DrifterJsonReader(DrifterPayload.Decode(message));")
+    block("while (reader.NextMember())") {
+      message.fields.forEachIndexed { index, field ->
+        val condition = if (index == 0) "if" else "else if"
+        block("$condition (reader.NameIs(\"${field.name}\"))") {
+          addRead(field, converters)
+        }
+      }
+      if (readsMethods) {
+        block("else if (reader.NameIs(\"${UnityMessageSenderOutputWriter.APPLY_METHODS}\"))") {
+          line("$METHODS_LOCAL = reader.ReadInt();")
+        }
+      }
+      block("else") {
+        line("reader.Skip();")
+      }
+    }
+  }
+
+  private fun CSharpCodeBuilder.addBinaryRead(
+    message: Message,
+    actionBridge: DrifterActionBridgeData,
+    converters: List<ConverterType>,
+    readsMethods: Boolean,
+  ) {
+    // Fields are written in the order of the module, so they are read in that order too.
+    val fields = message.fields
+      .map { field -> actionBridge.params.indexOfFirst { it.name == field.name } to field }
+      .sortedBy { (index, _) -> index }
+    // The method mask of applyFields messages follows the fields of the module.
+    val fieldCount = if (readsMethods) "FieldCount + 1" else "FieldCount"
+    line("var reader = new DrifterBinaryReader(DrifterPayload.Decode(message), $fieldCount);")
+    block("if (reader.SchemaVersion != SchemaVersion)") {
+      line(
+        "Debug.LogError(\"${message.nativeMethod}: unknown schema version \" + " +
+          "reader.SchemaVersion + \", the receiver does not match the sender.\");",
+      )
+      line("return;")
+    }
+    fields.forEach { (index, field) ->
+      block("if (reader.Has($index))") {
+        val read = if (field.isEnum) {
+          "(${field.enumName}) reader.ReadInt()"
+        } else {
+          "reader.${field.binaryKind(converters).csharpRead}()"
+        }
+        line("${field.localName} = $read;")
+      }
+    }
+    if (readsMethods) {
+      block("if (reader.Has(FieldCount))") {
+        line("$METHODS_LOCAL = reader.ReadInt();")
+      }
+    }
+  }
+
+  private fun CSharpCodeBuilder.addHandler(message: Message, converters: List<ConverterType>) {
+    val parameters = message.fields.joinToString {
+      "${it.csharpType(converters, message.optional)} ${it.localName}"
+    }
+    block("protected virtual void On${message.nativeMethod}($parameters)") {}
+  }
+
+  private fun CSharpCodeBuilder.addRead(field: BridgeKeyData, converters: List<ConverterType>) {
+    if (field.isEnum) {
+      line("var ordinal = reader.ReadEnum(${field.enumName}Names);")
+      block("if (ordinal >= 0)") {
+        line("${field.localName} = (${field.enumName}) ordinal;")
+      }
+    } else {
+      val read = field.binaryKind(converters).csharpRead
+      line("${field.localName} = reader.$read();")
+    }
+  }
+
+  /**
+   * The messages the generated sender sends, under the name of the Unity method they invoke.
+   */
+  private fun DrifterActionBridgeData.messages(): List<Message> {
+    val fieldMessages = params.map {
+      Message(it.actualUnityNativeMethod, listOf(it), optional = false)
+    }
+    val methodMessages = externalMethods.orEmpty().map { method ->
+      val fields = method.params.map { param ->
+        params.firstOrNull { it.name == param } ?: error("Please provide a valid name: $param")
+      }
+      Message(method.name.toTitleCase(), fields, optional = false)
+    }
+    // Fields left out of an applyModule message have not changed, so they arrive as null.
+    val moduleMessages = if (codeGenConfig.generateDeltaSync) {
+      listOf(Message(UnityMessageSenderOutputWriter.APPLY_MODULE.toTitleCase(), params, true))
+    } else {
+      emptyList()
+    }
+    return fieldMessages + methodMessages + moduleMessages
+  }
+
+  private val DrifterActionBridgeData.csharpNamespace: String
+    get() = csharpNamespaceOf(getPackageName())
+
+  private fun csharpNamespaceOf(packageName: String): String {
+    return codeGenConfig.csharpNamespace ?: packageName
+      .split('.')
+      .joinToString(".") { it.toTitleCase() }
+  }
+
+  private fun BridgeKeyData.csharpType(
+    converters: List<ConverterType>,
+    optional: Boolean,
+  ): String {
+    val csharpType = if (isEnum) {
+      enumName
+    } else {
+      when (binaryKind(converters)) {
+        BinaryFieldKind.Bool -> "bool"
+        BinaryFieldKind.Int32 -> "int"
+        BinaryFieldKind.Int64 -> "long"
+        BinaryFieldKind.Float32 -> "float"
+        BinaryFieldKind.Float64 -> "double"
+        BinaryFieldKind.Utf8 -> return "string"
+      }
+    }
+    return if (optional) "$csharpType?" else csharpType
+  }
+
+  private val BinaryFieldKind.csharpRead: String
+    get() = when (this) {
+      BinaryFieldKind.Bool -> "ReadBool"
+      BinaryFieldKind.Int32 -> "ReadInt"
+      BinaryFieldKind.Int64 -> "ReadLong"
+      BinaryFieldKind.Float32 -> "ReadFloat"
+      BinaryFieldKind.Float64 -> "ReadDouble"
+      BinaryFieldKind.Utf8 -> "ReadString"
+    }
+
+  /**
+   * Returns the C# condition checking that the local of this optional field holds a value.
+   */
+  private fun BridgeKeyData.presentCondition(converters: List<ConverterType>): String {
+    return if (isReference(converters)) "$localName != null" else "$localName.HasValue"
+  }
+
+  /**
+   * Returns the C# expression of the value held by the local of this optional field.
+   */
+  private fun BridgeKeyData.presentValue(converters: List<ConverterType>): String {
+    return if (isReference(converters)) localName else "$localName.Value"
+  }
+
+  private fun BridgeKeyData.isReference(converters: List<ConverterType>): Boolean {
+    return !isEnum && binaryKind(converters) == BinaryFieldKind.Utf8
+  }
+
+  private val isBinary: Boolean
+    get() = codeGenConfig.wireFormat == WireFormat.Binary
+
+  private val BridgeKeyData.enumName: String
+    get() = (type.safe as ClassName).simpleName
+
+  private val BridgeKeyData.localName: String
+    get() = when (name) {
+      "message", "reader", "ordinal", METHODS_LOCAL -> "${name}Value"
+      in csharpKeywords -> "@$name"
+      else -> name
+    }
+
+  private data class Message(
+    val nativeMethod: String,
+    val fields: List<BridgeKeyData>,
+    val optional: Boolean,
+  )
+
+  companion object {
+    const val CALLBACK_IDS_NAME = "DrifterUnityCallbackIds"
+    const val EXTENSION = "cs"
+    const val RUNTIME_NAME = "DrifterRuntime"
+    const val RUNTIME_PACKAGE = "dev.teogor.drifter"
+
+    private const val METHODS_LOCAL = "methods"
+    private const val RUNTIME_RESOURCE = "/dev/teogor/drifter/codegen/csharp/DrifterRuntime.cs"
+
+    private val csharpKeywords = setOf(
+      "abstract", "as", "base", "bool", "break", "byte", "case", "catch", "char", "checked",
+      "class", "const", "continue", "decimal", "default", "delegate", "do", "double", "else",
+      "enum", "event", "explicit", "extern", "false", "finally", "fixed", "float", "for",
+      "foreach", "goto", "if", "implicit", "in", "int", "interface", "internal", "is", "lock",
+      "long", "namespace", "new", "null", "object", "operator", "out", "override", "params",
+      "private", "protected", "public", "readonly", "ref", "return", "sbyte", "sealed", "short",
+      "sizeof", "stackalloc", "static", "string", "struct", "switch", "this", "throw", "true",
+      "try", "typeof", "uint", "ulong", "unchecked", "unsafe", "ushort", "using", "virtual",
+      "void", "volatile", "while",
+    )
+  }
+}
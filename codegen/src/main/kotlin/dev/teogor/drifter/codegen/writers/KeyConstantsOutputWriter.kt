@@ -56,7 +56,7 @@ class KeyConstantsOutputWriter(
           }
           .build(),
       )
-    }.writeWith(codeOutputStreamMaker)
+    }.writeWith(codeOutputStreamMaker, actionBridge.sourceIds)
 
     return ClassName(
       packageName = actionBridge.getPackageName(),
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.codegen.writers
+
+import com.squareup.kotlinpoet.ClassName
+import com.squareup.kotlinpoet.FunSpec
+import com.squareup.kotlinpoet.KModifier
+import com.squareup.kotlinpoet.ParameterizedTypeName.Companion.parameterizedBy
+import com.squareup.kotlinpoet.TypeName
+import com.squareup.kotlinpoet.TypeSpec
+import dev.teogor.drifter.codegen.DrifterConstants
+import dev.teogor.drifter.codegen.commons.fileBuilder
+import dev.teogor.drifter.codegen.commons.jsonValueSuffix
+import dev.teogor.drifter.codegen.commons.writeWith
+import dev.teogor.drifter.codegen.facades.CodeOutputStreamMaker
+import dev.teogor.drifter.codegen.model.CodeGenConfig
+import dev.teogor.drifter.codegen.model.MessageSerializerData
+import dev.teogor.drifter.codegen.servicelocator.OutputWriter
+
+class MessageSerializerOutputWriter(
+  private val codeOutputStreamMaker: CodeOutputStreamMaker,
+  codeGenConfig: CodeGenConfig,
+) : OutputWriter(codeGenConfig) {
+
+  fun write(message: MessageSerializerData): TypeName {
+    val name = message.serializerName
+    val packageName = message.messageType.packageName
+    fileBuilder(
+      packageName = packageName,
+      fileName = name,
+    ) {
+      addType(
+        TypeSpec.objectBuilder(name)
+          .addSuperinterface(
+            DrifterConstants.UnityIntegration.MessageSerializer
+              .parameterizedBy(message.messageType),
+          )
+          .addKdoc("Writes [%T] as JSON without reflection.", message.messageType)
+          .addFunction(
+            FunSpec.builder("write")
+              .addModifiers(KModifier.OVERRIDE)
+              .addParameter("message", message.messageType)
+              .addParameter("writer", DrifterConstants.UnityIntegration.UnityJsonWriter)
+              .addStatement("writer.beginObject()")
+              .apply {
+                message.fields.forEach { field ->
+                  val suffix = if (field.isEnum) ".name" else jsonValueSuffix(field.type)
+                  if (field.type.isNullable) {
+                    addStatement(
+                      "message.${field.name}?.let { writer.name(%S).value(it$suffix) }",
+                      field.jsonName,
+                    )
+                  } else {
+                    addStatement(
+                      "writer.name(%S).value(message.${field.name}$suffix)",
+                      field.jsonName,
+                    )
+                  }
+                }
+              }
+              .addStatement("writer.endObject()")
+              .build(),
+          )
+          .build(),
+      )
+    }.writeWith(codeOutputStreamMaker, message.sourceIds)
+
+    return ClassName(packageName, name)
+  }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.codegen.writers
+
+import com.squareup.kotlinpoet.ClassName
+import com.squareup.kotlinpoet.CodeBlock
+import com.squareup.kotlinpoet.FLOAT
+import com.squareup.kotlinpoet.FLOAT_ARRAY
+import com.squareup.kotlinpoet.FunSpec
+import com.squareup.kotlinpoet.INT
+import com.squareup.kotlinpoet.INT_ARRAY
+import com.squareup.kotlinpoet.KModifier
+import com.squareup.kotlinpoet.ParameterSpec
+import com.squareup.kotlinpoet.PropertySpec
+import com.squareup.kotlinpoet.STRING
+import com.squareup.kotlinpoet.TypeName
+import com.squareup.kotlinpoet.TypeSpec
+import dev.teogor.drifter.codegen.DrifterConstants
+import dev.teogor.drifter.codegen.commons.fileBuilder
+import dev.teogor.drifter.codegen.commons.writeWith
+import dev.teogor.drifter.codegen.facades.CodeOutputStreamMaker
+import dev.teogor.drifter.codegen.model.CodeGenConfig
+import dev.teogor.drifter.codegen.model.PackedArrayFieldData
+import dev.teogor.drifter.codegen.model.PackedArraysData
+import dev.teogor.drifter.codegen.servicelocator.OutputWriter
+
+class PackedArraysOutputWriter(
+  private val codeOutputStreamMaker: CodeOutputStreamMaker,
+  private val codeGenConfig: CodeGenConfig,
+) : OutputWriter(codeGenConfig) {
+
+  fun write(packedArrays: PackedArraysData): TypeName {
+    val name = packedArrays.className
+    val packageName = codeGenConfig.generatedPackageName ?: packedArrays.entityType.packageName
+    val fields = packedArrays.fields
+    fileBuilder(
+      packageName = packageName,
+      fileName = name,
+    ) {
+      addType(
+        TypeSpec.classBuilder(name)
+          .addKdoc(
+            "Struct-of-arrays storage for [%T], sent to Unity as one packed message.",
+            packedArrays.entityType,
+          )
+          .primaryConstructor(
+            FunSpec.constructorBuilder()
+              .addParameter(CAPACITY, INT)
+              .build(),
+          )
+          .addProperty(
+            PropertySpec.builder(CAPACITY, INT)
+              .initializer(CAPACITY)
+              .build(),
+          )
+          .apply {
+            fields.forEach { field ->
+              addProperty(
+                PropertySpec.builder(field.name, field.arrayType)
+                  .initializer("%T($CAPACITY)", field.arrayType)
+                  .build(),
+              )
+            }
+          }
+          .addProperty(
+            PropertySpec.builder(COUNT, INT)
+              .mutable()
+              .initializer("0")
+              .setter(FunSpec.setterBuilder().addModifiers(KModifier.PRIVATE).build())
+              .build(),
+          )
+          .addProperty(
+            PropertySpec.builder(WRITER, DrifterConstants.UnityIntegration.PackedArrayWriter)
+              .addModifiers(KModifier.PRIVATE)
+              .initializer("%T($SCHEMA_ID)", DrifterConstants.UnityIntegration.PackedArrayWriter)
+              .build(),
+          )
+          .addFunction(addFunction(name, fields))
+          .addFunction(
+            FunSpec.builder("add")
+              .addKdoc("Appends [entity] and returns its index.")
+              .addParameter("entity", packedArrays.entityType)
+              .returns(INT)
+              .addStatement(
+                "return add(${fields.joinToString { "entity.${it.name}" }})",
+              )
+              .build(),
+          )
+          .addFunction(
+            FunSpec.builder("clear")
+              .addKdoc("Removes all the entities, keeping the arrays.")
+              .addStatement("$COUNT = 0")
+              .build(),
+          )
+          .addFunction(
+            FunSpec.builder("send")
+              .addKdoc("Sends the first [$COUNT] entities to [$RECEIVER] as one packed message.")
+              .addParameter(
+                ParameterSpec.builder(
+                  "deliveryMode",
+                  DrifterConstants.UnityIntegration.DeliveryMode,
+                )
+                  .defaultValue(
+                    "%T.Coalesced",
+                    DrifterConstants.UnityIntegration.DeliveryMode,
+                  )
+                  .build(),
+              )
+              .addCode(packCode(fields))
+              .addStatement("$WRITER.send($RECEIVER, $METHOD, deliveryMode)")
+              .build(),
+          )
+          .addFunction(
+            FunSpec.builder("writeTo")
+              .addKdoc("Writes the first [$COUNT] entities as one packed message into [slot].")
+              .addParameter("slot", DrifterConstants.UnityIntegration.SharedMemorySlot)
+              .addCode(packCode(fields))
+              .addStatement("$WRITER.writeTo(slot)")
+              .build(),
+          )
+          .addType(
+            TypeSpec.companionObjectBuilder()
+              .addProperty(constant(RECEIVER, STRING, "%S", packedArrays.receiver))
+              .addProperty(constant(METHOD, STRING, "%S", packedArrays.method))
+              .addProperty(constant(LAYOUT, STRING, "%S", packedArrays.layout))
+              .addProperty(constant(SCHEMA_ID, INT, "%L", packedArrays.schemaId))
+              .build(),
+          )
+          .build(),
+      )
+    }.writeWith(codeOutputStreamMaker, packedArrays.sourceIds)
+
+    return ClassName(packageName, name)
+  }
+
+  private fun addFunction(name: String, fields: List<PackedArrayFieldData>): FunSpec {
+    return FunSpec.builder("add")
+      .addKdoc("Appends an entity and returns its index.")
+      .apply {
+        fields.forEach { addParameter(it.name, it.type) }
+      }
+      .returns(INT)
+      .addStatement("check($COUNT < $CAPACITY) { %S }", "$name is full")
+      .addStatement("val index = $COUNT++")
+      .apply {
+        fields.forEach { addStatement("this.%N[index] = %N", it.name, it.name) }
+      }
+      .addStatement("return index")
+      .build()
+  }
+
+  private fun packCode(fields: List<PackedArrayFieldData>) = CodeBlock.builder()
+    .addStatement("$WRITER.begin($COUNT)")
+    .apply {
+      fields.forEach { addStatement("$WRITER.column(%N)", it.name) }
+    }
+    .build()
+
+  private fun constant(name: String, type: TypeName, format: String, value: Any) =
+    PropertySpec.builder(name, type)
+      .addModifiers(KModifier.CONST)
+      .initializer(format, value)
+      .build()
+
+  private val PackedArrayFieldData.arrayType: TypeName
+    get() = if (type == FLOAT) FLOAT_ARRAY else INT_ARRAY
+
+  companion object {
+    const val CAPACITY = "capacity"
+    const val COUNT = "count"
+    const val WRITER = "writer"
+    const val RECEIVER = "RECEIVER"
+    const val METHOD = "METHOD"
+    const val LAYOUT = "LAYOUT"
+    const val SCHEMA_ID = "SCHEMA_ID"
+
+    /**
+     * Names used by the generated class, which entity properties cannot take.
+     */
+    val reservedNames = setOf(CAPACITY, COUNT, WRITER, "entity", "index", "slot", "deliveryMode")
+  }
+}
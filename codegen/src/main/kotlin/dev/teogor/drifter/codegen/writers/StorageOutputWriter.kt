@@ -0,0 +1,159 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.codegen.writers
+
+import com.squareup.kotlinpoet.BOOLEAN
+import com.squareup.kotlinpoet.ClassName
+import com.squareup.kotlinpoet.CodeBlock
+import com.squareup.kotlinpoet.FLOAT
+import com.squareup.kotlinpoet.FunSpec
+import com.squareup.kotlinpoet.INT
+import com.squareup.kotlinpoet.LONG
+import com.squareup.kotlinpoet.ParameterizedTypeName
+import com.squareup.kotlinpoet.ParameterizedTypeName.Companion.parameterizedBy
+import com.squareup.kotlinpoet.PropertySpec
+import com.squareup.kotlinpoet.STRING
+import com.squareup.kotlinpoet.TypeName
+import com.squareup.kotlinpoet.TypeSpec
+import dev.teogor.drifter.codegen.DrifterConstants
+import dev.teogor.drifter.codegen.commons.fileBuilder
+import dev.teogor.drifter.codegen.commons.safe
+import dev.teogor.drifter.codegen.commons.writeWith
+import dev.teogor.drifter.codegen.facades.CodeOutputStreamMaker
+import dev.teogor.drifter.codegen.model.BridgeKeyData
+import dev.teogor.drifter.codegen.model.CodeGenConfig
+import dev.teogor.drifter.codegen.model.DrifterActionBridgeData
+import dev.teogor.drifter.codegen.servicelocator.OutputWriter
+
+class StorageOutputWriter(
+  private val codeOutputStreamMaker: CodeOutputStreamMaker,
+  codeGenConfig: CodeGenConfig,
+) : OutputWriter(codeGenConfig) {
+
+  fun write(actionBridge: DrifterActionBridgeData, keyConstants: TypeName): TypeName {
+    val name = "${actionBridge.baseName}Storage"
+    val moduleType = ClassName(actionBridge.packageName, actionBridge.simpleName)
+    val converterTypes = actionBridge.params
+      .filter { it.factory == null }
+      .map { it.type.safe }
+      .distinct()
+    fileBuilder(
+      packageName = actionBridge.getPackageName(),
+      fileName = name,
+    ) {
+      addType(
+        TypeSpec.classBuilder(name)
+          .superclass(DrifterConstants.UnityIntegration.CachedPlayerPrefs)
+          .addDocumentation(
+            CodeBlock.builder()
+              .add("Typed access to the PlayerPrefs keys of [%T].\n\n", moduleType)
+              .add("Values are read once and cached until their key changes, so reading a ")
+              .add("property is a field load.\n\n")
+              .add("@param defaults The values returned while a key is not stored.\n")
+              .apply {
+                converterTypes.forEach {
+                  add("@param %N Stores the values of type [%T].\n", it.converterName, it)
+                }
+              }
+              .build(),
+          )
+          .primaryConstructor(
+            FunSpec.constructorBuilder()
+              .addParameter("defaults", moduleType)
+              .apply {
+                converterTypes.forEach {
+                  addParameter(
+                    it.converterName,
+                    DrifterConstants.UnityIntegration.Serializable.parameterizedBy(it),
+                  )
+                }
+              }
+              .build(),
+          )
+          .apply {
+            actionBridge.params.forEach { param ->
+              addProperty(
+                PropertySpec.builder(param.name, param.type)
+                  .mutable()
+                  .delegate(param.delegate(keyConstants))
+                  .build(),
+              )
+            }
+          }
+          .build(),
+      )
+    }.writeWith(codeOutputStreamMaker, actionBridge.sourceIds)
+
+    return ClassName(
+      packageName = actionBridge.getPackageName(),
+      name,
+    )
+  }
+
+  /**
+   * The `CachedPlayerPrefs` factory storing this key natively, or `null` if the values have to
+   * go through a `Serializable`.
+   */
+  private val BridgeKeyData.factory: String?
+    get() {
+      val primitive = when (type.safe) {
+        INT -> "Int"
+        LONG -> "Long"
+        FLOAT -> "Float"
+        BOOLEAN -> "Boolean"
+        else -> null
+      }
+      return when {
+        isEnum -> "enumPreference"
+        type.safe == STRING -> "stringPreference"
+        primitive == null -> null
+        type.isNullable -> "nullable${primitive}Preference"
+        else -> "${primitive.lowercase()}Preference"
+      }
+    }
+
+  private fun BridgeKeyData.delegate(keyConstants: TypeName): CodeBlock {
+    val key = CodeBlock.of("%T.%N", keyConstants, storageKeyName)
+    return when (val factory = factory) {
+      null -> CodeBlock.of(
+        "preference(%L, defaults.%N, %N)",
+        key,
+        name,
+        type.safe.converterName,
+      )
+
+      "enumPreference" -> CodeBlock.of(
+        "enumPreference(%L, defaults.%N, %T.entries)",
+        key,
+        name,
+        type.safe,
+      )
+
+      else -> CodeBlock.of("%N(%L, defaults.%N)", factory, key, name)
+    }
+  }
+
+  private val TypeName.converterName: String
+    get() {
+      val simpleName = when (this) {
+        is ClassName -> simpleName
+        is ParameterizedTypeName -> rawType.simpleName
+        else -> toString().substringAfterLast('.')
+      }
+      return simpleName.replaceFirstChar { it.lowercase() } + "Converter"
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.codegen.writers
+
+import com.squareup.kotlinpoet.ClassName
+import com.squareup.kotlinpoet.CodeBlock
+import com.squareup.kotlinpoet.FunSpec
+import com.squareup.kotlinpoet.INT
+import com.squareup.kotlinpoet.INT_ARRAY
+import com.squareup.kotlinpoet.KModifier
+import com.squareup.kotlinpoet.PropertySpec
+import com.squareup.kotlinpoet.STRING
+import com.squareup.kotlinpoet.TypeName
+import com.squareup.kotlinpoet.TypeSpec
+import dev.teogor.drifter.codegen.DrifterConstants
+import dev.teogor.drifter.codegen.commons.fileBuilder
+import dev.teogor.drifter.codegen.commons.writeWith
+import dev.teogor.drifter.codegen.facades.CodeOutputStreamMaker
+import dev.teogor.drifter.codegen.model.CodeGenConfig
+import dev.teogor.drifter.codegen.model.UnityCallbackData
+import dev.teogor.drifter.codegen.servicelocator.OutputWriter
+
+class UnityCallbackDispatcherOutputWriter(
+  private val codeOutputStreamMaker: CodeOutputStreamMaker,
+  codeGenConfig: CodeGenConfig,
+) : OutputWriter(codeGenConfig) {
+
+  fun write(packageName: String, callbacks: List<UnityCallbackData>): TypeName {
+    fileBuilder(
+      packageName = packageName,
+      fileName = NAME,
+    ) {
+      addType(
+        TypeSpec.objectBuilder(NAME)
+          .addSuperinterface(DrifterConstants.UnityIntegration.UnityCallbackDispatcher)
+          .addKdoc(
+            "Invokes the [%T] functions of this module through an integer switch.",
+            DrifterConstants.UnityIntegration.UnityCallback,
+          )
+          .apply {
+            callbacks.forEach { callback ->
+              addProperty(
+                PropertySpec.builder(callback.constantName, INT)
+                  .addModifiers(KModifier.CONST)
+                  .initializer("%L", callback.id)
+                  .addKdoc("Identifier of [%M].", callback.function)
+                  .build(),
+              )
+            }
+          }
+          .addProperty(
+            PropertySpec.builder("callbackIds", INT_ARRAY)
+              .addModifiers(KModifier.OVERRIDE)
+              .initializer(
+                "intArrayOf(%L)",
+                callbacks.joinToString { it.constantName },
+              )
+              .build(),
+          )
+          .addFunction(
+            FunSpec.builder("dispatch")
+              .addModifiers(KModifier.OVERRIDE)
+              .addParameter("callbackId", INT)
+              .addParameter("payload", STRING)
+              .returns(STRING.copy(nullable = true))
+              .addCode(dispatchCode(callbacks))
+              .build(),
+          )
+          .build(),
+      )
+    }.writeWith(codeOutputStreamMaker, callbacks.mapNotNull { it.sourceId }.distinct())
+
+    return ClassName(packageName, NAME)
+  }
+
+  private fun dispatchCode(callbacks: List<UnityCallbackData>) = CodeBlock.builder()
+    .beginControlFlow("return when (callbackId)")
+    .apply {
+      callbacks.forEach { callback ->
+        val arguments = if (callback.hasPayload) "payload" else ""
+        if (callback.returnsValue) {
+          addStatement("%N -> %M($arguments)", callback.constantName, callback.function)
+        } else {
+          beginControlFlow("%N ->", callback.constantName)
+          addStatement("%M($arguments)", callback.function)
+          addStatement("null")
+          endControlFlow()
+        }
+      }
+    }
+    .addStatement(
+      "else -> throw IllegalArgumentException(%P)",
+      "Unknown Unity callback id: \$callbackId",
+    )
+    .endControlFlow()
+    .build()
+
+  companion object {
+    const val NAME = "DrifterUnityCallbackDispatcher"
+  }
+}
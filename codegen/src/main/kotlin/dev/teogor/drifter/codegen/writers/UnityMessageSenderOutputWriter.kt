@@ -19,28 +19,39 @@ package dev.teogor.drifter.codegen.writers
 import com.squareup.kotlinpoet.ClassName
 import com.squareup.kotlinpoet.CodeBlock
 import com.squareup.kotlinpoet.FunSpec
+import com.squareup.kotlinpoet.KModifier
 import com.squareup.kotlinpoet.ParameterSpec
+import com.squareup.kotlinpoet.PropertySpec
 import com.squareup.kotlinpoet.TypeName
 import com.squareup.kotlinpoet.TypeSpec
+import com.squareup.kotlinpoet.joinToCode
+import dev.teogor.drifter.DrifterDelivery
 import dev.teogor.drifter.codegen.DrifterConstants
+import dev.teogor.drifter.codegen.commons.addBinaryField
+import dev.teogor.drifter.codegen.commons.addJsonMember
 import dev.teogor.drifter.codegen.commons.fileBuilder
 import dev.teogor.drifter.codegen.commons.safe
+import dev.teogor.drifter.codegen.commons.sourceIdsWith
 import dev.teogor.drifter.codegen.commons.toTitleCase
 import dev.teogor.drifter.codegen.commons.writeWith
 import dev.teogor.drifter.codegen.facades.CodeOutputStreamMaker
+import dev.teogor.drifter.codegen.model.BridgeKeyData
 import dev.teogor.drifter.codegen.model.CodeGenConfig
+import dev.teogor.drifter.codegen.model.ConverterType
 import dev.teogor.drifter.codegen.model.DrifterActionBridgeData
+import dev.teogor.drifter.codegen.model.WireFormat
 import dev.teogor.drifter.codegen.servicelocator.OutputWriter
 
 class UnityMessageSenderOutputWriter(
   private val codeOutputStreamMaker: CodeOutputStreamMaker,
-  codeGenConfig: CodeGenConfig,
+  private val codeGenConfig: CodeGenConfig,
 ) : OutputWriter(codeGenConfig) {
 
   fun write(
     actionBridge: DrifterActionBridgeData,
     actionParams: TypeName,
     actionMappings: TypeName,
+    converters: List<ConverterType>,
   ): TypeName {
     val name = "${actionBridge.baseName}MessageSender"
     fileBuilder(
@@ -55,55 +66,51 @@ class UnityMessageSenderOutputWriter(
             actionBridge.receiverGameObject,
           )
           .apply {
+            addDeliveryModes(actionBridge, actionMappings)
+            if (codeGenConfig.generateDeltaSync) {
+              addDeltaSync(actionBridge, actionParams, actionMappings, converters)
+            }
+            addBulkApply(actionBridge, actionParams, actionMappings, converters)
             actionBridge.params.forEach { param ->
               addFunction(
                 FunSpec.builder(param.actualUnityNativeMethod.toTitleCase(true))
+                  .apply {
+                    if (codeGenConfig.generateDeltaSync) {
+                      addAnnotation(synchronized)
+                      beginControlFlow("if (${param.lastValueName} == ${param.name})")
+                      addStatement("return")
+                      endControlFlow()
+                    }
+                  }
                   .addCode(
-                    CodeBlock.builder()
-                      .apply {
-                        addStatement("sendMessage(")
-                        indent()
-                        addStatement("%T.${param.name},", actionMappings)
-                        addStatement(
-                          "%T(",
-                          actionParams,
-                        )
-                        indent()
-                        addStatement("${param.name} = ${param.name},")
-                        unindent()
-                        addStatement(
-                          ").toJsonObject(),",
-                        )
-                        unindent()
-                        addStatement(")")
-                      }
-                      .build(),
-                  )
-                  .addParameter(
-                    ParameterSpec.builder(param.name, param.type.safe)
-                      .build(),
-                  )
-                  .build(),
-              )
-            }
-            actionBridge.externalMethods?.let { methods ->
-              methods.forEach { method ->
-                addFunction(
-                  FunSpec.builder(method.name.toTitleCase(true))
-                    .addCode(
+                    if (codeGenConfig.wireFormat == WireFormat.Binary) {
+                      binarySendCode(
+                        methodKey = param.name,
+                        params = listOf(param),
+                        actionBridge = actionBridge,
+                        actionParams = actionParams,
+                        actionMappings = actionMappings,
+                        converters = converters,
+                      )
+                    } else if (codeGenConfig.generateStreamingJson) {
+                      streamingSendCode(
+                        methodKey = param.name,
+                        params = listOf(param),
+                        actionMappings = actionMappings,
+                        converters = converters,
+                      )
+                    } else {
                       CodeBlock.builder()
                         .apply {
                           addStatement("sendMessage(")
                           indent()
-                          addStatement("%T.${method.name},", actionMappings)
+                          addStatement("%T.${methodReference(param.name)},", actionMappings)
                           addStatement(
                             "%T(",
                             actionParams,
                           )
                           indent()
-                          method.params.forEach { param ->
-                            addStatement("$param = $param,")
-                          }
+                          addStatement("${param.name} = ${param.name},")
                           unindent()
                           addStatement(
                             ").toJsonObject(),",
@@ -111,7 +118,74 @@ class UnityMessageSenderOutputWriter(
                           unindent()
                           addStatement(")")
                         }
-                        .build(),
+                        .build()
+                    },
+                  )
+                  .apply {
+                    // Remembered only once sent, so a failed send is retried by the next call.
+                    if (codeGenConfig.generateDeltaSync) {
+                      addStatement("${param.lastValueName} = ${param.name}")
+                    }
+                  }
+                  .addParameter(
+                    ParameterSpec.builder(param.name, param.type.safe)
+                      .build(),
+                  )
+                  .build(),
+              )
+            }
+            actionBridge.externalMethods?.let { methods ->
+              methods.forEach { method ->
+                addFunction(
+                  FunSpec.builder(method.name.toTitleCase(true))
+                    .addCode(
+                      if (codeGenConfig.wireFormat == WireFormat.Binary) {
+                        binarySendCode(
+                          methodKey = method.name,
+                          params = method.params.map { param ->
+                            actionBridge.params.firstOrNull {
+                              it.name == param
+                            } ?: error("Please provide a valid name: $param")
+                          },
+                          actionBridge = actionBridge,
+                          actionParams = actionParams,
+                          actionMappings = actionMappings,
+                          converters = converters,
+                        )
+                      } else if (codeGenConfig.generateStreamingJson) {
+                        streamingSendCode(
+                          methodKey = method.name,
+                          params = method.params.map { param ->
+                            actionBridge.params.firstOrNull {
+                              it.name == param
+                            } ?: error("Please provide a valid name: $param")
+                          },
+                          actionMappings = actionMappings,
+                          converters = converters,
+                        )
+                      } else {
+                        CodeBlock.builder()
+                          .apply {
+                            addStatement("sendMessage(")
+                            indent()
+                            addStatement("%T.${methodReference(method.name)},", actionMappings)
+                            addStatement(
+                              "%T(",
+                              actionParams,
+                            )
+                            indent()
+                            method.params.forEach { param ->
+                              addStatement("$param = $param,")
+                            }
+                            unindent()
+                            addStatement(
+                              ").toJsonObject(),",
+                            )
+                            unindent()
+                            addStatement(")")
+                          }
+                          .build()
+                      },
                     )
                     .apply {
                       method.params.forEach { param ->
@@ -122,6 +196,12 @@ class UnityMessageSenderOutputWriter(
                           ParameterSpec.builder(type.name, type.type.safe)
                             .build(),
                         )
+                        if (codeGenConfig.generateDeltaSync) {
+                          addStatement("${type.lastValueName} = ${type.name}")
+                        }
+                      }
+                      if (codeGenConfig.generateDeltaSync) {
+                        addAnnotation(synchronized)
                       }
                     }
                     .build(),
@@ -131,11 +211,452 @@ class UnityMessageSenderOutputWriter(
           }
           .build(),
       )
-    }.writeWith(codeOutputStreamMaker)
+    }.writeWith(codeOutputStreamMaker, actionBridge.sourceIdsWith(converters))
 
     return ClassName(
       packageName = actionBridge.getPackageName(),
       name,
     )
   }
+
+  /**
+   * Registers the delivery mode of every method declaring one other than
+   * [DrifterDelivery.Default].
+   */
+  private fun TypeSpec.Builder.addDeliveryModes(
+    actionBridge: DrifterActionBridgeData,
+    actionMappings: TypeName,
+  ) {
+    val deliveries = actionBridge.params.map { it.name to it.delivery } +
+      actionBridge.externalMethods.orEmpty().map { it.name to it.delivery }
+    val declared = deliveries.filter { (_, delivery) -> delivery != DrifterDelivery.Default }
+    if (declared.isEmpty()) return
+
+    addInitializerBlock(
+      CodeBlock.builder()
+        .apply {
+          declared.forEach { (methodKey, delivery) ->
+            addStatement(
+              "setDeliveryMode(%T.$methodKey, %T.%L)",
+              actionMappings,
+              DrifterConstants.UnityIntegration.DeliveryMode,
+              delivery.name,
+            )
+          }
+        }
+        .build(),
+    )
+  }
+
+  /**
+   * Adds the last sent value of every field, [APPLY_MODULE] sending the changed fields of a
+   * module in a single message, and [INVALIDATE] forgetting the sent values.
+   */
+  private fun TypeSpec.Builder.addDeltaSync(
+    actionBridge: DrifterActionBridgeData,
+    actionParams: TypeName,
+    actionMappings: TypeName,
+    converters: List<ConverterType>,
+  ) {
+    val params = actionBridge.params
+    params.forEach { param ->
+      addProperty(
+        PropertySpec.builder(param.lastValueName, param.type.copy(nullable = true))
+          .addModifiers(KModifier.PRIVATE)
+          .mutable()
+          .initializer("null")
+          .build(),
+      )
+    }
+
+    val moduleType = ClassName(actionBridge.packageName, actionBridge.simpleName)
+    // The changed fields are held in locals named after them.
+    val taken = params.map { it.name }
+    val module = freeName("module", taken)
+    val paramsLocal = freeName("params", taken)
+    val writer = freeName("writer", taken)
+    addFunction(
+      FunSpec.builder(APPLY_MODULE)
+        .addKdoc(
+          "Sends the fields of [%N] that changed since they were last sent, in a single message.",
+          module,
+        )
+        .addAnnotation(synchronized)
+        .addParameter(module, moduleType)
+        .apply {
+          params.forEach { param ->
+            val access = if (param.type.isNullable) "?." else "."
+            addStatement(
+              "val %N = %N.%N${access}takeIf { it != %N }",
+              param.name,
+              module,
+              param.name,
+              param.lastValueName,
+            )
+          }
+          beginControlFlow(
+            "if (${params.joinToString(" && ") { "${it.name} == null" }})",
+          )
+          addStatement("return")
+          endControlFlow()
+        }
+        .addCode(
+          CodeBlock.builder()
+            .apply {
+              addStatement("val %N = %T(", paramsLocal, actionParams)
+              indent()
+              params.forEach { param ->
+                addStatement("%N = %N,", param.name, param.name)
+              }
+              unindent()
+              addStatement(")")
+              if (codeGenConfig.wireFormat == WireFormat.Binary) {
+                addStatement(
+                  "val %N = %T.obtain()",
+                  writer,
+                  DrifterConstants.UnityIntegration.UnityBinaryWriter,
+                )
+                addStatement(
+                  "%N.${ActionParamsOutputWriter.WRITE_BINARY}(%N)",
+                  paramsLocal,
+                  writer,
+                )
+                addStatement(
+                  "sendMessage(%T.${methodReference(APPLY_MODULE)}, %N.toByteArray())",
+                  actionMappings,
+                  writer,
+                )
+              } else if (codeGenConfig.generateStreamingJson) {
+                addStatement(
+                  "val %N = %T.obtain()",
+                  writer,
+                  DrifterConstants.UnityIntegration.UnityJsonWriter,
+                )
+                addStatement("%N.writeJson(%N)", paramsLocal, writer)
+                addStatement(
+                  "sendMessage(%T.${methodReference(APPLY_MODULE)}, %N)",
+                  actionMappings,
+                  writer,
+                )
+              } else {
+                addStatement(
+                  "sendMessage(%T.${methodReference(APPLY_MODULE)}, %N.toJsonObject())",
+                  actionMappings,
+                  paramsLocal,
+                )
+              }
+              params.forEach { param ->
+                addStatement("%N?.let { %N = it }", param.name, param.lastValueName)
+              }
+            }
+            .build(),
+        )
+        .build(),
+    )
+
+    addFunction(
+      FunSpec.builder(INVALIDATE)
+        .addKdoc(
+          "Forgets the values sent so far, so that every field is sent again. " +
+            "Call it when the Unity Player has lost its state.",
+        )
+        .addAnnotation(synchronized)
+        .apply {
+          params.forEach { param ->
+            addStatement("${param.lastValueName} = null")
+          }
+        }
+        .build(),
+    )
+  }
+
+  /**
+   * Adds [APPLY] sending every set field of a module in a single message and, when the module
+   * declares methods, [APPLY_ALL] invoking them from that same message.
+   */
+  private fun TypeSpec.Builder.addBulkApply(
+    actionBridge: DrifterActionBridgeData,
+    actionParams: TypeName,
+    actionMappings: TypeName,
+    converters: List<ConverterType>,
+  ) {
+    val moduleType = ClassName(actionBridge.packageName, actionBridge.simpleName)
+    val methods = actionBridge.externalMethods.orEmpty()
+    if (methods.size >= Int.SIZE_BITS) {
+      error("${actionBridge.simpleName} declares more than ${Int.SIZE_BITS - 1} methods")
+    }
+    // applyAll takes a flag named after each method, which its own names must not clash with.
+    val taken = methods.map { it.name }
+    val module = freeName("module", taken)
+
+    addFunction(
+      FunSpec.builder(APPLY)
+        .addKdoc(
+          "Sends every field of [%N] that is not null in a single message, which the " +
+            "receiver dispatches to the handler of each field.",
+          module,
+        )
+        .addParameter(module, moduleType)
+        .apply {
+          if (methods.isEmpty()) {
+            if (codeGenConfig.generateDeltaSync) {
+              addAnnotation(synchronized)
+            }
+            addCode(
+              bulkApplyCode(actionBridge, actionParams, actionMappings, converters, taken, false),
+            )
+          } else {
+            addStatement(
+              "$APPLY_ALL(%N, ${methods.joinToString { "%N = false" }})",
+              module,
+              *methods.map { it.name }.toTypedArray(),
+            )
+          }
+        }
+        .build(),
+    )
+    if (methods.isEmpty()) return
+
+    val methodsLocal = freeName(APPLY_METHODS_LOCAL, taken)
+    addFunction(
+      FunSpec.builder(APPLY_ALL)
+        .addKdoc(
+          "Sends every field of [%N] that is not null in a single message, which the " +
+            "receiver dispatches to the handler of each field and then of each enabled method. " +
+            "A method is only invoked when none of its parameters is null in [%N].",
+          module,
+          module,
+        )
+        .addParameter(module, moduleType)
+        .apply {
+          methods.forEach { method ->
+            addParameter(
+              ParameterSpec.builder(method.name, Boolean::class)
+                .defaultValue("true")
+                .build(),
+            )
+          }
+          if (codeGenConfig.generateDeltaSync) {
+            addAnnotation(synchronized)
+          }
+          addStatement("var %N = 0", methodsLocal)
+          methods.forEachIndexed { index, method ->
+            val conditions = listOf(CodeBlock.of("%N", method.name)) + method.params
+              .map { param ->
+                actionBridge.params.firstOrNull {
+                  it.name == param
+                } ?: error("Please provide a valid name: $param")
+              }
+              .filter { it.type.isNullable }
+              .map { CodeBlock.of("%N.%N != null", module, it.name) }
+            beginControlFlow("if (%L)", conditions.joinToCode(" && "))
+            addStatement("%N = %N or %L", methodsLocal, methodsLocal, 1 shl index)
+            endControlFlow()
+          }
+        }
+        .addCode(bulkApplyCode(actionBridge, actionParams, actionMappings, converters, taken, true))
+        .build(),
+    )
+  }
+
+  /**
+   * Writes every set field of `module` into a single [APPLY] message, followed by the
+   * [APPLY_METHODS] mask when [withMethods] is set. Its locals avoid the [taken] names of the
+   * parameters of the function.
+   */
+  private fun bulkApplyCode(
+    actionBridge: DrifterActionBridgeData,
+    actionParams: TypeName,
+    actionMappings: TypeName,
+    converters: List<ConverterType>,
+    taken: List<String>,
+    withMethods: Boolean,
+  ) = CodeBlock.builder()
+    .apply {
+      val params = actionBridge.params
+      val module = freeName("module", taken)
+      val methodsLocal = freeName(APPLY_METHODS_LOCAL, taken)
+      val writer = freeName("writer", taken)
+      val json = freeName("json", taken)
+      val mapping = methodReference(APPLY)
+      if (codeGenConfig.wireFormat == WireFormat.Binary) {
+        // The mask of modules declaring methods is an extra field after the fields of the
+        // module, as the receiver expects whether or not a method is enabled.
+        addStatement(
+          "val %N = %T.obtain()",
+          writer,
+          DrifterConstants.UnityIntegration.UnityBinaryWriter,
+        )
+        addStatement(
+          "%N.begin(%T.${ActionParamsOutputWriter.SCHEMA_VERSION}, " +
+            "%T.${ActionParamsOutputWriter.FIELD_COUNT}${if (withMethods) " + 1" else ""})",
+          writer,
+          actionParams,
+          actionParams,
+        )
+        params.forEachIndexed { index, param ->
+          if (param.type.isNullable) {
+            beginControlFlow("%N.%N?.let", module, param.name)
+            addBinaryField(writer, index, "it", param, converters)
+            endControlFlow()
+          } else {
+            addBinaryField(writer, index, "$module.${param.name}", param, converters)
+          }
+        }
+        if (withMethods) {
+          beginControlFlow("if (%N != 0)", methodsLocal)
+          addStatement(
+            "%N.field(%T.${ActionParamsOutputWriter.FIELD_COUNT}).value(%N)",
+            writer,
+            actionParams,
+            methodsLocal,
+          )
+          endControlFlow()
+        }
+        addStatement("sendMessage(%T.$mapping, %N.toByteArray())", actionMappings, writer)
+      } else if (codeGenConfig.generateStreamingJson) {
+        addStatement(
+          "val %N = %T.obtain()",
+          writer,
+          DrifterConstants.UnityIntegration.UnityJsonWriter,
+        )
+        addStatement("%N.beginObject()", writer)
+        params.forEach { param ->
+          if (param.type.isNullable) {
+            beginControlFlow("%N.%N?.let", module, param.name)
+            addJsonMember(writer, param.name, "it", param.type, converters)
+            endControlFlow()
+          } else {
+            addJsonMember(writer, param.name, "$module.${param.name}", param.type, converters)
+          }
+        }
+        if (withMethods) {
+          beginControlFlow("if (%N != 0)", methodsLocal)
+          addStatement("%N.name(%S).value(%N)", writer, APPLY_METHODS, methodsLocal)
+          endControlFlow()
+        }
+        addStatement("%N.endObject()", writer)
+        addStatement("sendMessage(%T.$mapping, %N)", actionMappings, writer)
+      } else {
+        addStatement("val %N = %T(", json, actionParams)
+        indent()
+        params.forEach { param ->
+          addStatement("%N = %N.%N,", param.name, module, param.name)
+        }
+        unindent()
+        addStatement(").toJsonObject()")
+        if (withMethods) {
+          beginControlFlow("if (%N != 0)", methodsLocal)
+          addStatement("%N.put(%S, %N)", json, APPLY_METHODS, methodsLocal)
+          endControlFlow()
+        }
+        addStatement("sendMessage(%T.$mapping, %N)", actionMappings, json)
+      }
+      // Remembered only once sent, so a failed send is retried by the next call.
+      if (codeGenConfig.generateDeltaSync) {
+        params.forEach { param ->
+          if (param.type.isNullable) {
+            addStatement("%N.%N?.let { %N = it }", module, param.name, param.lastValueName)
+          } else {
+            addStatement("%N = %N.%N", param.lastValueName, module, param.name)
+          }
+        }
+      }
+    }
+    .build()
+
+  /**
+   * Returns the member of the action mappings a message to [methodKey] is sent to: its ID when
+   * method IDs are generated, its name otherwise.
+   */
+  private fun methodReference(methodKey: String): String {
+    return if (codeGenConfig.generateMethodIds) {
+      "${ActionMappingsOutputWriter.IDS}.$methodKey"
+    } else {
+      methodKey
+    }
+  }
+
+  private val BridgeKeyData.lastValueName: String
+    get() = "last${name.toTitleCase()}"
+
+  /**
+   * Returns [name], prefixed with underscores until it is none of the [taken] names the module
+   * declares, for the parameters and locals of a generated function.
+   */
+  private fun freeName(name: String, taken: List<String>): String {
+    return generateSequence(name) { "_$it" }.first { it !in taken }
+  }
+
+  /**
+   * Writes the parameters straight into the thread-local `UnityJsonWriter`, so sending a
+   * message neither allocates the ActionParams nor boxes its values.
+   */
+  private fun streamingSendCode(
+    methodKey: String,
+    params: List<BridgeKeyData>,
+    actionMappings: TypeName,
+    converters: List<ConverterType>,
+  ) = CodeBlock.builder()
+    .apply {
+      addStatement(
+        "val writer = %T.obtain()",
+        DrifterConstants.UnityIntegration.UnityJsonWriter,
+      )
+      addStatement("writer.beginObject()")
+      params.forEach { param ->
+        addJsonMember("writer", param.name, param.name, param.type, converters)
+      }
+      addStatement("writer.endObject()")
+      addStatement("sendMessage(%T.${methodReference(methodKey)}, writer)", actionMappings)
+    }
+    .build()
+
+  /**
+   * Writes the parameters into the thread-local `UnityBinaryWriter` at their position in the
+   * module, so the message carries no field names and its values are not converted to text.
+   */
+  private fun binarySendCode(
+    methodKey: String,
+    params: List<BridgeKeyData>,
+    actionBridge: DrifterActionBridgeData,
+    actionParams: TypeName,
+    actionMappings: TypeName,
+    converters: List<ConverterType>,
+  ) = CodeBlock.builder()
+    .apply {
+      addStatement(
+        "val writer = %T.obtain()",
+        DrifterConstants.UnityIntegration.UnityBinaryWriter,
+      )
+      addStatement(
+        "writer.begin(%T.${ActionParamsOutputWriter.SCHEMA_VERSION}, " +
+          "%T.${ActionParamsOutputWriter.FIELD_COUNT})",
+        actionParams,
+        actionParams,
+      )
+      params
+        .map { param -> actionBridge.params.indexOfFirst { it.name == param.name } to param }
+        .sortedBy { (index, _) -> index }
+        .forEach { (index, param) ->
+          addBinaryField("writer", index, param.name, param, converters)
+        }
+      addStatement(
+        "sendMessage(%T.${methodReference(methodKey)}, writer.toByteArray())",
+        actionMappings,
+      )
+    }
+    .build()
+
+  companion object {
+    const val APPLY = "applyFields"
+    const val APPLY_ALL = "applyAll"
+    const val APPLY_METHODS = "\$methods"
+    const val APPLY_MODULE = "applyModule"
+    const val INVALIDATE = "invalidate"
+
+    private const val APPLY_METHODS_LOCAL = "methods"
+
+    private val synchronized = ClassName("kotlin.jvm", "Synchronized")
+  }
 }
@@ -0,0 +1,419 @@
+// Generated by Drifter. Do not edit.
+// Requires .NET Standard 2.1 (Unity 2021.2 or newer).
+using System;
+using System.Globalization;
+using System.Text;
+
+namespace Drifter
+{
+    /// <summary>
+    /// Forward-only reader of the JSON objects written by the generated Kotlin senders.
+    /// </summary>
+    /// <remarks>
+    /// The reader walks the message in place: member names, numbers, booleans and enum constants
+    /// are decoded without allocating, only string values allocate.
+    /// </remarks>
+    public struct DrifterJsonReader
+    {
+        private readonly string json;
+        private int index;
+        private int nameStart;
+        private int nameLength;
+
+        public DrifterJsonReader(string json)
+        {
+            this.json = json;
+            index = 0;
+            nameStart = 0;
+            nameLength = 0;
+        }
+
+        /// <summary>
+        /// Moves to the value of the next member, returning false once the object ends.
+        /// </summary>
+        public bool NextMember()
+        {
+            SkipWhitespace();
+            if (index < json.Length && (json[index] == '{' || json[index] == ','))
+            {
+                index++;
+                SkipWhitespace();
+            }
+            if (index >= json.Length || json[index] != '"')
+            {
+                return false;
+            }
+            nameStart = index + 1;
+            nameLength = json.IndexOf('"', nameStart) - nameStart;
+            index = nameStart + nameLength + 1;
+            SkipWhitespace();
+            index++;
+            SkipWhitespace();
+            return true;
+        }
+
+        /// <summary>
+        /// Returns whether the current member is called <paramref name="name"/>.
+        /// </summary>
+        public bool NameIs(string name)
+        {
+            return nameLength == name.Length &&
+                string.CompareOrdinal(json, nameStart, name, 0, nameLength) == 0;
+        }
+
+        public bool ReadBool()
+        {
+            var value = json[index] == 't';
+            index += value ? 4 : 5;
+            return value;
+        }
+
+        public int ReadInt()
+        {
+            return int.Parse(ReadNumber(), NumberStyles.Integer, CultureInfo.InvariantCulture);
+        }
+
+        public long ReadLong()
+        {
+            return long.Parse(ReadNumber(), NumberStyles.Integer, CultureInfo.InvariantCulture);
+        }
+
+        public float ReadFloat()
+        {
+            return float.Parse(ReadNumber(), NumberStyles.Float, CultureInfo.InvariantCulture);
+        }
+
+        public double ReadDouble()
+        {
+            return double.Parse(ReadNumber(), NumberStyles.Float, CultureInfo.InvariantCulture);
+        }
+
+        public string ReadString()
+        {
+            var start = index + 1;
+            var end = start;
+            while (json[end] != '"' && json[end] != '\\')
+            {
+                end++;
+            }
+            if (json[end] == '"')
+            {
+                index = end + 1;
+                return json.Substring(start, end - start);
+            }
+            var builder = new StringBuilder(json, start, end - start, end - start + 16);
+            index = end;
+            while (json[index] != '"')
+            {
+                var c = json[index++];
+                if (c != '\\')
+                {
+                    builder.Append(c);
+                    continue;
+                }
+                c = json[index++];
+                switch (c)
+                {
+                    case 'b': builder.Append('\b'); break;
+                    case 'f': builder.Append('\f'); break;
+                    case 'n': builder.Append('\n'); break;
+                    case 'r': builder.Append('\r'); break;
+                    case 't': builder.Append('\t'); break;
+                    case 'u':
+                        builder.Append((char) int.Parse(
+                            json.AsSpan(index, 4),
+                            NumberStyles.HexNumber,
+                            CultureInfo.InvariantCulture));
+                        index += 4;
+                        break;
+                    default: builder.Append(c); break;
+                }
+            }
+            index++;
+            return builder.ToString();
+        }
+
+        /// <summary>
+        /// Reads a string value and returns its position in <paramref name="names"/>, or -1 if it
+        /// is not one of them.
+        /// </summary>
+        public int ReadEnum(string[] names)
+        {
+            var start = index + 1;
+            SkipString();
+            var length = index - start - 1;
+            for (var i = 0; i < names.Length; i++)
+            {
+                if (names[i].Length == length &&
+                    string.CompareOrdinal(json, start, names[i], 0, length) == 0)
+                {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        /// <summary>
+        /// Skips the value of the current member.
+        /// </summary>
+        public void Skip()
+        {
+            var depth = 0;
+            while (index < json.Length)
+            {
+                var c = json[index];
+                if (c == '"')
+                {
+                    SkipString();
+                    continue;
+                }
+                if (c == '{' || c == '[')
+                {
+                    depth++;
+                }
+                else if (c == '}' || c == ']')
+                {
+                    if (depth == 0)
+                    {
+                        return;
+                    }
+                    depth--;
+                }
+                else if (c == ',' && depth == 0)
+                {
+                    return;
+                }
+                index++;
+            }
+        }
+
+        private ReadOnlySpan<char> ReadNumber()
+        {
+            var start = index;
+            while (index < json.Length && "+-0123456789.eE".IndexOf(json[index]) >= 0)
+            {
+                index++;
+            }
+            return json.AsSpan(start, index - start);
+        }
+
+        private void SkipString()
+        {
+            index++;
+            while (json[index] != '"')
+            {
+                index += json[index] == '\\' ? 2 : 1;
+            }
+            index++;
+        }
+
+        private void SkipWhitespace()
+        {
+            while (index < json.Length && char.IsWhiteSpace(json[index]))
+            {
+                index++;
+            }
+        }
+    }
+
+    /// <summary>
+    /// Reader of the binary wire format written by <c>UnityBinaryWriter</c>.
+    /// </summary>
+    /// <remarks>
+    /// The message is Base64 decoded into a buffer reused from one message to the next, so only
+    /// string values allocate. Fields must be read in ascending order, skipping the absent ones.
+    /// </remarks>
+    public struct DrifterBinaryReader
+    {
+        private const int BitmapOffset = 4;
+        private const string Base64Alphabet =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+
+        private static readonly byte[] Base64Values = CreateBase64Values();
+
+        [ThreadStatic]
+        private static byte[] sharedBuffer;
+
+        private readonly byte[] buffer;
+        private int index;
+
+        public DrifterBinaryReader(string message, int fieldCount)
+        {
+            var length = DecodedLength(message);
+            if (sharedBuffer == null || sharedBuffer.Length < length)
+            {
+                sharedBuffer = new byte[Math.Max(length, 256)];
+            }
+            var data = sharedBuffer;
+            DecodeBase64(message, data);
+            buffer = data;
+            SchemaVersion = data[0] | data[1] << 8 | data[2] << 16 | data[3] << 24;
+            index = BitmapOffset + (fieldCount + 7) / 8;
+        }
+
+        /// <summary>
+        /// Version of the field layout the message was written with.
+        /// </summary>
+        public int SchemaVersion { get; }
+
+        /// <summary>
+        /// Returns whether the message holds the field at <paramref name="field"/>.
+        /// </summary>
+        public bool Has(int field)
+        {
+            return (buffer[BitmapOffset + (field >> 3)] & (1 << (field & 7))) != 0;
+        }
+
+        public bool ReadBool()
+        {
+            return buffer[index++] != 0;
+        }
+
+        public int ReadInt()
+        {
+            var value = buffer[index] |
+                buffer[index + 1] << 8 |
+                buffer[index + 2] << 16 |
+                buffer[index + 3] << 24;
+            index += 4;
+            return value;
+        }
+
+        public long ReadLong()
+        {
+            var low = (uint) ReadInt();
+            var high = (long) ReadInt();
+            return high << 32 | low;
+        }
+
+        public float ReadFloat()
+        {
+            return BitConverter.Int32BitsToSingle(ReadInt());
+        }
+
+        public double ReadDouble()
+        {
+            return BitConverter.Int64BitsToDouble(ReadLong());
+        }
+
+        public string ReadString()
+        {
+            var length = ReadInt();
+            var value = Encoding.UTF8.GetString(buffer, index, length);
+            index += length;
+            return value;
+        }
+
+        private static int DecodedLength(string message)
+        {
+            var padding = 0;
+            if (message.Length > 0 && message[message.Length - 1] == '=')
+            {
+                padding++;
+            }
+            if (message.Length > 1 && message[message.Length - 2] == '=')
+            {
+                padding++;
+            }
+            return message.Length / 4 * 3 - padding;
+        }
+
+        private static void DecodeBase64(string message, byte[] target)
+        {
+            var write = 0;
+            for (var read = 0; read < message.Length; read += 4)
+            {
+                var bits = Base64Values[message[read]] << 18 |
+                    Base64Values[message[read + 1]] << 12 |
+                    Base64Values[message[read + 2]] << 6 |
+                    Base64Values[message[read + 3]];
+                target[write++] = (byte) (bits >> 16);
+                if (message[read + 2] != '=')
+                {
+                    target[write++] = (byte) (bits >> 8);
+                }
+                if (message[read + 3] != '=')
+                {
+                    target[write++] = (byte) bits;
+                }
+            }
+        }
+
+        private static byte[] CreateBase64Values()
+        {
+            var values = new byte[128];
+            for (var i = 0; i < Base64Alphabet.Length; i++)
+            {
+                values[Base64Alphabet[i]] = (byte) i;
+            }
+            return values;
+        }
+    }
+
+    /// <summary>
+    /// Undoes the transformations applied to a message parameter on the Android side.
+    /// </summary>
+    public static class DrifterPayload
+    {
+        /// <summary>
+        /// First character of the parameters compressed by <c>PayloadCompression</c>.
+        /// </summary>
+        public const char CompressedFlag = '\u0001';
+
+        /// <summary>
+        /// Returns <paramref name="param"/> decompressed if it was compressed, or unchanged.
+        /// </summary>
+        public static string Decode(string param)
+        {
+            if (param.Length == 0 || param[0] != CompressedFlag)
+            {
+                return param;
+            }
+            var packed = Convert.FromBase64String(param.Substring(1));
+            var length = packed[0] | packed[1] << 8 | packed[2] << 16 | packed[3] << 24;
+            var output = new byte[length];
+            DecodeLz4Block(packed, 4, packed.Length, output);
+            return Encoding.UTF8.GetString(output);
+        }
+
+        private static void DecodeLz4Block(byte[] source, int index, int end, byte[] target)
+        {
+            var output = 0;
+            while (index < end)
+            {
+                var token = source[index++];
+                var literalLength = ReadLength(source, ref index, token >> 4);
+                Buffer.BlockCopy(source, index, target, output, literalLength);
+                index += literalLength;
+                output += literalLength;
+                if (index >= end)
+                {
+                    break;
+                }
+                var offset = source[index] | source[index + 1] << 8;
+                index += 2;
+                var matchLength = ReadLength(source, ref index, token & 0x0F) + 4;
+                // A match may overlap the bytes it copies, so it is copied one byte at a time.
+                for (var i = 0; i < matchLength; i++, output++)
+                {
+                    target[output] = target[output - offset];
+                }
+            }
+        }
+
+        private static int ReadLength(byte[] source, ref int index, int length)
+        {
+            if (length != 15)
+            {
+                return length;
+            }
+            int extra;
+            do
+            {
+                extra = source[index++];
+                length += extra;
+            } while (extra == 255);
+            return length;
+        }
+    }
+}
@@ -38,6 +38,8 @@ dependencies {
   implementation(projects.codegen)
 
   implementation(libs.ksp.api)
+
+  testImplementation(libs.junit)
 }
 
 winds {
@@ -25,6 +25,10 @@ import java.io.OutputStream
 class KspCodeOutputStreamMaker(
   private val codeGenerator: CodeGenerator,
   private val sourceMapper: KSFileSourceMapper,
+  // Whether the files are generated from all of their sources together, such as a file listing
+  // the declarations of every source. KSP then reprocesses all of these sources whenever one of
+  // them changes or a new file appears, instead of only the changed ones.
+  private val aggregating: Boolean = false,
 ) : CodeOutputStreamMaker {
 
   override fun makeFile(
@@ -32,19 +36,38 @@ class KspCodeOutputStreamMaker(
     packageName: String,
     vararg sourceIds: String,
   ): OutputStream {
-    val dependencies = if (sourceIds.isEmpty()) {
-      Dependencies.ALL_FILES
-    } else {
-      Dependencies(
-        true,
-        *sourceIds.mapNotNull { sourceMapper.mapToKSFile(it) }.toTypedArray(),
-      )
-    }
+    return codeGenerator.createNewFile(
+      dependencies = dependenciesOf(sourceIds.asList()),
+      fileName = name,
+      packageName = packageName,
+    )
+  }
 
+  override fun makeFile(
+    name: String,
+    packageName: String,
+    extensionName: String,
+    sourceIds: List<String>,
+  ): OutputStream {
     return codeGenerator.createNewFile(
-      dependencies = dependencies,
+      dependencies = dependenciesOf(sourceIds),
       fileName = name,
       packageName = packageName,
+      extensionName = extensionName,
     )
   }
+
+  private fun dependenciesOf(sourceIds: List<String>): Dependencies {
+    val sourceFiles = sourceIds.mapNotNull { sourceMapper.mapToKSFile(it) }
+    // Files generated from known sources are only regenerated when one of these sources
+    // changes. The others depend on every source of the compilation.
+    return if (sourceFiles.isEmpty()) {
+      Dependencies.ALL_FILES
+    } else {
+      Dependencies(
+        aggregating,
+        *sourceFiles.toTypedArray(),
+      )
+    }
+  }
 }
@@ -22,3 +22,9 @@ fun interface KSFileSourceMapper {
 
   fun mapToKSFile(sourceId: String): KSFile?
 }
+
+/**
+ * Identifier of this file in the `sourceIds` of generated files.
+ */
+val KSFile.sourceId: String
+  get() = filePath
@@ -19,6 +19,7 @@
 package dev.teogor.drifter.ksp.processors
 
 import dev.teogor.drifter.codegen.model.CodeGenConfig
+import dev.teogor.drifter.codegen.model.WireFormat
 
 class ConfigParser(
   private val options: Map<String, String>,
@@ -31,17 +32,35 @@ class ConfigParser(
     private const val ADD_DOCUMENTATION = "$PREFIX.addDocumentation"
     private const val GENERATE_OPERATIONS = "$PREFIX.generateOperations"
     private const val GENERATED_PACKAGE_NAME = "$PREFIX.generatedPackageName"
+    private const val GENERATE_STREAMING_JSON = "$PREFIX.generateStreamingJson"
+    private const val GENERATE_DELTA_SYNC = "$PREFIX.generateDeltaSync"
+    private const val GENERATE_METHOD_IDS = "$PREFIX.generateMethodIds"
+    private const val GENERATE_CSHARP = "$PREFIX.generateCSharp"
+    private const val CSHARP_NAMESPACE = "$PREFIX.csharpNamespace"
+    private const val WIRE_FORMAT = "$PREFIX.wireFormat"
   }
 
   fun parse(): CodeGenConfig {
     val addDocumentation = parseBoolean(ADD_DOCUMENTATION) ?: true
     val generateOperations = parseBoolean(GENERATE_OPERATIONS) ?: true
     val generatedPackageName = options[GENERATED_PACKAGE_NAME]?.trim()?.removeSuffix(".")
+    val generateStreamingJson = parseBoolean(GENERATE_STREAMING_JSON) ?: false
+    val generateDeltaSync = parseBoolean(GENERATE_DELTA_SYNC) ?: false
+    val generateMethodIds = parseBoolean(GENERATE_METHOD_IDS) ?: false
+    val generateCSharp = parseBoolean(GENERATE_CSHARP) ?: false
+    val csharpNamespace = options[CSHARP_NAMESPACE]?.trim()?.removeSuffix(".")
+    val wireFormat = parseWireFormat(WIRE_FORMAT) ?: WireFormat.Json
 
     return CodeGenConfig(
       addDocumentation = addDocumentation,
       generateOperations = generateOperations,
       generatedPackageName = generatedPackageName,
+      generateStreamingJson = generateStreamingJson,
+      generateDeltaSync = generateDeltaSync,
+      generateMethodIds = generateMethodIds,
+      generateCSharp = generateCSharp,
+      csharpNamespace = csharpNamespace,
+      wireFormat = wireFormat,
     )
   }
 
@@ -52,6 +71,14 @@ class ConfigParser(
       throw WrongConfigurationSetup("$key must be a boolean value!", cause = it)
     }
   }
+
+  private fun parseWireFormat(key: String): WireFormat? {
+    val value = options[key]?.trim() ?: return null
+    return WireFormat.entries.firstOrNull { it.name.equals(value, ignoreCase = true) }
+      ?: throw WrongConfigurationSetup(
+        "$key must be one of ${WireFormat.entries.joinToString { it.name.lowercase() }}!",
+      )
+  }
 }
 
 class WrongConfigurationSetup(message: String, cause: Throwable? = null) :
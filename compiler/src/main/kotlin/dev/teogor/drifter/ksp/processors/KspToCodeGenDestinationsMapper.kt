@@ -19,11 +19,14 @@ package dev.teogor.drifter.ksp.processors
 import com.google.devtools.ksp.processing.Resolver
 import com.google.devtools.ksp.symbol.KSFile
 import dev.teogor.drifter.ksp.commons.KSFileSourceMapper
+import dev.teogor.drifter.ksp.commons.sourceId
 
 class KspToCodeGenDestinationsMapper(
   private val resolver: Resolver,
 ) : KSFileSourceMapper {
-  private val sourceFilesById = mutableMapOf<String, KSFile?>()
+  private val sourceFilesById by lazy {
+    resolver.getAllFiles().associateBy { it.sourceId }
+  }
 
   override fun mapToKSFile(sourceId: String): KSFile? {
     return sourceFilesById[sourceId]
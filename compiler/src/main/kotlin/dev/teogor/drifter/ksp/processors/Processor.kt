@@ -18,16 +18,28 @@ package dev.teogor.drifter.ksp.processors
 
 import com.google.devtools.ksp.KspExperimental
 import com.google.devtools.ksp.getAnnotationsByType
+import com.google.devtools.ksp.getAllSuperTypes
 import com.google.devtools.ksp.getDeclaredFunctions
+import com.google.devtools.ksp.isAnnotationPresent
+import com.google.devtools.ksp.isAbstract
+import com.google.devtools.ksp.isInternal
+import com.google.devtools.ksp.isPrivate
+import com.google.devtools.ksp.isPublic
 import com.google.devtools.ksp.processing.KSPLogger
 import com.google.devtools.ksp.processing.Resolver
 import com.google.devtools.ksp.processing.SymbolProcessor
 import com.google.devtools.ksp.symbol.ClassKind
 import com.google.devtools.ksp.symbol.KSAnnotated
 import com.google.devtools.ksp.symbol.KSClassDeclaration
+import com.google.devtools.ksp.symbol.KSDeclaration
 import com.google.devtools.ksp.symbol.KSFunctionDeclaration
+import com.google.devtools.ksp.symbol.KSPropertyDeclaration
 import com.google.devtools.ksp.symbol.KSType
+import com.google.devtools.ksp.symbol.KSValueParameter
 import com.google.devtools.ksp.symbol.Modifier
+import com.squareup.kotlinpoet.FLOAT
+import com.squareup.kotlinpoet.INT
+import com.squareup.kotlinpoet.MemberName
 import com.squareup.kotlinpoet.UNIT
 import com.squareup.kotlinpoet.asClassName
 import com.squareup.kotlinpoet.ksp.toClassName
@@ -35,15 +47,26 @@ import com.squareup.kotlinpoet.ksp.toTypeName
 import dev.teogor.drifter.DrifterEncoder
 import dev.teogor.drifter.DrifterMappingKey
 import dev.teogor.drifter.DrifterModule
+import dev.teogor.drifter.DrifterPackedArrays
 import dev.teogor.drifter.DrifterUnityMethod
 import dev.teogor.drifter.codegen.CodeGenerator
+import dev.teogor.drifter.codegen.DrifterConstants
+import dev.teogor.drifter.codegen.commons.findCommonBase
+import dev.teogor.drifter.codegen.commons.toSnakeCase
 import dev.teogor.drifter.codegen.facades.Logger
 import dev.teogor.drifter.codegen.model.AdvancedMethodsData
 import dev.teogor.drifter.codegen.model.BridgeKeyData
 import dev.teogor.drifter.codegen.model.ConverterType
 import dev.teogor.drifter.codegen.model.DrifterActionBridgeData
+import dev.teogor.drifter.codegen.model.MessageFieldData
+import dev.teogor.drifter.codegen.model.MessageSerializerData
+import dev.teogor.drifter.codegen.model.PackedArrayFieldData
+import dev.teogor.drifter.codegen.model.PackedArraysData
+import dev.teogor.drifter.codegen.model.UnityCallbackData
+import dev.teogor.drifter.codegen.writers.PackedArraysOutputWriter
 import dev.teogor.drifter.ksp.codegen.KspCodeOutputStreamMaker
 import dev.teogor.drifter.ksp.codegen.KspLogger
+import dev.teogor.drifter.ksp.commons.sourceId
 import kotlin.reflect.KClass
 
 class Processor(
@@ -52,24 +75,58 @@ class Processor(
   private val options: Map<String, String>,
 ) : SymbolProcessor {
 
+  private var isCSharpRuntimeWritten = false
+
   @OptIn(KspExperimental::class)
   override fun process(resolver: Resolver): List<KSAnnotated> {
     Logger.instance = KspLogger(logger)
 
+    val sourceMapper = KspToCodeGenDestinationsMapper(resolver)
     val annotatedDrifterBridges = resolver.getDrifterActionBridges()
-    val annotatedDrifterConverters = resolver.getDrifterConverters()
+    val messages = resolver.getMessages()
 
-    if (
-      !annotatedDrifterBridges.iterator().hasNext() &&
-      !annotatedDrifterConverters.iterator().hasNext()
-    ) {
-      return emptyList()
+    if (messages.isNotEmpty()) {
+      CodeGenerator(
+        codeOutputStreamMaker = KspCodeOutputStreamMaker(
+          codeGenerator = codeGenerator,
+          sourceMapper = sourceMapper,
+        ),
+        codeGenConfig = ConfigParser(options).parse(),
+      ).generateMessageSerializers(messages)
     }
 
-    val sourceFiles = annotatedDrifterBridges.mapNotNull {
-      it.containingFile
-    } + annotatedDrifterConverters.mapNotNull {
-      it.containingFile
+    val packedArrays = resolver.getPackedArrays()
+    if (packedArrays.isNotEmpty()) {
+      CodeGenerator(
+        codeOutputStreamMaker = KspCodeOutputStreamMaker(
+          codeGenerator = codeGenerator,
+          sourceMapper = sourceMapper,
+        ),
+        codeGenConfig = ConfigParser(options).parse(),
+      ).generatePackedArrays(packedArrays)
+    }
+
+    // The dispatcher aggregates the callbacks of every file, so KSP hands all of them to the
+    // processor again whenever one changes or a new file may declare more.
+    val unityCallbacks = resolver.getUnityCallbacks()
+    if (unityCallbacks.isNotEmpty()) {
+      CodeGenerator(
+        codeOutputStreamMaker = KspCodeOutputStreamMaker(
+          codeGenerator = codeGenerator,
+          sourceMapper = sourceMapper,
+          aggregating = true,
+        ),
+        codeGenConfig = ConfigParser(options).parse(),
+      ).generateUnityCallbacks(
+        packageName = unityCallbacks.map { it.function.packageName }.reduce(::findCommonBase),
+        callbacks = unityCallbacks,
+      )
+    }
+
+    // In incremental builds, only the modules declared in changed files are found here, so the
+    // generated files of the other modules are kept as they are.
+    if (!annotatedDrifterBridges.iterator().hasNext()) {
+      return emptyList()
     }
 
     val drifterActionBridges = annotatedDrifterBridges.map { kClass ->
@@ -85,10 +142,15 @@ class Processor(
               keyName = it.storageKey,
               unityNativeMethod = it.exposedMethod,
               type = param.type.toTypeName(),
+              delivery = it.delivery,
+              isEnum = param.isEnum,
+              enumEntries = param.enumEntries,
             )
           } ?: BridgeKeyData.NOT_PROVIDED.copy(
             name = param.name!!.asString(),
             type = param.type.toTypeName(),
+            isEnum = param.isEnum,
+            enumEntries = param.enumEntries,
           )
         }
         val ksTypeRef = kClass.annotations.first {
@@ -110,6 +172,7 @@ class Processor(
               AdvancedMethodsData(
                 name = name,
                 params = param.parameters.toList(),
+                delivery = param.delivery,
               )
             }.toList()
         } else {
@@ -122,6 +185,9 @@ class Processor(
           simpleName = kClass.simpleName.asString(),
           packageName = kClass.packageName.asString(),
           params = parameters,
+          sourceIds = listOfNotNull(kClass.containingFile, ksTypeRef.containingFile)
+            .map { it.sourceId }
+            .distinct(),
         )
       } else {
         Logger.instance.error("Class '${kClass.simpleName}' is not a data class.")
@@ -129,7 +195,7 @@ class Processor(
       }
     }.toList()
 
-    val converters = annotatedDrifterConverters.filter {
+    val converters = resolver.getDrifterConverters().filter {
       it.returnType != null &&
         it.extensionReceiver != null
     }.map { kFun ->
@@ -140,15 +206,34 @@ class Processor(
         packageName = kFun.packageName.asString(),
         returnType = returnType,
         receiverType = receiverType,
+        sourceId = kFun.containingFile?.sourceId,
       )
     }.toList()
 
+    // The C# runtime aggregates the modules: KSP writes it again, with all of them found here,
+    // only when one of them changes or a new file may declare another.
+    val codeGenConfig = ConfigParser(options).parse()
+    val moduleSourceIds = drifterActionBridges.filterNot { it.isError }
+      .flatMap { it.sourceIds }
+      .distinct()
+    if (codeGenConfig.generateCSharp && !isCSharpRuntimeWritten && moduleSourceIds.isNotEmpty()) {
+      isCSharpRuntimeWritten = true
+      CodeGenerator(
+        codeOutputStreamMaker = KspCodeOutputStreamMaker(
+          codeGenerator = codeGenerator,
+          sourceMapper = sourceMapper,
+          aggregating = true,
+        ),
+        codeGenConfig = codeGenConfig,
+      ).generateCSharpRuntime(moduleSourceIds)
+    }
+
     CodeGenerator(
       codeOutputStreamMaker = KspCodeOutputStreamMaker(
         codeGenerator = codeGenerator,
-        sourceMapper = KspToCodeGenDestinationsMapper(resolver),
+        sourceMapper = sourceMapper,
       ),
-      codeGenConfig = ConfigParser(options).parse(),
+      codeGenConfig = codeGenConfig,
     ).generate(
       drifterActionBridges = drifterActionBridges,
       converters = converters,
@@ -167,11 +252,283 @@ class Processor(
     return findAnnotations(DrifterModule::class).filterIsInstance<KSClassDeclaration>()
   }
 
+  /**
+   * Collects the `DrifterEncoder` functions of every file, not only the changed ones, since a
+   * module edited in an incremental build may use encoders declared in unchanged files.
+   */
+  @OptIn(KspExperimental::class)
   private fun Resolver.getDrifterConverters(): Sequence<KSFunctionDeclaration> {
-    return findAnnotations(DrifterEncoder::class).filterIsInstance<KSFunctionDeclaration>()
+    return getAllFiles()
+      .flatMap { it.declarations }
+      .filterIsInstance<KSFunctionDeclaration>()
+      .filter { it.isAnnotationPresent(DrifterEncoder::class) }
+  }
+
+  /**
+   * Collects the `Message` subclasses declared in the files of this round that can be
+   * serialized without reflection. Classes with private state or unsupported property types
+   * are left to the Gson fallback.
+   */
+  private fun Resolver.getMessages(): List<MessageSerializerData> {
+    val messageType = getClassDeclarationByName(
+      DrifterConstants.UnityIntegration.Message.canonicalName,
+    )?.asStarProjectedType() ?: return emptyList()
+
+    return getNewFiles()
+      .flatMap { it.declarations.flattenClasses() }
+      .filter { kClass ->
+        kClass.classKind == ClassKind.CLASS &&
+          !kClass.isAbstract() &&
+          kClass.typeParameters.isEmpty() &&
+          (kClass.isPublic() || kClass.isInternal()) &&
+          kClass.qualifiedName?.asString() != messageType.declaration.qualifiedName?.asString() &&
+          messageType.isAssignableFrom(kClass.asStarProjectedType())
+      }
+      .mapNotNull { kClass ->
+        val fields = kClass.getAllProperties()
+          .filter { it.hasBackingField && !it.isTransient() }
+          .map { it.toMessageField() }
+          .toList()
+        if (fields.any { it == null }) {
+          Logger.instance.info(
+            "'${kClass.simpleName.asString()}' uses private or unsupported properties, " +
+              "it will be serialized with Gson.",
+          )
+          null
+        } else {
+          MessageSerializerData(
+            messageType = kClass.toClassName(),
+            fields = fields.filterNotNull(),
+            sourceIds = (sequenceOf(kClass) + kClass.getAllSuperTypes().map { it.declaration })
+              .mapNotNull { it.containingFile?.sourceId }
+              .distinct()
+              .toList(),
+          )
+        }
+      }
+      .toList()
+  }
+
+  /**
+   * Collects the `DrifterPackedArrays` classes of this round. Every property of their primary
+   * constructor becomes a column, so all of them must be `Float` or `Int` values.
+   */
+  @OptIn(KspExperimental::class)
+  private fun Resolver.getPackedArrays(): List<PackedArraysData> {
+    return findAnnotations(DrifterPackedArrays::class)
+      .filterIsInstance<KSClassDeclaration>()
+      .mapNotNull { kClass ->
+        val annotation = kClass.getAnnotationsByType(DrifterPackedArrays::class).first()
+        val parameters = kClass.primaryConstructor?.parameters.orEmpty()
+        val fields = parameters.mapNotNull { param ->
+          val name = param.name!!.asString()
+          val type = param.type.toTypeName()
+          val error = when {
+            !param.isVal -> "must be a val"
+            type != FLOAT && type != INT -> "must be a non-null Float or Int"
+            name in PackedArraysOutputWriter.reservedNames ->
+              "uses a name reserved by the generated class"
+            else -> null
+          }
+          if (error != null) {
+            Logger.instance.error("Property '$name' of '${kClass.simpleName.asString()}' $error.")
+            null
+          } else {
+            PackedArrayFieldData(name = name, type = type)
+          }
+        }
+        when {
+          parameters.isEmpty() -> {
+            Logger.instance.error("'${kClass.simpleName.asString()}' declares no packed array.")
+            null
+          }
+
+          fields.size != parameters.size -> null
+          else -> PackedArraysData(
+            entityType = kClass.toClassName(),
+            receiver = annotation.receiver,
+            method = annotation.method,
+            fields = fields,
+            sourceIds = listOfNotNull(kClass.containingFile?.sourceId),
+          )
+        }
+      }
+      .toList()
+  }
+
+  /**
+   * Collects the `UnityCallback` functions of this round and assigns their identifiers. Explicit
+   * identifiers are kept, the others are derived from the qualified names of the functions, so
+   * adding or removing a callback never changes the identifier of another one.
+   */
+  private fun Resolver.getUnityCallbacks(): List<UnityCallbackData> {
+    val symbols = getSymbolsWithAnnotation(
+      DrifterConstants.UnityIntegration.UnityCallback.canonicalName,
+    ).toList()
+    symbols.filterNot { it is KSFunctionDeclaration }.forEach { symbol ->
+      Logger.instance.error("Unity callback '$symbol' must be a function.")
+    }
+    val functions = symbols
+      .filterIsInstance<KSFunctionDeclaration>()
+      .filter { it.isValidUnityCallback() }
+      .sortedBy { it.qualifiedName?.asString().orEmpty() }
+    if (functions.isEmpty()) return emptyList()
+
+    val ids = functions.map { kFun ->
+      kFun.unityCallbackId().takeIf { it != AUTO_CALLBACK_ID }
+        ?: kFun.qualifiedName?.asString().orEmpty().autoCallbackId()
+    }
+    ids.filter { it < 0 }.forEach { id ->
+      Logger.instance.error("Unity callback id '$id' is negative.")
+    }
+    ids.indices.groupBy { ids[it] }.filterValues { it.size > 1 }.forEach { (id, indices) ->
+      val names = indices.joinToString { functions[it].qualifiedName?.asString().orEmpty() }
+      Logger.instance.error(
+        "Unity callback id '$id' is used by more than one function: $names. Give them " +
+          "distinct explicit ids.",
+      )
+    }
+    val callbacks = functions.mapIndexed { index, kFun ->
+      val name = kFun.simpleName.asString()
+      val owner = kFun.parentDeclaration as? KSClassDeclaration
+      val ownerName = if (owner?.isCompanionObject == true) {
+        owner.parentDeclaration?.simpleName?.asString()
+      } else {
+        owner?.simpleName?.asString()
+      }
+      UnityCallbackData(
+        id = ids[index],
+        constantName = listOfNotNull(ownerName, name).joinToString("_") { it.toSnakeCase() },
+        function = owner?.let { MemberName(it.toClassName(), name) }
+          ?: MemberName(kFun.packageName.asString(), name),
+        hasPayload = kFun.parameters.isNotEmpty(),
+        returnsValue = kFun.returnTypeName() == "kotlin.String",
+        sourceId = kFun.containingFile?.sourceId,
+      )
+    }
+    val duplicateNames = callbacks.groupingBy { it.constantName }.eachCount()
+      .filterValues { it > 1 }
+      .keys
+    return callbacks.map { callback ->
+      if (callback.constantName in duplicateNames) {
+        callback.copy(constantName = "${callback.constantName}_${callback.id}")
+      } else {
+        callback
+      }
+    }
+  }
+
+  private fun KSFunctionDeclaration.unityCallbackId(): Int {
+    return annotations.first {
+      it.annotationType.resolve().toClassName() == DrifterConstants.UnityIntegration.UnityCallback
+    }.arguments.firstOrNull {
+      it.name?.asString() == "id"
+    }?.value as? Int ?: AUTO_CALLBACK_ID
+  }
+
+  /**
+   * Derives the identifier of a callback without an explicit one from its qualified name: the
+   * non-negative [String.hashCode] of the name, which does not depend on the other callbacks.
+   */
+  private fun String.autoCallbackId(): Int = hashCode() and Int.MAX_VALUE
+
+  private fun KSFunctionDeclaration.returnTypeName(): String? {
+    return returnType?.resolve()?.declaration?.qualifiedName?.asString()
+  }
+
+  private fun KSFunctionDeclaration.isValidUnityCallback(): Boolean {
+    val owner = parentDeclaration
+    val error = when {
+      owner != null && (owner !is KSClassDeclaration || owner.classKind != ClassKind.OBJECT) ->
+        "must be a top-level function or a member of an object"
+      isPrivate() -> "must not be private"
+      Modifier.SUSPEND in modifiers -> "must not be a suspend function"
+      extensionReceiver != null || typeParameters.isNotEmpty() ->
+        "must not be an extension or generic function"
+      parameters.size > 1 || parameters.any { !it.type.resolve().isString() } ->
+        "must take either no parameter or a single String parameter"
+      returnTypeName() !in unityCallbackReturnTypes -> "must return either Unit or String"
+      else -> null
+    }
+    if (error != null) {
+      Logger.instance.error("Unity callback '${qualifiedName?.asString()}' $error.")
+    }
+    return error == null
+  }
+
+  private fun KSType.isString(): Boolean {
+    return !isMarkedNullable && declaration.qualifiedName?.asString() == "kotlin.String"
+  }
+
+  private val KSValueParameter.isEnum: Boolean
+    get() {
+      val declaration = type.resolve().declaration as? KSClassDeclaration
+      return declaration?.classKind == ClassKind.ENUM_CLASS
+    }
+
+  /**
+   * The constants of the enum type of this parameter, in ordinal order.
+   */
+  private val KSValueParameter.enumEntries: List<String>
+    get() {
+      if (!isEnum) return emptyList()
+      val declaration = type.resolve().declaration as KSClassDeclaration
+      return declaration.declarations
+        .filterIsInstance<KSClassDeclaration>()
+        .filter { it.classKind == ClassKind.ENUM_ENTRY }
+        .map { it.simpleName.asString() }
+        .toList()
+    }
+
+  private fun Sequence<KSDeclaration>.flattenClasses(): Sequence<KSClassDeclaration> {
+    return filterIsInstance<KSClassDeclaration>().flatMap { kClass ->
+      sequenceOf(kClass) + kClass.declarations.flattenClasses()
+    }
+  }
+
+  private fun KSPropertyDeclaration.isTransient(): Boolean {
+    return annotations.any { it.shortName.asString() == "Transient" }
+  }
+
+  private fun KSPropertyDeclaration.toMessageField(): MessageFieldData? {
+    if (isPrivate()) return null
+    val resolvedType = type.resolve()
+    val declaration = resolvedType.declaration as? KSClassDeclaration ?: return null
+    val isEnum = declaration.classKind == ClassKind.ENUM_CLASS
+    if (!isEnum && declaration.qualifiedName?.asString() !in messageFieldTypes) return null
+
+    val name = simpleName.asString()
+    val serializedName = annotations.firstOrNull {
+      it.shortName.asString() == "SerializedName"
+    }?.arguments?.firstOrNull()?.value as? String
+    return MessageFieldData(
+      name = name,
+      jsonName = serializedName ?: name,
+      type = resolvedType.toTypeName(),
+      isEnum = isEnum,
+    )
   }
 }
 
+private const val AUTO_CALLBACK_ID = -1
+
+private val unityCallbackReturnTypes = setOf(
+  "kotlin.Unit",
+  "kotlin.String",
+)
+
+private val messageFieldTypes = setOf(
+  "kotlin.Boolean",
+  "kotlin.Byte",
+  "kotlin.Short",
+  "kotlin.Int",
+  "kotlin.Long",
+  "kotlin.Float",
+  "kotlin.Double",
+  "kotlin.Char",
+  "kotlin.String",
+)
+
 val KSClassDeclaration.isDataClass: Boolean
   get() = classKind == ClassKind.CLASS && modifiers.contains(Modifier.DATA)
 
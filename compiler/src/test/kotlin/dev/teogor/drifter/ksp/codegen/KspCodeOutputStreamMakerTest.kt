@@ -0,0 +1,121 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.ksp.codegen
+
+import com.google.devtools.ksp.processing.CodeGenerator
+import com.google.devtools.ksp.processing.Dependencies
+import com.google.devtools.ksp.symbol.KSFile
+import dev.teogor.drifter.codegen.model.CodeGenConfig
+import dev.teogor.drifter.codegen.model.WireFormat
+import dev.teogor.drifter.ksp.commons.KSFileSourceMapper
+import dev.teogor.drifter.ksp.commons.sourceId
+import java.io.ByteArrayOutputStream
+import java.lang.reflect.Proxy
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import dev.teogor.drifter.codegen.CodeGenerator as DrifterCodeGenerator
+
+class KspCodeOutputStreamMakerTest {
+
+  private val dependencies = mutableListOf<Dependencies>()
+
+  private val codeGenerator = proxy<CodeGenerator> { name, args ->
+    check(name == "createNewFile") { "Unexpected $name" }
+    dependencies += args[0] as Dependencies
+    ByteArrayOutputStream()
+  }
+
+  private val moduleFile = proxy<KSFile> { name, _ ->
+    check(name == "getFilePath") { "Unexpected $name" }
+    "/src/AquariumModule.kt"
+  }
+
+  private val sourceMapper = KSFileSourceMapper { sourceId ->
+    moduleFile.takeIf { sourceId == it.sourceId }
+  }
+
+  @Test
+  fun csharpRuntimeAggregatesTheModules() {
+    DrifterCodeGenerator(
+      codeOutputStreamMaker = KspCodeOutputStreamMaker(
+        codeGenerator = codeGenerator,
+        sourceMapper = sourceMapper,
+        aggregating = true,
+      ),
+      codeGenConfig = codeGenConfig,
+    ).generateCSharpRuntime(listOf(moduleFile.sourceId))
+
+    val runtime = dependencies.single()
+    assertFalse(runtime.isAllSources)
+    assertTrue(runtime.aggregating)
+    assertEquals(listOf(moduleFile), runtime.originatingFiles)
+  }
+
+  @Test
+  fun isolatesFilesByDefault() {
+    KspCodeOutputStreamMaker(codeGenerator, sourceMapper)
+      .makeFile("AquariumSender", "dev.teogor.drifter", moduleFile.sourceId)
+      .close()
+
+    val sender = dependencies.single()
+    assertFalse(sender.isAllSources)
+    assertFalse(sender.aggregating)
+    assertEquals(listOf(moduleFile), sender.originatingFiles)
+  }
+
+  @Test
+  fun dependsOnAllFilesWithoutKnownSources() {
+    KspCodeOutputStreamMaker(codeGenerator, sourceMapper, aggregating = true)
+      .makeFile("DrifterRuntime", "", "cs", listOf("/src/Unknown.kt"))
+      .close()
+
+    assertTrue(dependencies.single().isAllSources)
+  }
+
+  private inline fun <reified T : Any> proxy(
+    crossinline handler: (name: String, args: Array<out Any?>) -> Any,
+  ): T {
+    val instance = Proxy.newProxyInstance(
+      T::class.java.classLoader,
+      arrayOf(T::class.java),
+    ) { self, method, args ->
+      when (method.name) {
+        "equals" -> self === args[0]
+        "hashCode" -> System.identityHashCode(self)
+        "toString" -> T::class.java.simpleName
+        else -> handler(method.name, args.orEmpty())
+      }
+    }
+    return instance as T
+  }
+
+  private companion object {
+    val codeGenConfig = CodeGenConfig(
+      addDocumentation = false,
+      generateOperations = false,
+      generatedPackageName = null,
+      generateStreamingJson = false,
+      generateDeltaSync = false,
+      generateMethodIds = false,
+      generateCSharp = true,
+      csharpNamespace = null,
+      wireFormat = WireFormat.Json,
+    )
+  }
+}
@@ -25,7 +25,10 @@ android {
 
 dependencies {
   implementation(projects.integration)
-  implementation(projects.unity.common)
+  api(projects.unity.common)
+
+  implementation(libs.androidx.annotation)
+  implementation(libs.kotlinx.coroutines.core)
 }
 
 winds {
@@ -17,6 +17,9 @@
 package dev.teogor.drifter.core
 
 import dev.teogor.drifter.unity.common.UnityEngine
+import dev.teogor.drifter.unity.common.json.UnityJsonWriter
+import dev.teogor.drifter.unity.common.messaging.DeliveryMode
+import java.util.concurrent.ConcurrentHashMap
 import org.json.JSONObject
 
 /**
@@ -27,8 +30,37 @@ import org.json.JSONObject
  * to trigger actions in Unity.
  *
  * @param receiver The name of the Unity game object to receive the messages.
+ * @param deliveryMode Optional [DeliveryMode] applied to every message sent to [receiver].
+ * When `null`, the mode configured through [UnityEngine.setDeliveryMode] is kept. The mode is
+ * shared by every sender of [receiver], so senders declaring different modes for the same
+ * receiver are rejected.
+ * @throws IllegalStateException if another sender already declared a different [deliveryMode]
+ * for [receiver].
  */
-open class UnityMessageSender(private val receiver: String) {
+open class UnityMessageSender(
+  private val receiver: String,
+  deliveryMode: DeliveryMode? = null,
+) {
+
+  init {
+    deliveryMode?.let { mode ->
+      val declared = declaredDeliveryModes.putIfAbsent(receiver, mode)
+      check(declared == null || declared == mode) {
+        "Messages to $receiver are already delivered as $declared by another sender, not as $mode"
+      }
+      UnityEngine.setDeliveryMode(receiver, mode)
+    }
+  }
+
+  /**
+   * Sets how messages sent to [methodName] are delivered, overriding the mode of [receiver].
+   *
+   * @param methodName The name of the method in the Unity game object.
+   * @param deliveryMode The [DeliveryMode] to use for this method.
+   */
+  protected fun setDeliveryMode(methodName: String, deliveryMode: DeliveryMode) {
+    UnityEngine.setDeliveryMode(receiver, methodName, deliveryMode)
+  }
 
   /**
    * Sends a message to the specified game object with a method name and JSON data.
@@ -39,4 +71,61 @@ open class UnityMessageSender(private val receiver: String) {
   fun sendMessage(methodName: String, data: JSONObject) {
     UnityEngine.sendMessage(receiver, methodName, data.toString())
   }
+
+  /**
+   * Sends a message to the specified game object with a method name and a payload that is
+   * already encoded as UTF-8 bytes.
+   *
+   * @param methodName The name of the method to invoke in the Unity game object.
+   * @param data The UTF-8 encoded payload to send as argument to the method.
+   */
+  fun sendMessage(methodName: String, data: ByteArray) {
+    UnityEngine.sendMessage(receiver, methodName, data)
+  }
+
+  /**
+   * Sends a message to the specified game object with a method name and the document written
+   * into [writer].
+   *
+   * @param methodName The name of the method to invoke in the Unity game object.
+   * @param writer The writer holding the JSON document to send as arguments to the method.
+   */
+  fun sendMessage(methodName: String, writer: UnityJsonWriter) {
+    UnityEngine.sendMessage(receiver, methodName, writer.toByteArray())
+  }
+
+  /**
+   * Sends a message with JSON data to the method registered under [methodId].
+   *
+   * @param methodId The ID of the method, as registered in `MethodIdRegistry`.
+   * @param data The JSON data to send as arguments to the method.
+   */
+  fun sendMessage(methodId: Int, data: JSONObject) {
+    UnityEngine.sendMessage(methodId, data.toString())
+  }
+
+  /**
+   * Sends a message with a payload that is already encoded as UTF-8 bytes to the method
+   * registered under [methodId].
+   *
+   * @param methodId The ID of the method, as registered in `MethodIdRegistry`.
+   * @param data The UTF-8 encoded payload to send as argument to the method.
+   */
+  fun sendMessage(methodId: Int, data: ByteArray) {
+    UnityEngine.sendMessage(methodId, data)
+  }
+
+  /**
+   * Sends the document written into [writer] to the method registered under [methodId].
+   *
+   * @param methodId The ID of the method, as registered in `MethodIdRegistry`.
+   * @param writer The writer holding the JSON document to send as arguments to the method.
+   */
+  fun sendMessage(methodId: Int, writer: UnityJsonWriter) {
+    UnityEngine.sendMessage(methodId, writer.toByteArray())
+  }
+
+  private companion object {
+    val declaredDeliveryModes = ConcurrentHashMap<String, DeliveryMode>()
+  }
 }
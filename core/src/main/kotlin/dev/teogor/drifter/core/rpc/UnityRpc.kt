@@ -0,0 +1,381 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.core.rpc
+
+import android.os.Build
+import androidx.annotation.RequiresApi
+import dev.teogor.drifter.unity.common.UnityEngine
+import dev.teogor.drifter.unity.common.messaging.BridgeEvents
+import dev.teogor.drifter.unity.common.messaging.DeliveryMode
+import dev.teogor.drifter.unity.common.messaging.UnityFrameCallbacks
+import kotlinx.coroutines.suspendCancellableCoroutine
+import java.io.Closeable
+import java.util.concurrent.CancellationException
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.RejectedExecutionException
+import java.util.concurrent.ScheduledFuture
+import java.util.concurrent.ScheduledThreadPoolExecutor
+import java.util.concurrent.Semaphore
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.TimeoutException
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * Request/response calls to Unity, multiplexed over a single GameObject.
+ *
+ * Every call gets a correlation ID and is sent to the [CALL_METHOD] method of [receiver] with
+ * [DeliveryMode.Immediate]. Requests are length-prefixed fields, in the format of
+ * `MessageBatchEnvelope`, and several requests may be concatenated in one message:
+ *
+ * ```
+ * <length>:<callId><length>:<method><length>:<payload>
+ * ```
+ *
+ * Unity answers each request with a [COMPLETE_EVENT] or [FAIL_EVENT] custom event, sent like
+ * any other custom event and handed to the channel through `BridgeEvents`. The data of the
+ * event holds the receiver, the correlation ID and the answer, in the same format:
+ *
+ * ```
+ * <length>:<receiver><length>:<callId><length>:<answer>
+ * ```
+ *
+ * Unity is notified through [CANCEL_METHOD] of calls that were cancelled on the Android side.
+ * A matching receiver looks like this:
+ *
+ * ```csharp
+ * public class DrifterRpc : MonoBehaviour {
+ *   public void Call(string requests) {
+ *     var index = 0;
+ *     while (index < requests.Length) {
+ *       var callId = ReadField(requests, ref index);
+ *       var method = ReadField(requests, ref index);
+ *       var payload = ReadField(requests, ref index);
+ *       eventsProxy.Call(
+ *         "customEventReceived",
+ *         "drifter.rpc.complete",
+ *         Field(name) + Field(callId) + Field(Handle(method, payload)));
+ *     }
+ *   }
+ *
+ *   public void Cancel(string callId) { }
+ *
+ *   private static string Field(string value) => value.Length + ":" + value;
+ * }
+ * ```
+ *
+ * At most [maxInFlight] calls may be outstanding at once; further calls are rejected with a
+ * [RejectedExecutionException] instead of queueing without bound. Calls made before the Unity
+ * Player is ready are held by the channel and sent together on the first frame after it is.
+ *
+ * A [receiver] is served by a single open channel at a time, so that answers always reach the
+ * channel that made the call. [close] the channel to release its receiver.
+ *
+ * Note: Results are delivered on the thread Unity answers from. The timeout of a call is
+ * scheduled before its request is sent, so that an answer can never arrive before it.
+ *
+ * @param receiver The name of the Unity GameObject answering the calls.
+ * @param maxInFlight Maximum number of outstanding calls.
+ * @param defaultTimeoutMillis Timeout of calls that do not specify one, `0` to wait forever.
+ * @throws IllegalStateException If another open channel already serves [receiver].
+ */
+class UnityRpc(
+  private val receiver: String = DEFAULT_RECEIVER,
+  private val maxInFlight: Int = DEFAULT_MAX_IN_FLIGHT,
+  private val defaultTimeoutMillis: Long = DEFAULT_TIMEOUT_MILLIS,
+) : Closeable {
+
+  private class PendingCall(val onResult: (Result<String>) -> Unit) {
+    @Volatile
+    var timeout: ScheduledFuture<*>? = null
+  }
+
+  private val nextCallId = AtomicInteger()
+  private val calls = ConcurrentHashMap<Int, PendingCall>()
+  private val permits = Semaphore(maxInFlight)
+
+  private val lock = Any()
+  private val queued = StringBuilder()
+  private val frameListener = UnityFrameCallbacks.FrameListener { flushQueued() }
+
+  @Volatile
+  private var isClosed = false
+
+  init {
+    require(maxInFlight > 0) { "maxInFlight must be positive, was $maxInFlight" }
+    val open = channels.putIfAbsent(receiver, this)
+    check(open == null) { "A UnityRpc channel to $receiver is already open, close it first" }
+  }
+
+  /**
+   * Number of calls waiting for an answer.
+   */
+  val inFlightCount: Int
+    get() = calls.size
+
+  /**
+   * Calls [method] in Unity and suspends until it answers.
+   *
+   * Cancelling the coroutine cancels the call and notifies Unity.
+   *
+   * @param method The name of the method to call, as understood by the Unity receiver.
+   * @param payload The argument of the call.
+   * @param timeoutMillis Time to wait for the answer, `0` to wait forever.
+   * @return The answer of Unity.
+   * @throws TimeoutException If Unity does not answer within [timeoutMillis].
+   * @throws UnityRpcException If Unity reports that the call failed.
+   * @throws RejectedExecutionException If [maxInFlight] calls are already outstanding.
+   * @throws IllegalStateException If the channel is closed.
+   */
+  suspend fun call(
+    method: String,
+    payload: String,
+    timeoutMillis: Long = defaultTimeoutMillis,
+  ): String = suspendCancellableCoroutine { continuation ->
+    val callId = start(method, payload, timeoutMillis) { continuation.resumeWith(it) }
+    continuation.invokeOnCancellation { cancel(callId) }
+  }
+
+  /**
+   * Calls [method] in Unity and returns a future completed with its answer.
+   *
+   * Cancelling the future cancels the call and notifies Unity. The future fails with a
+   * [TimeoutException], a [UnityRpcException] or, when [maxInFlight] calls are already
+   * outstanding, a [RejectedExecutionException].
+   *
+   * @throws IllegalStateException If the channel is closed.
+   *
+   * @param method The name of the method to call, as understood by the Unity receiver.
+   * @param payload The argument of the call.
+   * @param timeoutMillis Time to wait for the answer, `0` to wait forever.
+   */
+  @RequiresApi(Build.VERSION_CODES.N)
+  @JvmOverloads
+  fun callAsync(
+    method: String,
+    payload: String,
+    timeoutMillis: Long = defaultTimeoutMillis,
+  ): CompletableFuture<String> {
+    val future = CompletableFuture<String>()
+    val callId = try {
+      start(method, payload, timeoutMillis) { result ->
+        result.fold(future::complete, future::completeExceptionally)
+      }
+    } catch (e: RejectedExecutionException) {
+      future.completeExceptionally(e)
+      return future
+    }
+    future.whenComplete { _, _ ->
+      if (future.isCancelled) cancel(callId)
+    }
+    return future
+  }
+
+  /**
+   * Cancels an outstanding call and notifies Unity.
+   *
+   * @param callId The correlation ID of the call.
+   * @return `false` if the call was already answered, cancelled or timed out.
+   */
+  fun cancel(callId: Int): Boolean {
+    val cancelled = finish(callId, Result.failure(CancellationException("Call $callId cancelled")))
+    if (cancelled) {
+      sendUncompressed(CANCEL_METHOD, callId.toString())
+    }
+    return cancelled
+  }
+
+  /**
+   * Closes the channel: outstanding calls fail with a [CancellationException], calls that were
+   * not sent yet are dropped and [receiver] is released for a new channel. Closing a closed
+   * channel has no effect.
+   */
+  override fun close() {
+    synchronized(lock) {
+      if (isClosed) return
+      isClosed = true
+      queued.setLength(0)
+      UnityFrameCallbacks.removeFrameListener(frameListener)
+    }
+    channels.remove(receiver, this)
+    for (callId in calls.keys) {
+      finish(callId, Result.failure(CancellationException("Channel to $receiver closed")))
+    }
+  }
+
+  private fun start(
+    method: String,
+    payload: String,
+    timeoutMillis: Long,
+    onResult: (Result<String>) -> Unit,
+  ): Int {
+    check(!isClosed) { "The UnityRpc channel to $receiver is closed" }
+    if (!permits.tryAcquire()) {
+      throw RejectedExecutionException("$maxInFlight calls to $receiver are already in flight")
+    }
+    val callId = nextCallId.incrementAndGet()
+    val call = PendingCall(onResult)
+    calls[callId] = call
+    if (timeoutMillis > 0) {
+      call.timeout = timeouts.schedule(
+        {
+          finish(callId, Result.failure(TimeoutException("Call $callId to $method timed out")))
+        },
+        timeoutMillis,
+        TimeUnit.MILLISECONDS,
+      )
+    }
+    try {
+      send(StringBuilder().appendRequest(callId, method, payload).toString())
+    } catch (e: RuntimeException) {
+      finish(callId, Result.failure(e))
+    }
+    return callId
+  }
+
+  private fun finish(callId: Int, result: Result<String>): Boolean {
+    val call = calls.remove(callId) ?: return false
+    permits.release()
+    call.timeout?.cancel(false)
+    call.onResult(result)
+    return true
+  }
+
+  private fun send(request: String) {
+    val sendNow = synchronized(lock) {
+      check(!isClosed) { "The UnityRpc channel to $receiver is closed" }
+      if (queued.isEmpty() && UnityEngine.releasePreInitBuffer()) {
+        true
+      } else {
+        if (queued.isEmpty()) UnityFrameCallbacks.addFrameListener(frameListener)
+        queued.append(request)
+        false
+      }
+    }
+    if (sendNow) sendUncompressed(CALL_METHOD, request)
+  }
+
+  /**
+   * Sends the calls made before the Unity Player was ready, once it is.
+   */
+  private fun flushQueued() {
+    if (!UnityEngine.releasePreInitBuffer()) return
+    val requests = synchronized(lock) {
+      val requests = queued.toString()
+      queued.setLength(0)
+      UnityFrameCallbacks.removeFrameListener(frameListener)
+      requests
+    }
+    if (requests.isNotEmpty()) sendUncompressed(CALL_METHOD, requests)
+  }
+
+  private fun sendUncompressed(methodName: String, funcParam: String) {
+    UnityEngine.sendUncompressed(receiver, methodName, funcParam, DeliveryMode.Immediate)
+  }
+
+  private fun StringBuilder.appendRequest(callId: Int, method: String, payload: String) = apply {
+    appendField(callId.toString())
+    appendField(method)
+    appendField(payload)
+  }
+
+  private fun StringBuilder.appendField(field: String) {
+    append(field.length).append(LENGTH_SEPARATOR).append(field)
+  }
+
+  companion object {
+
+    /**
+     * Default name of the Unity GameObject answering the calls.
+     */
+    const val DEFAULT_RECEIVER = "DrifterRpc"
+
+    /**
+     * Name of the method receiving the requests.
+     */
+    const val CALL_METHOD = "Call"
+
+    /**
+     * Name of the method notified of cancelled calls, with the correlation ID as parameter.
+     */
+    const val CANCEL_METHOD = "Cancel"
+
+    /**
+     * Name of the custom event completing a call with the answer of Unity.
+     */
+    const val COMPLETE_EVENT = "drifter.rpc.complete"
+
+    /**
+     * Name of the custom event failing a call with an error reported by Unity, surfaced as a
+     * [UnityRpcException].
+     */
+    const val FAIL_EVENT = "drifter.rpc.fail"
+
+    const val DEFAULT_MAX_IN_FLIGHT = 64
+
+    const val DEFAULT_TIMEOUT_MILLIS = 5_000L
+
+    private const val LENGTH_SEPARATOR = ':'
+
+    private val channels = ConcurrentHashMap<String, UnityRpc>()
+
+    private val timeouts by lazy {
+      ScheduledThreadPoolExecutor(1) { runnable ->
+        Thread(runnable, "UnityRpcTimeouts").apply { isDaemon = true }
+      }.apply { removeOnCancelPolicy = true }
+    }
+
+    init {
+      BridgeEvents.setHandler(COMPLETE_EVENT) { answer(it, failed = false) }
+      BridgeEvents.setHandler(FAIL_EVENT) { answer(it, failed = true) }
+    }
+
+    /**
+     * Completes or fails a call with the data of a [COMPLETE_EVENT] or [FAIL_EVENT]. Malformed
+     * answers and answers to calls that were already finished are ignored.
+     */
+    private fun answer(eventData: String, failed: Boolean) {
+      val fields = readFields(eventData) ?: return
+      val callId = fields[1].toIntOrNull() ?: return
+      val channel = channels[fields[0]] ?: return
+      val result = if (failed) {
+        Result.failure(UnityRpcException(fields[2]))
+      } else {
+        Result.success(fields[2])
+      }
+      channel.finish(callId, result)
+    }
+
+    /**
+     * Reads the three length-prefixed fields of an answer, or returns `null` if it is malformed.
+     */
+    private fun readFields(data: String): List<String>? {
+      val fields = ArrayList<String>(3)
+      var index = 0
+      repeat(3) {
+        val separator = data.indexOf(LENGTH_SEPARATOR, index)
+        if (separator < 0) return null
+        val length = data.substring(index, separator).toIntOrNull() ?: return null
+        val end = separator + 1 + length
+        if (length < 0 || end > data.length) return null
+        fields += data.substring(separator + 1, end)
+        index = end
+      }
+      return fields
+    }
+  }
+}
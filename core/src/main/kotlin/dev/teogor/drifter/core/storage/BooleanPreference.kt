@@ -0,0 +1,52 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.core.storage
+
+import android.content.SharedPreferences
+import kotlin.reflect.KProperty
+
+/**
+ * A non-null `Boolean` PlayerPrefs value, cached without boxing.
+ *
+ * Booleans are stored as `1` and `0`, like Unity stores them.
+ *
+ * @param defaultValue The value returned while [key] is not stored.
+ */
+class BooleanPreference internal constructor(
+  preferences: SharedPreferences,
+  key: String,
+  private val defaultValue: Boolean,
+) : CachedPreference(preferences, key) {
+
+  private var value = defaultValue
+
+  operator fun getValue(thisRef: Any?, property: KProperty<*>): Boolean {
+    val version = staleVersion()
+    if (version != UP_TO_DATE) {
+      value = preferences.getInt(key, if (defaultValue) 1 else 0) == 1
+      markCached(version)
+    }
+    return value
+  }
+
+  operator fun setValue(thisRef: Any?, property: KProperty<*>, value: Boolean) {
+    val version = currentVersion()
+    preferences.edit().putInt(key, if (value) 1 else 0).apply()
+    this.value = value
+    markCached(version)
+  }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.core.storage
+
+import android.content.SharedPreferences
+import dev.teogor.drifter.core.Serializable
+import dev.teogor.drifter.integration.core.PlayerPrefs
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Base class of the `*Storage` classes generated for every `DrifterModule`.
+ *
+ * Each property delegates to a [CachedPreference] that decodes its PlayerPrefs value once and
+ * keeps it in memory. The cache of a key is only invalidated when [SharedPreferences] reports
+ * that the key changed, whether the change comes from this class, from another storage or from
+ * Unity, so reads are field loads instead of a lookup and a parse.
+ *
+ * Values are stored the way [dev.teogor.drifter.core.UnityPlayerPrefs] stores them: booleans
+ * as `1` and `0`, enums as their ordinal and other objects as the string of a [Serializable].
+ *
+ * Non-null primitives are cached unboxed by [IntPreference], [LongPreference],
+ * [FloatPreference] and [BooleanPreference]. Nullable primitives fall back to the generic
+ * [ValuePreference], since an `Int?` property boxes its value anyway.
+ */
+abstract class CachedPlayerPrefs {
+
+  private val preferences: SharedPreferences = PlayerPrefs.instance.sharedPreferences
+
+  private val cachedPreferences = ConcurrentHashMap<String, CachedPreference>()
+
+  // Kept in a field since SharedPreferences only holds weak references to its listeners.
+  private val changeListener = SharedPreferences.OnSharedPreferenceChangeListener { _, key ->
+    if (key == null) {
+      cachedPreferences.values.forEach { it.invalidate() }
+    } else {
+      cachedPreferences[key]?.invalidate()
+    }
+  }
+
+  init {
+    preferences.registerOnSharedPreferenceChangeListener(changeListener)
+  }
+
+  protected fun intPreference(key: String, defaultValue: Int): IntPreference {
+    return register(IntPreference(preferences, key, defaultValue))
+  }
+
+  protected fun longPreference(key: String, defaultValue: Long): LongPreference {
+    return register(LongPreference(preferences, key, defaultValue))
+  }
+
+  protected fun floatPreference(key: String, defaultValue: Float): FloatPreference {
+    return register(FloatPreference(preferences, key, defaultValue))
+  }
+
+  protected fun booleanPreference(key: String, defaultValue: Boolean): BooleanPreference {
+    return register(BooleanPreference(preferences, key, defaultValue))
+  }
+
+  protected fun nullableIntPreference(key: String, defaultValue: Int?): ValuePreference<Int?> {
+    return valuePreference(
+      key = key,
+      defaultValue = defaultValue,
+      read = { if (contains(it)) getInt(it, 0) else null },
+      write = { preferenceKey, value -> putInt(preferenceKey, value) },
+    )
+  }
+
+  protected fun nullableLongPreference(key: String, defaultValue: Long?): ValuePreference<Long?> {
+    return valuePreference(
+      key = key,
+      defaultValue = defaultValue,
+      read = { if (contains(it)) getLong(it, 0L) else null },
+      write = { preferenceKey, value -> putLong(preferenceKey, value) },
+    )
+  }
+
+  protected fun nullableFloatPreference(
+    key: String,
+    defaultValue: Float?,
+  ): ValuePreference<Float?> {
+    return valuePreference(
+      key = key,
+      defaultValue = defaultValue,
+      read = { if (contains(it)) getFloat(it, 0f) else null },
+      write = { preferenceKey, value -> putFloat(preferenceKey, value) },
+    )
+  }
+
+  protected fun nullableBooleanPreference(
+    key: String,
+    defaultValue: Boolean?,
+  ): ValuePreference<Boolean?> {
+    return valuePreference(
+      key = key,
+      defaultValue = defaultValue,
+      read = { if (contains(it)) getInt(it, 0) == 1 else null },
+      write = { preferenceKey, value -> putInt(preferenceKey, if (value) 1 else 0) },
+    )
+  }
+
+  @Suppress("UNCHECKED_CAST")
+  protected fun <T : String?> stringPreference(key: String, defaultValue: T): ValuePreference<T> {
+    return valuePreference(
+      key = key,
+      defaultValue = defaultValue,
+      read = { getString(it, null) as T? },
+      write = { preferenceKey, value -> putString(preferenceKey, value) },
+    )
+  }
+
+  @Suppress("UNCHECKED_CAST")
+  protected fun <E : Enum<E>, T : E?> enumPreference(
+    key: String,
+    defaultValue: T,
+    entries: List<E>,
+  ): ValuePreference<T> {
+    return valuePreference(
+      key = key,
+      defaultValue = defaultValue,
+      read = { if (contains(it)) entries.getOrNull(getInt(it, 0)) as T? else null },
+      write = { preferenceKey, value -> putInt(preferenceKey, value.ordinal) },
+    )
+  }
+
+  protected fun <T> preference(
+    key: String,
+    defaultValue: T,
+    converter: Serializable<T & Any>,
+  ): ValuePreference<T> {
+    return valuePreference(
+      key = key,
+      defaultValue = defaultValue,
+      read = { getString(it, null)?.let(converter::decodeFromStringImpl) },
+      write = { preferenceKey, value ->
+        putString(preferenceKey, converter.encodeToStringImpl(value))
+      },
+    )
+  }
+
+  private fun <T> valuePreference(
+    key: String,
+    defaultValue: T,
+    read: SharedPreferences.(key: String) -> T?,
+    write: SharedPreferences.Editor.(key: String, value: T & Any) -> Unit,
+  ): ValuePreference<T> {
+    return register(ValuePreference(preferences, key, defaultValue, read, write))
+  }
+
+  private fun <P : CachedPreference> register(preference: P): P {
+    cachedPreferences[preference.key] = preference
+    return preference
+  }
+}
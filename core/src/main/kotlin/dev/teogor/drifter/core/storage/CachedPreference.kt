@@ -0,0 +1,68 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.core.storage
+
+import android.content.SharedPreferences
+
+/**
+ * A PlayerPrefs value cached in memory by a [CachedPlayerPrefs].
+ *
+ * The cached value is only read again from [SharedPreferences] after [key] changed, which bumps
+ * the version of the preference. A read racing with a change keeps the version it started with,
+ * so the new value is read on the next access.
+ *
+ * @property key The PlayerPrefs key of the value.
+ */
+abstract class CachedPreference internal constructor(
+  internal val preferences: SharedPreferences,
+  val key: String,
+) {
+
+  @Volatile
+  private var version = 0
+
+  @Volatile
+  private var cachedVersion = UP_TO_DATE
+
+  /**
+   * Marks the cached value as stale.
+   *
+   * Note: Called from the main thread, where `SharedPreferences` notifies its listeners.
+   */
+  internal fun invalidate() {
+    version = (version + 1) and Int.MAX_VALUE
+  }
+
+  /**
+   * Returns the version to pass to [markCached] once the value is read, or [UP_TO_DATE] if the
+   * cached value can be used.
+   */
+  internal fun staleVersion(): Int {
+    val current = version
+    return if (cachedVersion == current) UP_TO_DATE else current
+  }
+
+  internal fun currentVersion(): Int = version
+
+  internal fun markCached(version: Int) {
+    cachedVersion = version
+  }
+
+  internal companion object {
+    const val UP_TO_DATE = -1
+  }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.core.storage
+
+import android.content.SharedPreferences
+import kotlin.reflect.KProperty
+
+/**
+ * A non-null `Float` PlayerPrefs value, cached without boxing.
+ *
+ * @param defaultValue The value returned while [key] is not stored.
+ */
+class FloatPreference internal constructor(
+  preferences: SharedPreferences,
+  key: String,
+  private val defaultValue: Float,
+) : CachedPreference(preferences, key) {
+
+  private var value = defaultValue
+
+  operator fun getValue(thisRef: Any?, property: KProperty<*>): Float {
+    val version = staleVersion()
+    if (version != UP_TO_DATE) {
+      value = preferences.getFloat(key, defaultValue)
+      markCached(version)
+    }
+    return value
+  }
+
+  operator fun setValue(thisRef: Any?, property: KProperty<*>, value: Float) {
+    val version = currentVersion()
+    preferences.edit().putFloat(key, value).apply()
+    this.value = value
+    markCached(version)
+  }
+}
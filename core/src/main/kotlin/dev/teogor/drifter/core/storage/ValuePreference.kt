@@ -0,0 +1,66 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.core.storage
+
+import android.content.SharedPreferences
+import kotlin.reflect.KProperty
+
+/**
+ * A PlayerPrefs value decoded once and cached until [key] changes.
+ *
+ * Setting `null` removes [key], after which [defaultValue] is returned.
+ *
+ * Used for strings, enums, serialized objects and nullable primitives, whose cached value is
+ * boxed. Non-null primitives use the unboxed [IntPreference], [LongPreference],
+ * [FloatPreference] and [BooleanPreference] instead.
+ *
+ * @param defaultValue The value returned while [key] is not stored.
+ * @param read Reads the stored value, or returns `null` if [key] is not stored.
+ * @param write Stores a non-null value.
+ */
+class ValuePreference<T> internal constructor(
+  preferences: SharedPreferences,
+  key: String,
+  private val defaultValue: T,
+  private val read: SharedPreferences.(key: String) -> T?,
+  private val write: SharedPreferences.Editor.(key: String, value: T & Any) -> Unit,
+) : CachedPreference(preferences, key) {
+
+  private var value = defaultValue
+
+  operator fun getValue(thisRef: Any?, property: KProperty<*>): T {
+    val version = staleVersion()
+    if (version != UP_TO_DATE) {
+      value = preferences.read(key) ?: defaultValue
+      markCached(version)
+    }
+    return value
+  }
+
+  operator fun setValue(thisRef: Any?, property: KProperty<*>, value: T) {
+    val version = currentVersion()
+    val editor = preferences.edit()
+    if (value == null) {
+      editor.remove(key)
+    } else {
+      editor.write(key, value)
+    }
+    editor.apply()
+    this.value = value ?: defaultValue
+    markCached(version)
+  }
+}
@@ -87,4 +87,6 @@ dependencies {
 
 ksp {
   logging.captureStandardError(LogLevel.INFO)
+  arg("drifter.generateStreamingJson", "true")
+  arg("drifter.generateDeltaSync", "true")
 }
@@ -18,10 +18,12 @@ package dev.teogor.drifter.demo
 
 import androidx.compose.ui.graphics.Color
 import androidx.compose.ui.graphics.toArgb
+import dev.teogor.drifter.DrifterDelivery
 import dev.teogor.drifter.DrifterEncoder
 import dev.teogor.drifter.DrifterMappingKey
 import dev.teogor.drifter.DrifterModule
 import dev.teogor.drifter.DrifterUnityMethod
+import dev.teogor.drifter.core.createSerializable
 import dev.teogor.drifter.demo.models.CycleOption
 
 @DrifterModule(
@@ -34,6 +36,9 @@ data class AquariumModule(
     exposedMethod = "SetEditorMode",
   )
   val isEditorMode: Boolean? = null,
+  @DrifterMappingKey(
+    delivery = DrifterDelivery.Coalesced,
+  )
   val waterColor: Color? = null,
   val animated: Boolean? = null,
   val cycleOption: CycleOption,
@@ -56,3 +61,8 @@ interface AquariumMethods {
 
 @DrifterEncoder
 fun Color.encodeFromColor() = toArgb()
+
+val ColorConverter = createSerializable(
+  encodeToString = { color: Color -> color.toArgb().toString() },
+  decodeFromString = { string -> Color(string.toInt()) },
+)
@@ -55,6 +55,7 @@ import androidx.compose.ui.unit.dp
 import androidx.lifecycle.Lifecycle
 import dev.teogor.ceres.core.common.utils.OnLifecycleEvent
 import dev.teogor.drifter.compose.UnityEngineView
+import dev.teogor.drifter.demo.models.CycleOption
 import dev.teogor.drifter.demo.ui.theme.UnityViewTheme
 import dev.teogor.drifter.wallpaper.LiveWallpaperUtility
 
@@ -83,7 +84,19 @@ class MainActivity : ComponentActivity() {
               val context = LocalContext.current
 
               val controller = AquariumMessageSender()
-              val storage = AquariumStorage()
+              val storage = remember {
+                AquariumStorage(
+                  defaults = AquariumModule(
+                    waterColor = Color(0xFF6FA3EF),
+                    cycleOption = CycleOption.Day,
+                    statusBarColor = Color.Transparent,
+                    statusBarIsVisible = true,
+                    statusBarOpacity = 1f,
+                    statusBarHeight = 0,
+                  ),
+                  colorConverter = ColorConverter,
+                )
+              }
 
               UnityEngineView(
                 modifier = Modifier
@@ -96,7 +109,7 @@ class MainActivity : ComponentActivity() {
                 onUnityEngineCreated = {
                   controller.apply {
                     setEditorMode(true)
-                    animateToWaterColor(storage.waterColor, false)
+                    storage.waterColor?.let { animateToWaterColor(it, false) }
                     cycleOption(storage.cycleOption)
                   }
                 },
@@ -155,7 +168,7 @@ fun UnityColorPicker(
   var selectedColor by remember {
     val color = storage.waterColor
     mutableStateOf(
-      if (color == Color.Unspecified || !colors.contains(color)) {
+      if (color == null || color == Color.Unspecified || !colors.contains(color)) {
         colors[0]
       } else {
         color
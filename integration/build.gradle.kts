@@ -48,6 +48,8 @@ dependencies {
   implementation(libs.androidx.startup.runtime)
   implementation(libs.gson)
   implementation(libs.appcompat)
+
+  testImplementation(libs.junit)
 }
 
 winds {
@@ -0,0 +1,5 @@
+# Generated message serializers are located by the name of the message they handle.
+-keepnames class * extends dev.teogor.drifter.integration.core.Message
+-keep class * implements dev.teogor.drifter.integration.core.MessageSerializer {
+  public static ** INSTANCE;
+}
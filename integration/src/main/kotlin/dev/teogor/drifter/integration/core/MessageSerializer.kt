@@ -0,0 +1,39 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.integration.core
+
+import dev.teogor.drifter.unity.common.json.UnityJsonWriter
+
+/**
+ * Writes a [Message] as JSON without reflection.
+ *
+ * Implementations are generated by the Drifter KSP processor for every [Message] subclass, as
+ * an `object` named after the message with the `MessageSerializer` suffix, and picked up by
+ * [MessageSerializers].
+ *
+ * @param T The type of message handled by this serializer.
+ */
+interface MessageSerializer<in T : Message> {
+
+  /**
+   * Writes [message] as a JSON object into [writer].
+   *
+   * @param message The message to write.
+   * @param writer The writer receiving the JSON document.
+   */
+  fun write(message: T, writer: UnityJsonWriter)
+}
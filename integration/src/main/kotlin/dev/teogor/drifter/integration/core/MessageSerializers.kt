@@ -0,0 +1,95 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.integration.core
+
+import com.google.gson.Gson
+import dev.teogor.drifter.unity.common.json.UnityJsonWriter
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Resolves the [MessageSerializer] of a [Message] and encodes messages with it.
+ *
+ * Generated serializers are located once per message class, by name, and cached. Messages
+ * without a generated serializer fall back to a shared [Gson] instance.
+ */
+object MessageSerializers {
+
+  private const val SERIALIZER_SUFFIX = "MessageSerializer"
+
+  private val serializers = ConcurrentHashMap<Class<*>, Any>()
+
+  private val missing = Any()
+
+  private val gson by lazy { Gson() }
+
+  /**
+   * Registers [serializer] for [type], taking precedence over the generated serializer.
+   *
+   * @param type The message class.
+   * @param serializer The serializer to use for [type].
+   */
+  fun <T : Message> register(type: Class<T>, serializer: MessageSerializer<T>) {
+    serializers[type] = serializer
+  }
+
+  /**
+   * Returns the serializer for [type], or `null` if the class has none and is encoded with
+   * [Gson].
+   *
+   * @param type The message class.
+   */
+  @Suppress("UNCHECKED_CAST")
+  fun serializerFor(type: Class<out Message>): MessageSerializer<Message>? {
+    val serializer = serializers.getOrPut(type) { findGeneratedSerializer(type) ?: missing }
+    return if (serializer === missing) null else serializer as MessageSerializer<Message>
+  }
+
+  /**
+   * Encodes [message] as a JSON string.
+   *
+   * @param message The message to encode.
+   */
+  fun toJson(message: Message): String {
+    val serializer = serializerFor(message.javaClass) ?: return gson.toJson(message)
+    val writer = UnityJsonWriter.obtain()
+    serializer.write(message, writer)
+    return writer.toString()
+  }
+
+  /**
+   * Encodes [message] as UTF-8 JSON bytes, ready to be sent to the Unity Player.
+   *
+   * @param message The message to encode.
+   */
+  fun toByteArray(message: Message): ByteArray {
+    val serializer = serializerFor(message.javaClass)
+      ?: return gson.toJson(message).toByteArray(Charsets.UTF_8)
+    val writer = UnityJsonWriter.obtain()
+    serializer.write(message, writer)
+    return writer.toByteArray()
+  }
+
+  private fun findGeneratedSerializer(type: Class<*>): Any? {
+    val packagePrefix = type.`package`?.name?.let { "$it." }.orEmpty()
+    val simpleNames = type.name.removePrefix(packagePrefix).replace('$', '_')
+    return runCatching {
+      Class.forName("$packagePrefix$simpleNames$SERIALIZER_SUFFIX", true, type.classLoader)
+        .getField("INSTANCE")
+        .get(null)
+    }.getOrNull()
+  }
+}
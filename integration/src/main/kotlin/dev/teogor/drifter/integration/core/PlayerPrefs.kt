@@ -23,7 +23,10 @@ import dev.teogor.drifter.integration.initializer.ActivityContextProvider.applic
 open class PlayerPrefs protected constructor() {
   private val keySharedPrefs: String = applicationContext.packageName + ".v2.playerprefs"
 
-  private val sharedPreferences: SharedPreferences
+  /**
+   * The [SharedPreferences] holding the Unity PlayerPrefs, shared with the Unity Player.
+   */
+  val sharedPreferences: SharedPreferences
     get() = applicationContext.getSharedPreferences(keySharedPrefs, Context.MODE_PRIVATE)
 
   operator fun contains(key: String?): Boolean {
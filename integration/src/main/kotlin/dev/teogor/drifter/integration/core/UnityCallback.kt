@@ -16,11 +16,26 @@
 
 package dev.teogor.drifter.integration.core
 
+/**
+ * Marks a function that Unity calls back into Android.
+ *
+ * The Drifter KSP processor collects the annotated top-level functions and `object` members,
+ * numbers them and generates a [UnityCallbackDispatcher] that invokes them through an integer
+ * switch. Once the dispatcher is installed with [UnityCallbacks.install], C# reaches every
+ * callback through the single static [UnityCallbacks.dispatch] method, without reflection or an
+ * `AndroidJavaProxy` per call.
+ *
+ * Callbacks take either no parameter or a single `String` payload, and return either `Unit` or
+ * a `String` handed back to C#.
+ *
+ * @param id Identifier used by C# to invoke the callback. Callbacks that keep the default get
+ * the non-negative hash code of their fully qualified name, which stays the same when other
+ * callbacks are added or removed but changes when the function is renamed or moved. Two
+ * callbacks sharing an identifier fail the build.
+ */
 @Suppress("unused")
 @Retention(AnnotationRetention.RUNTIME)
-@Target(
-  AnnotationTarget.FUNCTION,
-  AnnotationTarget.PROPERTY_GETTER,
-  AnnotationTarget.PROPERTY_SETTER,
+@Target(AnnotationTarget.FUNCTION)
+annotation class UnityCallback(
+  val id: Int = -1,
 )
-annotation class UnityCallback
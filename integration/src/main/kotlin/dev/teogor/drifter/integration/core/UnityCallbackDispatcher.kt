@@ -0,0 +1,42 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.integration.core
+
+/**
+ * Invokes the [UnityCallback] functions of an application by identifier.
+ *
+ * The implementation is generated by the Drifter KSP processor as the
+ * `DrifterUnityCallbackDispatcher` object of each module, with one constant per callback, and
+ * installed with [UnityCallbacks.install].
+ */
+interface UnityCallbackDispatcher {
+
+  /**
+   * The identifiers of the callbacks this dispatcher invokes.
+   */
+  val callbackIds: IntArray
+
+  /**
+   * Invokes the callback registered under [callbackId].
+   *
+   * @param callbackId The identifier of the callback.
+   * @param payload The payload sent by Unity, ignored by callbacks without parameter.
+   * @return The value returned by the callback, or `null` for callbacks returning `Unit`.
+   * @throws IllegalArgumentException If no callback is registered under [callbackId].
+   */
+  fun dispatch(callbackId: Int, payload: String): String?
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.integration.core
+
+/**
+ * Static entry point for callbacks from Unity to Android.
+ *
+ * C# resolves [dispatch] once and invokes it for every callback, passing the identifier
+ * generated for the [UnityCallback] function together with its payload:
+ *
+ * ```csharp
+ * public static class DrifterCallbacks {
+ *   private static readonly AndroidJavaClass callbacks =
+ *     new AndroidJavaClass("dev.teogor.drifter.integration.core.UnityCallbacks");
+ *
+ *   public static string Invoke(int callbackId, string payload) {
+ *     return callbacks.CallStatic<string>("dispatch", callbackId, payload);
+ *   }
+ * }
+ * ```
+ */
+object UnityCallbacks {
+
+  private val lock = Any()
+
+  /**
+   * Installed dispatchers, found by a binary search over their sorted identifiers so that
+   * [dispatch] does not box the identifier.
+   */
+  @Volatile
+  private var routes = Routes(IntArray(0), emptyArray())
+
+  /**
+   * Installs a generated dispatcher. Every module declaring [UnityCallback] functions generates
+   * its own dispatcher, and all of them are installed side by side: each callback is routed to
+   * the dispatcher that declares it. Installing the same dispatcher again has no effect.
+   *
+   * @param dispatcher The generated dispatcher.
+   * @throws IllegalStateException If another installed dispatcher already declares one of the
+   * identifiers of [dispatcher].
+   */
+  fun install(dispatcher: UnityCallbackDispatcher) {
+    synchronized(lock) {
+      val installed = routes
+      var callbackIds = installed.callbackIds
+      var dispatchers = installed.dispatchers
+      for (callbackId in dispatcher.callbackIds) {
+        val index = callbackIds.binarySearch(callbackId)
+        if (index >= 0) {
+          val previous = dispatchers[index]
+          check(previous === dispatcher) {
+            "Unity callback id $callbackId is declared by both $previous and $dispatcher."
+          }
+          continue
+        }
+        val insertion = -index - 1
+        val previousIds = callbackIds
+        val previousDispatchers = dispatchers
+        callbackIds = IntArray(previousIds.size + 1) { i ->
+          when {
+            i < insertion -> previousIds[i]
+            i == insertion -> callbackId
+            else -> previousIds[i - 1]
+          }
+        }
+        dispatchers = Array(previousDispatchers.size + 1) { i ->
+          when {
+            i < insertion -> previousDispatchers[i]
+            i == insertion -> dispatcher
+            else -> previousDispatchers[i - 1]
+          }
+        }
+      }
+      routes = Routes(callbackIds, dispatchers)
+    }
+  }
+
+  /**
+   * Invokes the callback registered under [callbackId].
+   *
+   * Note: Called by Unity through JNI.
+   *
+   * @param callbackId The identifier of the callback.
+   * @param payload The payload sent by Unity.
+   * @return The value returned by the callback, or `null` for callbacks returning `Unit`.
+   * @throws IllegalArgumentException If no installed dispatcher declares [callbackId].
+   */
+  @JvmStatic
+  fun dispatch(callbackId: Int, payload: String): String? {
+    val routes = routes
+    val index = routes.callbackIds.binarySearch(callbackId)
+    require(index >= 0) {
+      "No UnityCallbackDispatcher installed for Unity callback id $callbackId, call " +
+        "UnityCallbacks.install first."
+    }
+    return routes.dispatchers[index].dispatch(callbackId, payload)
+  }
+
+  /**
+   * Installed dispatchers, at the index of the identifier they declare in [callbackIds].
+   */
+  private class Routes(
+    val callbackIds: IntArray,
+    val dispatchers: Array<UnityCallbackDispatcher>,
+  )
+}
@@ -16,8 +16,8 @@
 
 package dev.teogor.drifter.integration.core
 
-import dev.teogor.drifter.integration.utilities.asString
-import dev.teogor.drifter.unity.common.LocalUnityEngine
+import dev.teogor.drifter.unity.common.UnityEngine
+import dev.teogor.drifter.unity.common.metrics.BridgeMetrics
 
 class UnityDispatcher(
   val gameObject: String,
@@ -26,10 +26,12 @@ class UnityDispatcher(
 ) {
 
   init {
-    LocalUnityEngine.current.sendMessage(
-      gameObject,
-      functionName,
-      functionParameter.asString,
-    )
+    val isMeasured = BridgeMetrics.isEnabled
+    val start = if (isMeasured) System.nanoTime() else 0L
+    val data = MessageSerializers.toByteArray(functionParameter)
+    if (isMeasured) {
+      BridgeMetrics.recordSerialization(System.nanoTime() - start)
+    }
+    UnityEngine.sendMessage(gameObject, functionName, data)
   }
 }
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.integration.model
+
+import dev.teogor.drifter.integration.core.MessageSerializer
+import dev.teogor.drifter.unity.common.json.UnityJsonWriter
+
+/**
+ * [MessageSerializer] for [Vector2], matching the serializers generated by the Drifter KSP
+ * processor for application messages.
+ */
+object Vector2MessageSerializer : MessageSerializer<Vector2> {
+
+  override fun write(message: Vector2, writer: UnityJsonWriter) {
+    writer.beginObject()
+    writer.name("x").value(message.x)
+    writer.name("y").value(message.y)
+    writer.endObject()
+  }
+}
@@ -17,12 +17,12 @@
 package dev.teogor.drifter.integration.utilities
 
 import android.view.MotionEvent
-import com.google.gson.Gson
 import dev.teogor.drifter.integration.core.Message
+import dev.teogor.drifter.integration.core.MessageSerializers
 import dev.teogor.drifter.integration.model.Vector2
 
 val MotionEvent.asVector2: Vector2
   get() = Vector2.asVector(this)
 
 inline val Message.asString: String
-  get() = Gson().toJson(this)
+  get() = MessageSerializers.toJson(this)
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.integration.core
+
+import dev.teogor.drifter.integration.model.Vector2
+import dev.teogor.drifter.integration.model.Vector2MessageSerializer
+import dev.teogor.drifter.unity.common.json.UnityJsonWriter
+import org.junit.Assert.assertArrayEquals
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertSame
+import org.junit.Test
+
+class MessageSerializersTest {
+
+  @Test
+  fun findsTheSerializerNamedAfterTheMessage() {
+    assertSame(Vector2MessageSerializer, MessageSerializers.serializerFor(Vector2::class.java))
+  }
+
+  @Test
+  fun encodesWithTheSerializer() {
+    val message = Vector2(x = 1.5f, y = -2f)
+
+    assertEquals("""{"x":1.5,"y":-2}""", MessageSerializers.toJson(message))
+    assertArrayEquals(
+      """{"x":1.5,"y":-2}""".toByteArray(Charsets.UTF_8),
+      MessageSerializers.toByteArray(message),
+    )
+  }
+
+  @Test
+  fun registeredSerializerTakesPrecedence() {
+    MessageSerializers.register(Ping::class.java, PingSerializer)
+
+    assertSame(PingSerializer, MessageSerializers.serializerFor(Ping::class.java))
+    assertEquals("""{"ping":true}""", MessageSerializers.toJson(Ping()))
+  }
+
+  @Test
+  fun fallsBackToGsonWithoutSerializer() {
+    assertNull(MessageSerializers.serializerFor(Pong::class.java))
+    assertEquals("""{"count":3}""", MessageSerializers.toJson(Pong(count = 3)))
+  }
+
+  private class Ping : Message()
+
+  private class Pong(val count: Int) : Message()
+
+  private object PingSerializer : MessageSerializer<Ping> {
+    override fun write(message: Ping, writer: UnityJsonWriter) {
+      writer.beginObject().name("ping").value(true).endObject()
+    }
+  }
+}
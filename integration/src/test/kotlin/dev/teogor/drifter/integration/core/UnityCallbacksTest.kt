@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.integration.core
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertThrows
+import org.junit.Test
+
+class UnityCallbacksTest {
+
+  private class FakeDispatcher(
+    override val callbackIds: IntArray,
+    private val name: String,
+  ) : UnityCallbackDispatcher {
+
+    override fun dispatch(callbackId: Int, payload: String): String? {
+      return if (payload.isEmpty()) null else "$name:$callbackId:$payload"
+    }
+  }
+
+  @Test
+  fun routesEveryIdToTheDispatcherDeclaringIt() {
+    UnityCallbacks.install(FakeDispatcher(intArrayOf(1001, 1002), "first"))
+    UnityCallbacks.install(FakeDispatcher(intArrayOf(1003), "second"))
+
+    assertEquals("first:1002:value", UnityCallbacks.dispatch(1002, "value"))
+    assertEquals("second:1003:value", UnityCallbacks.dispatch(1003, "value"))
+    assertNull(UnityCallbacks.dispatch(1001, ""))
+  }
+
+  @Test
+  fun routesIdsInstalledOutOfOrder() {
+    UnityCallbacks.install(FakeDispatcher(intArrayOf(5003, 5001), "first"))
+    UnityCallbacks.install(FakeDispatcher(intArrayOf(5002, 5004), "second"))
+
+    assertEquals("first:5001:value", UnityCallbacks.dispatch(5001, "value"))
+    assertEquals("second:5002:value", UnityCallbacks.dispatch(5002, "value"))
+    assertEquals("first:5003:value", UnityCallbacks.dispatch(5003, "value"))
+    assertEquals("second:5004:value", UnityCallbacks.dispatch(5004, "value"))
+  }
+
+  @Test
+  fun installingTheSameDispatcherTwiceHasNoEffect() {
+    val dispatcher = FakeDispatcher(intArrayOf(2001), "same")
+    UnityCallbacks.install(dispatcher)
+    UnityCallbacks.install(dispatcher)
+
+    assertEquals("same:2001:value", UnityCallbacks.dispatch(2001, "value"))
+  }
+
+  @Test
+  fun rejectsDispatchersDeclaringAnInstalledId() {
+    UnityCallbacks.install(FakeDispatcher(intArrayOf(3001), "first"))
+
+    assertThrows(IllegalStateException::class.java) {
+      UnityCallbacks.install(FakeDispatcher(intArrayOf(3002, 3001), "second"))
+    }
+    assertThrows(IllegalArgumentException::class.java) {
+      UnityCallbacks.dispatch(3002, "value")
+    }
+  }
+
+  @Test
+  fun rejectsUnknownIds() {
+    assertThrows(IllegalArgumentException::class.java) {
+      UnityCallbacks.dispatch(Int.MAX_VALUE, "value")
+    }
+  }
+}
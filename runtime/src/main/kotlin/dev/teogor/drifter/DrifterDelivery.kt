@@ -0,0 +1,43 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter
+
+/**
+ * Delivery policy of a generated Unity method, mirroring the `DeliveryMode` of the bridge.
+ */
+enum class DrifterDelivery {
+
+  /**
+   * Uses the delivery mode configured for the receiver.
+   */
+  Default,
+
+  /**
+   * Sends every call to Unity right away.
+   */
+  Immediate,
+
+  /**
+   * Groups the calls of a frame into a single native call.
+   */
+  Batched,
+
+  /**
+   * Keeps only the latest pending call and delivers it on the next frame.
+   */
+  Coalesced,
+}
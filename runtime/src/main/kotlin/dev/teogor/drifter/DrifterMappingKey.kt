@@ -22,6 +22,8 @@ package dev.teogor.drifter
  * @property storageKey The key used for storage and retrieval. If empty, defaults to the
  * property/parameter name in snake_case uppercase (e.g., "waterColor" -> "WATER_COLOR").
  * @property exposedMethod The name of the Unity method associated with this property/parameter.
+ * @property delivery How calls to the generated setter are delivered to Unity. Use
+ * [DrifterDelivery.Coalesced] for values that change faster than Unity renders.
  * **Example Usage:**
  *
  * ```kotlin
@@ -36,4 +38,5 @@ package dev.teogor.drifter
 annotation class DrifterMappingKey(
   val storageKey: String = "",
   val exposedMethod: String = "",
+  val delivery: DrifterDelivery = DrifterDelivery.Default,
 )
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter
+
+/**
+ * Marks a class describing one entity whose data is sent to Unity as packed arrays.
+ *
+ * The Drifter KSP processor generates a `PackedArrays` class for the annotated class, holding
+ * one array per property, struct-of-arrays style, and sending all the entities in a single
+ * packed message per frame. Only `Float` and `Int` properties are supported. The generated
+ * class also exposes the layout of the message, so both sides agree on it.
+ *
+ * @property receiver The name of the Unity GameObject receiving the packed arrays.
+ * @property method The name of the method receiving the packed arrays.
+ *
+ * **Example Usage:**
+ *
+ * ```kotlin
+ * @DrifterPackedArrays(receiver = "FishSchool", method = "UpdateFish")
+ * data class Fish(
+ *     val x: Float,
+ *     val y: Float,
+ *     val state: Int,
+ * )
+ *
+ * val school = FishPackedArrays(capacity = 64)
+ * fish.forEach { school.add(x = it.x, y = it.y, state = it.state) }
+ * school.send()
+ * ```
+ */
+@Target(AnnotationTarget.CLASS)
+annotation class DrifterPackedArrays(
+  val receiver: String,
+  val method: String,
+)
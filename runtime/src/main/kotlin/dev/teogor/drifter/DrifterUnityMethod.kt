@@ -26,6 +26,7 @@ package dev.teogor.drifter
  * @property name The name of the exposed method in Unity. Defaults to the function name with
  * first letter uppercase.
  * @property parameters An array of parameter names expected by the exposed method in Unity.
+ * @property delivery How calls to the generated method are delivered to Unity.
  *
  * **Example Usage:**
  *
@@ -41,4 +42,5 @@ package dev.teogor.drifter
 annotation class DrifterUnityMethod(
   val name: String = "",
   val parameters: Array<String> = [],
+  val delivery: DrifterDelivery = DrifterDelivery.Default,
 )
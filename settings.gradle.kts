@@ -43,6 +43,9 @@ include(":wallpaper")
 // Plugin
 include(":gradle-plugin")
 
+// Benchmarks
+include(":benchmarks")
+
 // Unity
 include(":unity:common")
 include(":unity:v2022-3-7f1")
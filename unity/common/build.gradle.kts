@@ -35,6 +35,8 @@ dependencies {
   implementation(libs.androidx.startup.runtime)
   implementation(libs.appcompat)
   implementation(libs.gson)
+
+  testImplementation(libs.junit)
 }
 
 winds {
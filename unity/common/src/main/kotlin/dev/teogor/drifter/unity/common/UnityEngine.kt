@@ -16,6 +16,19 @@
 
 package dev.teogor.drifter.unity.common
 
+import dev.teogor.drifter.unity.common.messaging.DeliveryMode
+import dev.teogor.drifter.unity.common.messaging.MessageBatcher
+import dev.teogor.drifter.unity.common.messaging.MessageCoalescer
+import dev.teogor.drifter.unity.common.messaging.MethodIdRegistry
+import dev.teogor.drifter.unity.common.messaging.PayloadCompression
+import dev.teogor.drifter.unity.common.messaging.PreInitMessageBuffer
+import dev.teogor.drifter.unity.common.messaging.asMessageData
+import dev.teogor.drifter.unity.common.metrics.BridgeMetrics
+import dev.teogor.drifter.unity.common.metrics.utf8Length
+import dev.teogor.drifter.unity.common.recording.BridgeRecording
+import java.nio.ByteBuffer
+import java.util.concurrent.ConcurrentHashMap
+
 /**
  * Provides a single point of access for interacting with the Unity Player instance.
  *
@@ -24,13 +37,82 @@ package dev.teogor.drifter.unity.common
  *
  * Use this object to send messages to Unity GameObjects, access native Unity functionalities,
  * or perform other Unity-related operations from your Kotlin code.
+ *
+ * Messages sent before the Unity Player is ready, as reported by
+ * [UnityEngineFactory.isPlayerReady], are buffered and replayed after its first frame instead
+ * of being dropped by the native bridge.
+ *
+ * Every message is counted by `BridgeMetrics` when enabled, and appended to the active
+ * `BridgeRecording`, if any. Parameters reaching [PayloadCompression.threshold] are compressed
+ * before they are delivered, except those sent through [sendUncompressed].
  */
 object UnityEngine {
 
+  private val deliveryModes = ConcurrentHashMap<String, DeliveryMode>()
+
+  private val methodDeliveryModes =
+    ConcurrentHashMap<String, ConcurrentHashMap<String, DeliveryMode>>()
+
+  private val batcher = MessageBatcher { envelope ->
+    native { LocalUnityEngine.current.sendMessageBatch(envelope) }
+  }
+
+  private val coalescer = MessageCoalescer { gameObject, methodName, funcParam ->
+    native {
+      when (funcParam) {
+        is ByteArray -> LocalUnityEngine.current.sendMessage(gameObject, methodName, funcParam)
+        else -> LocalUnityEngine.current.sendMessage(gameObject, methodName, funcParam.toString())
+      }
+    }
+  }
+
+  private val preInitBuffer = PreInitMessageBuffer(
+    isPlayerReady = { LocalUnityEngine.current.isPlayerReady },
+  ) { gameObject, methodName, funcParam ->
+    val deliveryMode = getDeliveryMode(gameObject, methodName)
+    when (funcParam) {
+      is ByteArray -> deliver(gameObject, methodName, funcParam, deliveryMode)
+      else -> deliver(gameObject, methodName, funcParam.toString(), deliveryMode)
+    }
+  }
+
+  private val methodTableLock = Any()
+
+  @Volatile
+  private var syncedMethodCount = 0
+
+  /**
+   * Number of messages dropped because they were sent before the Unity Player was ready and
+   * the pre-initialization buffer was full.
+   */
+  val preInitDroppedCount: Long
+    get() = preInitBuffer.droppedCount
+
+  /**
+   * Whether messages are handed to the Unity Player, rather than held by the
+   * pre-initialization buffer until it is ready.
+   *
+   * The buffer is only released when a message is sent or by [releasePreInitBuffer], so this
+   * stays `false` until then even if the player is ready.
+   */
+  val isReady: Boolean
+    get() = preInitBuffer.isBypassed
+
+  /**
+   * Releases the pre-initialization buffer if the Unity Player is ready and no message is held,
+   * so that messages are handed to the player right away from now on.
+   *
+   * @return Whether messages are handed to the Unity Player right away.
+   */
+  fun releasePreInitBuffer(): Boolean = preInitBuffer.tryRelease()
+
   /**
    * Sends a message to a specific GameObject within the Unity Player instance,
    * calling the specified method with the provided parameter.
    *
+   * The message is delivered according to the [DeliveryMode] configured for [methodName] or
+   * [gameObject] through [setDeliveryMode], which defaults to [DeliveryMode.Immediate].
+   *
    * @param gameObject The name of the GameObject to send the message to.
    * @param methodName The name of the method to invoke on the GameObject.
    * @param funcParam The parameter to pass to the invoked method, as a string.
@@ -39,5 +121,323 @@ object UnityEngine {
     gameObject: String,
     methodName: String,
     funcParam: String,
-  ) = LocalUnityEngine.current.sendMessage(gameObject, methodName, funcParam)
+  ) = sendMessage(gameObject, methodName, funcParam, getDeliveryMode(gameObject, methodName))
+
+  /**
+   * Sends a message to a specific GameObject within the Unity Player instance using an
+   * explicit [DeliveryMode], regardless of the mode configured for [gameObject] and
+   * [methodName].
+   *
+   * @param gameObject The name of the GameObject to send the message to.
+   * @param methodName The name of the method to invoke on the GameObject.
+   * @param funcParam The parameter to pass to the invoked method, as a string.
+   * @param deliveryMode How the message is delivered to the Unity Player.
+   */
+  fun sendMessage(
+    gameObject: String,
+    methodName: String,
+    funcParam: String,
+    deliveryMode: DeliveryMode,
+  ) = send(gameObject, methodName, funcParam, deliveryMode, compress = true)
+
+  /**
+   * Sends a message whose parameter is already encoded as UTF-8 bytes, skipping the
+   * `String` round trip on the [DeliveryMode.Immediate] path.
+   *
+   * [DeliveryMode.Batched] messages are decoded once, since the frame envelope is a string.
+   *
+   * @param gameObject The name of the GameObject to send the message to.
+   * @param methodName The name of the method to invoke on the GameObject.
+   * @param funcParam The UTF-8 encoded parameter to pass to the invoked method.
+   * @param deliveryMode How the message is delivered to the Unity Player.
+   */
+  fun sendMessage(
+    gameObject: String,
+    methodName: String,
+    funcParam: ByteArray,
+    deliveryMode: DeliveryMode = getDeliveryMode(gameObject, methodName),
+  ) = send(gameObject, methodName, funcParam, deliveryMode, compress = true)
+
+  /**
+   * Sends a message whose parameter is never compressed, whatever the value of
+   * [PayloadCompression.threshold].
+   *
+   * Meant for protocols whose Unity receivers parse the parameter themselves, such as chunked
+   * transfers, RPC calls, packed arrays and latency probes.
+   *
+   * @param gameObject The name of the GameObject to send the message to.
+   * @param methodName The name of the method to invoke on the GameObject.
+   * @param funcParam The parameter to pass to the invoked method, as a string.
+   * @param deliveryMode How the message is delivered to the Unity Player.
+   */
+  fun sendUncompressed(
+    gameObject: String,
+    methodName: String,
+    funcParam: String,
+    deliveryMode: DeliveryMode,
+  ) = send(gameObject, methodName, funcParam, deliveryMode, compress = false)
+
+  /**
+   * Sends a message whose parameter is already encoded as UTF-8 bytes and is never
+   * compressed.
+   *
+   * @param gameObject The name of the GameObject to send the message to.
+   * @param methodName The name of the method to invoke on the GameObject.
+   * @param funcParam The UTF-8 encoded parameter to pass to the invoked method.
+   * @param deliveryMode How the message is delivered to the Unity Player.
+   * @see sendUncompressed
+   */
+  fun sendUncompressed(
+    gameObject: String,
+    methodName: String,
+    funcParam: ByteArray,
+    deliveryMode: DeliveryMode,
+  ) = send(gameObject, methodName, funcParam, deliveryMode, compress = false)
+
+  /**
+   * Sends a message whose parameter is held by a [ByteBuffer], from its position to its limit.
+   *
+   * @param gameObject The name of the GameObject to send the message to.
+   * @param methodName The name of the method to invoke on the GameObject.
+   * @param funcParam The buffer holding the UTF-8 encoded parameter.
+   * @param deliveryMode How the message is delivered to the Unity Player.
+   * @see asMessageData
+   */
+  fun sendMessage(
+    gameObject: String,
+    methodName: String,
+    funcParam: ByteBuffer,
+    deliveryMode: DeliveryMode = getDeliveryMode(gameObject, methodName),
+  ) {
+    BridgeRecording.recorder?.recordMessage(gameObject, methodName, funcParam)
+    val payloadBytes = funcParam.remaining()
+    BridgeMetrics.measure(
+      record = { BridgeMetrics.recordSend(gameObject, methodName, payloadBytes, it) },
+    ) {
+      if (deliveryMode == DeliveryMode.Immediate &&
+        preInitBuffer.tryRelease() &&
+        payloadBytes < PayloadCompression.threshold
+      ) {
+        native { LocalUnityEngine.current.sendMessage(gameObject, methodName, funcParam) }
+      } else {
+        deliver(gameObject, methodName, compressIfNeeded(funcParam.asMessageData()), deliveryMode)
+      }
+    }
+  }
+
+  /**
+   * Sends a message to the method registered under [methodId] in [MethodIdRegistry].
+   *
+   * [DeliveryMode.Immediate] messages cross the bridge as the ID and the parameter, the method
+   * table being sent first whenever it gained entries. Other delivery modes, and messages sent
+   * before the Unity Player is ready, fall back to the name of the method, since they are
+   * already grouped into fewer native calls.
+   *
+   * @param methodId The ID of the method, as returned by [MethodIdRegistry.register].
+   * @param funcParam The parameter to pass to the invoked method, as a string.
+   */
+  fun sendMessage(methodId: Int, funcParam: String) {
+    val gameObject = MethodIdRegistry.gameObjectOf(methodId)
+    val methodName = MethodIdRegistry.methodNameOf(methodId)
+    val deliveryMode = getDeliveryMode(gameObject, methodName)
+    if (deliveryMode != DeliveryMode.Immediate || !preInitBuffer.tryRelease()) {
+      sendMessage(gameObject, methodName, funcParam, deliveryMode)
+      return
+    }
+    sendMessage(methodId, funcParam.toByteArray(Charsets.UTF_8))
+  }
+
+  /**
+   * Sends a message whose parameter is already encoded as UTF-8 bytes to the method registered
+   * under [methodId] in [MethodIdRegistry].
+   *
+   * @param methodId The ID of the method, as returned by [MethodIdRegistry.register].
+   * @param funcParam The UTF-8 encoded parameter to pass to the invoked method.
+   * @see sendMessage
+   */
+  fun sendMessage(methodId: Int, funcParam: ByteArray) {
+    val gameObject = MethodIdRegistry.gameObjectOf(methodId)
+    val methodName = MethodIdRegistry.methodNameOf(methodId)
+    val deliveryMode = getDeliveryMode(gameObject, methodName)
+    if (deliveryMode != DeliveryMode.Immediate || !preInitBuffer.tryRelease()) {
+      sendMessage(gameObject, methodName, funcParam, deliveryMode)
+      return
+    }
+    BridgeRecording.recorder?.recordMessage(gameObject, methodName, funcParam)
+    BridgeMetrics.measure(
+      record = { BridgeMetrics.recordSend(gameObject, methodName, funcParam.size, it) },
+    ) {
+      syncMethodTable(methodId)
+      val payload = compressIfNeeded(funcParam)
+      native { LocalUnityEngine.current.sendMessage(methodId, payload) }
+    }
+  }
+
+  /**
+   * Sends the whole method table again before the next message sent by ID. Call it when the
+   * Unity Player has lost its state.
+   */
+  fun resetMethodTable() {
+    synchronized(methodTableLock) {
+      syncedMethodCount = 0
+    }
+  }
+
+  /**
+   * Sets how messages sent to [gameObject] are delivered.
+   *
+   * @param gameObject The name of the GameObject the mode applies to.
+   * @param deliveryMode The [DeliveryMode] to use for this GameObject.
+   */
+  fun setDeliveryMode(gameObject: String, deliveryMode: DeliveryMode) {
+    deliveryModes[gameObject] = deliveryMode
+  }
+
+  /**
+   * Returns the [DeliveryMode] used for messages sent to [gameObject].
+   *
+   * @param gameObject The name of the GameObject.
+   * @return The configured mode, or [DeliveryMode.Immediate] if none was set.
+   */
+  fun getDeliveryMode(gameObject: String): DeliveryMode {
+    return deliveryModes[gameObject] ?: DeliveryMode.Immediate
+  }
+
+  /**
+   * Sets how messages sent to [methodName] of [gameObject] are delivered, overriding the mode
+   * of the GameObject.
+   *
+   * @param gameObject The name of the GameObject.
+   * @param methodName The name of the method the mode applies to.
+   * @param deliveryMode The [DeliveryMode] to use for this method, or `null` to fall back to
+   * the mode of the GameObject.
+   */
+  fun setDeliveryMode(gameObject: String, methodName: String, deliveryMode: DeliveryMode?) {
+    if (deliveryMode == null) {
+      methodDeliveryModes[gameObject]?.remove(methodName)
+    } else {
+      methodDeliveryModes.getOrPut(gameObject) { ConcurrentHashMap() }[methodName] = deliveryMode
+    }
+  }
+
+  /**
+   * Returns the [DeliveryMode] used for messages sent to [methodName] of [gameObject].
+   *
+   * @param gameObject The name of the GameObject.
+   * @param methodName The name of the method.
+   * @return The mode configured for the method, else the one of the GameObject.
+   */
+  fun getDeliveryMode(gameObject: String, methodName: String): DeliveryMode {
+    return methodDeliveryModes[gameObject]?.get(methodName) ?: getDeliveryMode(gameObject)
+  }
+
+  /**
+   * Delivers all pending [DeliveryMode.Coalesced] and [DeliveryMode.Batched] messages right
+   * away instead of waiting for the next Unity frame.
+   */
+  fun flush() {
+    coalescer.flush()
+    batcher.flush()
+  }
+
+  private fun send(
+    gameObject: String,
+    methodName: String,
+    funcParam: String,
+    deliveryMode: DeliveryMode,
+    compress: Boolean,
+  ) {
+    BridgeRecording.recorder?.recordMessage(gameObject, methodName, funcParam)
+    BridgeMetrics.measure(
+      record = { BridgeMetrics.recordSend(gameObject, methodName, utf8Length(funcParam), it) },
+    ) {
+      val compressed = if (compress) PayloadCompression.compress(funcParam) else null
+      if (compressed == null) {
+        deliver(gameObject, methodName, funcParam, deliveryMode)
+      } else {
+        deliver(gameObject, methodName, compressed, deliveryMode)
+      }
+    }
+  }
+
+  private fun send(
+    gameObject: String,
+    methodName: String,
+    funcParam: ByteArray,
+    deliveryMode: DeliveryMode,
+    compress: Boolean,
+  ) {
+    BridgeRecording.recorder?.recordMessage(gameObject, methodName, funcParam)
+    BridgeMetrics.measure(
+      record = { BridgeMetrics.recordSend(gameObject, methodName, funcParam.size, it) },
+    ) {
+      val payload = if (compress) compressIfNeeded(funcParam) else funcParam
+      deliver(gameObject, methodName, payload, deliveryMode)
+    }
+  }
+
+  private fun deliver(
+    gameObject: String,
+    methodName: String,
+    funcParam: String,
+    deliveryMode: DeliveryMode,
+  ) {
+    if (isBuffered(gameObject, methodName, funcParam)) return
+    when (deliveryMode) {
+      DeliveryMode.Immediate -> native {
+        LocalUnityEngine.current.sendMessage(gameObject, methodName, funcParam)
+      }
+
+      DeliveryMode.Batched -> batcher.enqueue(gameObject, methodName, funcParam)
+      DeliveryMode.Coalesced -> coalescer.enqueue(gameObject, methodName, funcParam)
+    }
+  }
+
+  private fun deliver(
+    gameObject: String,
+    methodName: String,
+    funcParam: ByteArray,
+    deliveryMode: DeliveryMode,
+  ) {
+    if (isBuffered(gameObject, methodName, funcParam)) return
+    when (deliveryMode) {
+      DeliveryMode.Immediate -> native {
+        LocalUnityEngine.current.sendMessage(gameObject, methodName, funcParam)
+      }
+
+      DeliveryMode.Batched -> batcher.enqueue(
+        gameObject,
+        methodName,
+        String(funcParam, Charsets.UTF_8),
+      )
+
+      DeliveryMode.Coalesced -> coalescer.enqueue(gameObject, methodName, funcParam)
+    }
+  }
+
+  /**
+   * Runs a native send call, recording its duration in [BridgeMetrics].
+   */
+  private inline fun native(send: () -> Unit) = BridgeMetrics.measure(
+    record = { BridgeMetrics.recordNativeSend(it) },
+    block = send,
+  )
+
+  private fun compressIfNeeded(funcParam: ByteArray): ByteArray {
+    return PayloadCompression.compress(funcParam) ?: funcParam
+  }
+
+  private fun syncMethodTable(methodId: Int) {
+    if (methodId < syncedMethodCount) return
+    synchronized(methodTableLock) {
+      if (methodId < syncedMethodCount) return
+      val size = MethodIdRegistry.size
+      native { LocalUnityEngine.current.sendMethodTable(MethodIdRegistry.encodeTable(size)) }
+      syncedMethodCount = size
+    }
+  }
+
+  private fun isBuffered(gameObject: String, methodName: String, funcParam: Any): Boolean {
+    return !preInitBuffer.tryRelease() && preInitBuffer.offer(gameObject, methodName, funcParam)
+  }
 }
@@ -19,6 +19,10 @@ package dev.teogor.drifter.unity.common
 import android.content.ContextWrapper
 import dev.teogor.ceres.core.register.intrinsicImplementation
 import dev.teogor.ceres.core.register.staticRegistryLocalOf
+import dev.teogor.drifter.unity.common.messaging.MessageBatchEnvelope
+import dev.teogor.drifter.unity.common.messaging.MethodIdRegistry
+import dev.teogor.drifter.unity.common.messaging.asMessageData
+import java.nio.ByteBuffer
 
 /**
  * Factory for creating Unity Player instances.
@@ -33,6 +37,16 @@ interface UnityEngineFactory {
    */
   val version: String
 
+  /**
+   * Whether the Unity Player can receive messages.
+   *
+   * Messages sent while this is `false` are held by [UnityEngine] and replayed, in order, on
+   * the first frame after it turns `true`. Factories whose player can always receive messages
+   * keep the default.
+   */
+  val isPlayerReady: Boolean
+    get() = true
+
   /**
    * Creates a new Unity Player instance.
    * Creates a new Unity Player instance, optionally applying configuration options.
@@ -61,6 +75,81 @@ interface UnityEngineFactory {
     methodName: String,
     funcParam: String,
   )
+
+  /**
+   * Sends a message whose parameter is already encoded as UTF-8 bytes.
+   *
+   * Unity delivers the parameter to C# as a string, so [funcParam] must hold valid UTF-8.
+   * Implementations should pass the array straight to the native call. The default
+   * implementation decodes it and falls back to the string overload.
+   *
+   * @param gameObject The name of the GameObject to send the message to.
+   * @param methodName The name of the method to invoke on the GameObject.
+   * @param funcParam The UTF-8 encoded parameter to pass to the invoked method.
+   */
+  fun sendMessage(
+    gameObject: String,
+    methodName: String,
+    funcParam: ByteArray,
+  ) = sendMessage(gameObject, methodName, String(funcParam, Charsets.UTF_8))
+
+  /**
+   * Sends a message whose parameter is held by a [ByteBuffer], from its position to its limit.
+   *
+   * Heap buffers that wrap exactly their remaining bytes are passed through without copying.
+   *
+   * @param gameObject The name of the GameObject to send the message to.
+   * @param methodName The name of the method to invoke on the GameObject.
+   * @param funcParam The buffer holding the UTF-8 encoded parameter.
+   * @see asMessageData
+   */
+  fun sendMessage(
+    gameObject: String,
+    methodName: String,
+    funcParam: ByteBuffer,
+  ) = sendMessage(gameObject, methodName, funcParam.asMessageData())
+
+  /**
+   * Delivers the envelope holding every batched message of a frame in a single native call.
+   *
+   * The default implementation sends the envelope to [MessageBatchEnvelope.METHOD] on the
+   * [MessageBatchEnvelope.RECEIVER] GameObject, which unpacks it on the Unity side.
+   *
+   * @param envelope The frame envelope, encoded as described by [MessageBatchEnvelope].
+   */
+  fun sendMessageBatch(envelope: String) = sendMessage(
+    MessageBatchEnvelope.RECEIVER,
+    MessageBatchEnvelope.METHOD,
+    envelope,
+  )
+
+  /**
+   * Sends a message to the method registered under [methodId] in [MethodIdRegistry].
+   *
+   * The default implementation sends the encoded ID and parameter to
+   * [MethodIdRegistry.DISPATCH_METHOD] on the [MethodIdRegistry.RECEIVER] GameObject, which
+   * looks the method up by ID on the Unity side.
+   *
+   * @param methodId The ID of the method, as returned by [MethodIdRegistry.register].
+   * @param funcParam The UTF-8 encoded parameter to pass to the invoked method.
+   */
+  fun sendMessage(methodId: Int, funcParam: ByteArray) = sendMessage(
+    MethodIdRegistry.RECEIVER,
+    MethodIdRegistry.DISPATCH_METHOD,
+    MethodIdRegistry.encodeDispatch(methodId, funcParam),
+  )
+
+  /**
+   * Delivers the method table of [MethodIdRegistry], which must reach the Unity Player before
+   * any message sent by ID.
+   *
+   * @param table The table, as encoded by [MethodIdRegistry.encodeTable].
+   */
+  fun sendMethodTable(table: String) = sendMessage(
+    MethodIdRegistry.RECEIVER,
+    MethodIdRegistry.REGISTER_METHOD,
+    table,
+  )
 }
 
 /**
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.unity.common.binary
+
+import dev.teogor.drifter.unity.common.messaging.Base64Ascii
+
+/**
+ * Writer of the compact binary wire format, the alternative to `UnityJsonWriter` selected by
+ * the `drifter.wireFormat=binary` KSP option.
+ *
+ * A message holds the fields of one module, identified by their position in the module. It is
+ * little-endian and laid out as follows:
+ *
+ * ```
+ * int32 schemaVersion      hash of the field layout, checked by the receiver
+ * ceil(fieldCount / 8) bytes presence bitmap, bit i (LSB first) set when field i is present
+ * present fields, in ascending order:
+ *   bool                   1 byte, 0 or 1
+ *   int32, int64           two's complement
+ *   float32, float64       IEEE 754
+ *   string                 int32 byte length, then the UTF-8 bytes
+ * ```
+ *
+ * Like [dev.teogor.drifter.unity.common.json.UnityJsonWriter], the writer never boxes and
+ * reuses its buffer, so writing a message does not allocate once the buffer has grown to the
+ * size of the largest message. Use [obtain] to get the writer bound to the current thread:
+ *
+ * ```kotlin
+ * val writer = UnityBinaryWriter.obtain()
+ * writer.begin(schemaVersion = AquariumActionParams.SCHEMA_VERSION, fieldCount = 8)
+ * writer.field(1).value(waterColor.toArgb())
+ * UnityEngine.sendMessage("BridgeController", "SetWaterColor", writer.toByteArray())
+ * ```
+ *
+ * Note: Fields must be written in ascending order, each one right after its [field] call.
+ */
+class UnityBinaryWriter(initialCapacity: Int = DEFAULT_CAPACITY) {
+
+  private var buffer = ByteArray(initialCapacity)
+
+  private var lastField = NO_FIELD
+  private var fieldCount = 0
+
+  /**
+   * Number of bytes written so far, before the Base64 encoding of [toByteArray].
+   */
+  var size: Int = 0
+    private set
+
+  /**
+   * Starts a new message, discarding the previous one.
+   *
+   * @param schemaVersion The version of the field layout, checked by the receiver.
+   * @param fieldCount The number of fields of the module, present or not.
+   */
+  fun begin(schemaVersion: Int, fieldCount: Int): UnityBinaryWriter {
+    require(fieldCount >= 0) { "fieldCount must not be negative, was $fieldCount" }
+    size = 0
+    lastField = NO_FIELD
+    this.fieldCount = fieldCount
+    writeInt(schemaVersion)
+    val bitmapSize = (fieldCount + 7) / 8
+    ensureCapacity(bitmapSize)
+    buffer.fill(0, size, size + bitmapSize)
+    size += bitmapSize
+    return this
+  }
+
+  /**
+   * Marks the field at [index] as present. Its value is the next one written.
+   */
+  fun field(index: Int): UnityBinaryWriter {
+    require(index in (lastField + 1) until fieldCount) {
+      "Field $index written out of order, after field $lastField of $fieldCount"
+    }
+    lastField = index
+    val bitmapByte = BITMAP_OFFSET + (index ushr 3)
+    buffer[bitmapByte] = (buffer[bitmapByte].toInt() or (1 shl (index and 7))).toByte()
+    return this
+  }
+
+  fun value(value: Boolean): UnityBinaryWriter {
+    ensureCapacity(1)
+    buffer[size++] = if (value) 1 else 0
+    return this
+  }
+
+  fun value(value: Int): UnityBinaryWriter {
+    writeInt(value)
+    return this
+  }
+
+  fun value(value: Long): UnityBinaryWriter {
+    ensureCapacity(8)
+    var bits = value
+    repeat(8) {
+      buffer[size++] = bits.toByte()
+      bits = bits ushr 8
+    }
+    return this
+  }
+
+  fun value(value: Float): UnityBinaryWriter = value(value.toRawBits())
+
+  fun value(value: Double): UnityBinaryWriter = value(value.toRawBits())
+
+  /**
+   * Writes [value] as its UTF-8 byte length followed by its UTF-8 bytes, without allocating.
+   */
+  fun value(value: String): UnityBinaryWriter {
+    // A UTF-16 code unit takes at most 3 UTF-8 bytes, surrogate pairs take 4 for 2 units.
+    ensureCapacity(4 + value.length * 3)
+    val lengthOffset = size
+    size += 4
+    var index = 0
+    while (index < value.length) {
+      val char = value[index++]
+      val code = char.code
+      when {
+        code < 0x80 -> buffer[size++] = code.toByte()
+        code < 0x800 -> {
+          buffer[size++] = (0xC0 or (code ushr 6)).toByte()
+          buffer[size++] = (0x80 or (code and 0x3F)).toByte()
+        }
+
+        char.isHighSurrogate() && index < value.length && value[index].isLowSurrogate() -> {
+          val codePoint = Character.toCodePoint(char, value[index++])
+          buffer[size++] = (0xF0 or (codePoint ushr 18)).toByte()
+          buffer[size++] = (0x80 or ((codePoint ushr 12) and 0x3F)).toByte()
+          buffer[size++] = (0x80 or ((codePoint ushr 6) and 0x3F)).toByte()
+          buffer[size++] = (0x80 or (codePoint and 0x3F)).toByte()
+        }
+
+        char.isSurrogate() -> buffer[size++] = '?'.code.toByte()
+        else -> {
+          buffer[size++] = (0xE0 or (code ushr 12)).toByte()
+          buffer[size++] = (0x80 or ((code ushr 6) and 0x3F)).toByte()
+          buffer[size++] = (0x80 or (code and 0x3F)).toByte()
+        }
+      }
+    }
+    putInt(lengthOffset, size - lengthOffset - 4)
+    return this
+  }
+
+  /**
+   * Returns the message, Base64 encoded, since the native send call delivers its parameter to
+   * C# as a string.
+   */
+  fun toByteArray(): ByteArray {
+    val data = ByteArray(Base64Ascii.encodedLength(size))
+    Base64Ascii.encode(buffer, size, data, 0)
+    return data
+  }
+
+  private fun writeInt(value: Int) {
+    ensureCapacity(4)
+    putInt(size, value)
+    size += 4
+  }
+
+  private fun putInt(offset: Int, value: Int) {
+    buffer[offset] = value.toByte()
+    buffer[offset + 1] = (value ushr 8).toByte()
+    buffer[offset + 2] = (value ushr 16).toByte()
+    buffer[offset + 3] = (value ushr 24).toByte()
+  }
+
+  private fun ensureCapacity(extra: Int) {
+    val required = size + extra
+    if (required > buffer.size) {
+      buffer = buffer.copyOf(maxOf(required, buffer.size * 2))
+    }
+  }
+
+  companion object {
+    const val DEFAULT_CAPACITY = 256
+
+    private const val BITMAP_OFFSET = 4
+    private const val NO_FIELD = -1
+
+    private val threadWriter = object : ThreadLocal<UnityBinaryWriter>() {
+      override fun initialValue() = UnityBinaryWriter()
+    }
+
+    /**
+     * Returns the writer bound to the calling thread, ready for [begin].
+     */
+    @JvmStatic
+    fun obtain(): UnityBinaryWriter = threadWriter.get()!!
+  }
+}
@@ -0,0 +1,427 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.unity.common.json
+
+import kotlin.math.abs
+import kotlin.math.floor
+import kotlin.math.log10
+import kotlin.math.nextDown
+import kotlin.math.nextUp
+import kotlin.math.roundToLong
+
+/**
+ * Streaming JSON writer that encodes straight into a reusable UTF-8 byte buffer.
+ *
+ * Unlike `org.json.JSONObject`, the writer never boxes primitives and never builds an
+ * intermediate map, so once its buffer has grown to the size of the largest payload, writing
+ * a message does not allocate. The only allocation left is the exact-size array returned by
+ * [toByteArray], which is what the native `UnitySendMessage` call expects.
+ *
+ * Use [obtain] to get the writer bound to the current thread:
+ *
+ * ```kotlin
+ * val writer = UnityJsonWriter.obtain()
+ * writer.beginObject()
+ * writer.name("waterColor").value(color)
+ * writer.endObject()
+ * UnityEngine.sendMessage("BridgeController", "SetWaterColor", writer.toByteArray())
+ * ```
+ *
+ * `Float` values are written with the shortest decimal representation that reads back to the
+ * same value, without allocating. `Double` values that are not integral fall back to
+ * [Double.toString].
+ *
+ * Note: The writer does not validate the structure of the document, callers are expected to
+ * pair [beginObject] with [endObject] and to precede every object value with [name].
+ */
+class UnityJsonWriter(initialCapacity: Int = DEFAULT_CAPACITY) {
+
+  private var buffer = ByteArray(initialCapacity)
+
+  /**
+   * Number of bytes written so far.
+   */
+  var size: Int = 0
+    private set
+
+  private var hasPreviousElement = false
+  private var expectsValue = false
+
+  /**
+   * Clears the writer so a new document can be written, keeping the allocated buffer.
+   */
+  fun reset(): UnityJsonWriter {
+    size = 0
+    hasPreviousElement = false
+    expectsValue = false
+    return this
+  }
+
+  fun beginObject(): UnityJsonWriter = open('{')
+
+  fun endObject(): UnityJsonWriter = close('}')
+
+  fun beginArray(): UnityJsonWriter = open('[')
+
+  fun endArray(): UnityJsonWriter = close(']')
+
+  /**
+   * Writes the name of the next object member.
+   *
+   * @param name The member name, escaped as needed.
+   */
+  fun name(name: String): UnityJsonWriter {
+    if (hasPreviousElement) writeByte(','.code)
+    writeQuoted(name)
+    writeByte(':'.code)
+    expectsValue = true
+    return this
+  }
+
+  fun value(value: Boolean): UnityJsonWriter {
+    beforeValue()
+    writeAscii(if (value) "true" else "false")
+    return afterValue()
+  }
+
+  fun value(value: Int): UnityJsonWriter = value(value.toLong())
+
+  fun value(value: Long): UnityJsonWriter {
+    beforeValue()
+    writeLong(value)
+    return afterValue()
+  }
+
+  /**
+   * Writes a `Float` using its shortest round-trip decimal representation.
+   *
+   * @throws IllegalArgumentException if [value] is NaN or infinite, which JSON cannot represent.
+   */
+  fun value(value: Float): UnityJsonWriter {
+    require(value.isFinite()) { "Numeric values must be finite, but was $value" }
+    beforeValue()
+    writeFloat(value)
+    return afterValue()
+  }
+
+  /**
+   * Writes a `Double`. Integral values are written without allocating, others go through
+   * [Double.toString].
+   *
+   * @throws IllegalArgumentException if [value] is NaN or infinite, which JSON cannot represent.
+   */
+  fun value(value: Double): UnityJsonWriter {
+    require(value.isFinite()) { "Numeric values must be finite, but was $value" }
+    beforeValue()
+    if (isPlainIntegral(value)) {
+      writeLong(value.toLong())
+    } else {
+      writeAscii(value.toString())
+    }
+    return afterValue()
+  }
+
+  fun value(value: String?): UnityJsonWriter {
+    if (value == null) return nullValue()
+    beforeValue()
+    writeQuoted(value)
+    return afterValue()
+  }
+
+  /**
+   * Writes a value that is already encoded as JSON, such as the `toString()` of a
+   * `JSONObject`, verbatim.
+   *
+   * @param json The encoded JSON value. It is not validated.
+   */
+  fun rawValue(json: String): UnityJsonWriter {
+    beforeValue()
+    val bytes = json.toByteArray(Charsets.UTF_8)
+    ensureCapacity(bytes.size)
+    System.arraycopy(bytes, 0, buffer, size, bytes.size)
+    size += bytes.size
+    return afterValue()
+  }
+
+  fun nullValue(): UnityJsonWriter {
+    beforeValue()
+    writeAscii("null")
+    return afterValue()
+  }
+
+  /**
+   * Returns a copy of the written bytes, sized exactly to the document.
+   */
+  fun toByteArray(): ByteArray = buffer.copyOf(size)
+
+  /**
+   * Decodes the written bytes into a string.
+   */
+  override fun toString(): String = String(buffer, 0, size, Charsets.UTF_8)
+
+  private fun open(bracket: Char): UnityJsonWriter {
+    beforeValue()
+    writeByte(bracket.code)
+    hasPreviousElement = false
+    return this
+  }
+
+  private fun close(bracket: Char): UnityJsonWriter {
+    writeByte(bracket.code)
+    return afterValue()
+  }
+
+  private fun beforeValue() {
+    if (expectsValue) {
+      expectsValue = false
+    } else if (hasPreviousElement) {
+      writeByte(','.code)
+    }
+  }
+
+  private fun afterValue(): UnityJsonWriter {
+    hasPreviousElement = true
+    return this
+  }
+
+  private fun ensureCapacity(extra: Int) {
+    val required = size + extra
+    if (required > buffer.size) {
+      buffer = buffer.copyOf(maxOf(required, buffer.size * 2))
+    }
+  }
+
+  private fun writeByte(byte: Int) {
+    ensureCapacity(1)
+    buffer[size++] = byte.toByte()
+  }
+
+  private fun writeAscii(text: String) {
+    ensureCapacity(text.length)
+    for (index in text.indices) {
+      buffer[size++] = text[index].code.toByte()
+    }
+  }
+
+  private fun writeLong(value: Long) {
+    if (value == Long.MIN_VALUE) {
+      writeAscii(Long.MIN_VALUE.toString())
+      return
+    }
+    var remaining = value
+    if (remaining < 0) {
+      writeByte('-'.code)
+      remaining = -remaining
+    }
+    writeDigits(remaining, countDigits(remaining))
+  }
+
+  private fun writeDigits(value: Long, digitCount: Int) {
+    ensureCapacity(digitCount)
+    var remaining = value
+    var index = size + digitCount - 1
+    do {
+      buffer[index--] = ('0'.code + (remaining % 10).toInt()).toByte()
+      remaining /= 10
+    } while (remaining != 0L)
+    size += digitCount
+  }
+
+  private fun writeZeros(count: Int) {
+    ensureCapacity(count)
+    repeat(count) { buffer[size++] = '0'.code.toByte() }
+  }
+
+  private fun writeFloat(value: Float) {
+    val magnitude = abs(value)
+    val exact = magnitude.toDouble()
+    if (isPlainIntegral(exact)) {
+      writeLong(value.toLong())
+      return
+    }
+    if (value < 0) writeByte('-'.code)
+
+    // Every decimal strictly inside the rounding interval of the float reads back to it.
+    val lower = (exact + magnitude.nextDown().toDouble()) / 2
+    val upper = if (magnitude == Float.MAX_VALUE) {
+      exact + (exact - lower)
+    } else {
+      (exact + magnitude.nextUp().toDouble()) / 2
+    }
+    val margin = exact * INTERVAL_MARGIN
+    val leadingExponent = floor(log10(exact)).toInt()
+
+    var digits = 0L
+    var shift = 0
+    for (precision in 1..MAX_FLOAT_PRECISION) {
+      shift = leadingExponent - precision + 1
+      digits = scaleDown(exact, shift).roundToLong()
+      val candidate = scaleUp(digits, shift)
+      if (candidate > lower + margin && candidate < upper - margin) break
+    }
+    while (digits != 0L && digits % 10 == 0L) {
+      digits /= 10
+      shift++
+    }
+    writeDecimal(digits, shift)
+  }
+
+  /**
+   * Writes `digits * 10^shift`, in plain notation for moderate exponents and in scientific
+   * notation otherwise.
+   */
+  private fun writeDecimal(digits: Long, shift: Int) {
+    val digitCount = countDigits(digits)
+    val exponent = shift + digitCount - 1
+    when {
+      exponent in MIN_PLAIN_EXPONENT..<0 -> {
+        ensureCapacity(2)
+        buffer[size++] = '0'.code.toByte()
+        buffer[size++] = '.'.code.toByte()
+        writeZeros(-exponent - 1)
+        writeDigits(digits, digitCount)
+      }
+
+      exponent in 0..<MAX_PLAIN_EXPONENT -> {
+        if (shift >= 0) {
+          writeDigits(digits, digitCount)
+          writeZeros(shift)
+        } else {
+          val fractionDigits = -shift
+          writeDigits(digits, digitCount)
+          insertDecimalPoint(fractionDigits)
+        }
+      }
+
+      else -> {
+        writeDigits(digits, digitCount)
+        if (digitCount > 1) insertDecimalPoint(digitCount - 1)
+        writeByte('E'.code)
+        writeLong(exponent.toLong())
+      }
+    }
+  }
+
+  private fun insertDecimalPoint(fractionDigits: Int) {
+    ensureCapacity(1)
+    val pointIndex = size - fractionDigits
+    System.arraycopy(buffer, pointIndex, buffer, pointIndex + 1, fractionDigits)
+    buffer[pointIndex] = '.'.code.toByte()
+    size++
+  }
+
+  private fun writeQuoted(text: String) {
+    writeByte('"'.code)
+    var index = 0
+    while (index < text.length) {
+      val char = text[index]
+      when {
+        char == '"' || char == '\\' -> writeEscaped(char.code)
+        char == '\n' -> writeEscaped('n'.code)
+        char == '\r' -> writeEscaped('r'.code)
+        char == '\t' -> writeEscaped('t'.code)
+        char == '\b' -> writeEscaped('b'.code)
+        char == '\u000C' -> writeEscaped('f'.code)
+        char.code < 0x20 || char == '\u2028' || char == '\u2029' -> writeUnicodeEscape(char.code)
+        char.code < 0x80 -> writeByte(char.code)
+        char.code < 0x800 -> {
+          ensureCapacity(2)
+          buffer[size++] = (0xC0 or (char.code shr 6)).toByte()
+          buffer[size++] = (0x80 or (char.code and 0x3F)).toByte()
+        }
+
+        char.isHighSurrogate() && index + 1 < text.length && text[index + 1].isLowSurrogate() -> {
+          val codePoint = Character.toCodePoint(char, text[++index])
+          ensureCapacity(4)
+          buffer[size++] = (0xF0 or (codePoint shr 18)).toByte()
+          buffer[size++] = (0x80 or ((codePoint shr 12) and 0x3F)).toByte()
+          buffer[size++] = (0x80 or ((codePoint shr 6) and 0x3F)).toByte()
+          buffer[size++] = (0x80 or (codePoint and 0x3F)).toByte()
+        }
+
+        char.isSurrogate() -> writeByte('?'.code)
+        else -> {
+          ensureCapacity(3)
+          buffer[size++] = (0xE0 or (char.code shr 12)).toByte()
+          buffer[size++] = (0x80 or ((char.code shr 6) and 0x3F)).toByte()
+          buffer[size++] = (0x80 or (char.code and 0x3F)).toByte()
+        }
+      }
+      index++
+    }
+    writeByte('"'.code)
+  }
+
+  private fun writeEscaped(code: Int) {
+    ensureCapacity(2)
+    buffer[size++] = '\\'.code.toByte()
+    buffer[size++] = code.toByte()
+  }
+
+  private fun writeUnicodeEscape(code: Int) {
+    ensureCapacity(6)
+    buffer[size++] = '\\'.code.toByte()
+    buffer[size++] = 'u'.code.toByte()
+    for (nibble in 3 downTo 0) {
+      buffer[size++] = HEX_DIGITS[(code shr (nibble * 4)) and 0xF].code.toByte()
+    }
+  }
+
+  companion object {
+    const val DEFAULT_CAPACITY = 256
+
+    private const val MAX_FLOAT_PRECISION = 9
+    private const val MIN_PLAIN_EXPONENT = -5
+    private const val MAX_PLAIN_EXPONENT = 15
+    private const val INTERVAL_MARGIN = 1e-15
+    private const val HEX_DIGITS = "0123456789abcdef"
+
+    private val POWERS_OF_TEN = DoubleArray(64) { exponent -> "1e$exponent".toDouble() }
+
+    private val threadWriter = object : ThreadLocal<UnityJsonWriter>() {
+      override fun initialValue() = UnityJsonWriter()
+    }
+
+    /**
+     * Returns the writer bound to the calling thread, already [reset].
+     */
+    @JvmStatic
+    fun obtain(): UnityJsonWriter = threadWriter.get()!!.reset()
+
+    private fun isPlainIntegral(value: Double): Boolean {
+      return value == floor(value) && abs(value) < 1e15
+    }
+
+    private fun countDigits(value: Long): Int {
+      var count = 1
+      var remaining = value / 10
+      while (remaining != 0L) {
+        count++
+        remaining /= 10
+      }
+      return count
+    }
+
+    private fun scaleDown(value: Double, shift: Int): Double {
+      return if (shift >= 0) value / POWERS_OF_TEN[shift] else value * POWERS_OF_TEN[-shift]
+    }
+
+    private fun scaleUp(digits: Long, shift: Int): Double {
+      return if (shift >= 0) digits * POWERS_OF_TEN[shift] else digits / POWERS_OF_TEN[-shift]
+    }
+  }
+}
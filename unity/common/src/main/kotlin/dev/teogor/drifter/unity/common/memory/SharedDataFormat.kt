@@ -0,0 +1,47 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.unity.common.memory
+
+/**
+ * Layout of the data held by a [SharedMemorySlot], sent to Unity with its handle.
+ *
+ * All multi-byte values are little-endian, the byte order of every Android ABI, so Unity can
+ * read them in place.
+ */
+enum class SharedDataFormat {
+
+  /**
+   * Opaque bytes, interpreted by the receiving method.
+   */
+  Bytes,
+
+  /**
+   * An array of 32-bit floats.
+   */
+  Float32,
+
+  /**
+   * An array of 32-bit signed integers.
+   */
+  Int32,
+
+  /**
+   * Pixels of 8-bit red, green, blue and alpha channels, as expected by
+   * `Texture2D.LoadRawTextureData` for `TextureFormat.RGBA32`.
+   */
+  Rgba32,
+}
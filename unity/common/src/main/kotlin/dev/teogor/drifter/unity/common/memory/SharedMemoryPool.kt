@@ -0,0 +1,184 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.unity.common.memory
+
+import java.io.Closeable
+import java.io.File
+import java.io.RandomAccessFile
+import java.nio.ByteBuffer
+import java.nio.ByteOrder
+import java.nio.channels.FileChannel
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.AtomicIntegerArray
+
+/**
+ * Memory shared with Unity for bulk binary data, such as textures, meshes or large arrays.
+ *
+ * The pool owns one direct [ByteBuffer], optionally mapped from a [file], split into
+ * [slotCount] slots of [slotSize] bytes. Data is written into an acquired [SharedMemorySlot]
+ * and only a small handle crosses `sendMessage`; Unity reads the data in place through the
+ * address of the buffer and gives the slot back with [release]. The data is neither encoded
+ * nor copied on the Java side. The buffer is little-endian, as described by
+ * [SharedDataFormat].
+ *
+ * Unity resolves the buffer of a pool once, with [buffer], and keeps its address:
+ *
+ * ```csharp
+ * var pools = new AndroidJavaClass("dev.teogor.drifter.unity.common.memory.SharedMemoryPool");
+ * var buffer = pools.CallStatic<AndroidJavaObject>("buffer", poolId);
+ * var address = AndroidJNI.GetDirectBufferAddress(buffer.GetRawObject());
+ *
+ * public unsafe void OnPixels(string handle) {
+ *   var fields = handle.Split(':');
+ *   var data = (IntPtr) (address + int.Parse(fields[2]));
+ *   texture.LoadRawTextureData(data, int.Parse(fields[3]));
+ *   texture.Apply();
+ *   pools.CallStatic("release", int.Parse(fields[0]), int.Parse(fields[1]), int.Parse(fields[5]));
+ * }
+ * ```
+ *
+ * The address stays valid as long as the pool is registered. A closed pool stays registered,
+ * and its buffer reachable, until Unity has released every slot sent before closing; no slot
+ * of a closed pool is sent afterwards, so Unity never reads an address once its last slot is
+ * released.
+ *
+ * @param slotSize Size of every slot, in bytes.
+ * @param slotCount Number of slots.
+ * @param file Optional file backing the pool, mapped in memory instead of allocating a direct
+ * buffer. It is created or resized as needed.
+ */
+class SharedMemoryPool(
+  val slotSize: Int,
+  val slotCount: Int = DEFAULT_SLOT_COUNT,
+  file: File? = null,
+) : Closeable {
+
+  init {
+    require(slotSize > 0 && slotCount > 0) { "slotSize and slotCount must be positive" }
+    require(slotSize.toLong() * slotCount <= Int.MAX_VALUE) { "The pool exceeds 2 GB" }
+  }
+
+  /**
+   * Identifier of the pool, sent in the handles of its slots.
+   */
+  val id: Int = nextPoolId.incrementAndGet()
+
+  private val buffer: ByteBuffer = (file?.let { map(it, slotSize * slotCount) }
+    ?: ByteBuffer.allocateDirect(slotSize * slotCount))
+    .order(ByteOrder.LITTLE_ENDIAN)
+
+  // The generation of every slot, shifted left by one, with the lowest bit set while in use.
+  private val slots = AtomicIntegerArray(slotCount)
+  private val nextSlot = AtomicInteger()
+  private val inUseCount = AtomicInteger()
+
+  @Volatile
+  private var isClosed = false
+
+  init {
+    pools[id] = this
+  }
+
+  /**
+   * Acquires a free slot.
+   *
+   * @return The slot, or `null` if all slots are being read by Unity.
+   * @throws IllegalStateException If the pool is closed.
+   */
+  fun acquire(): SharedMemorySlot? {
+    check(!isClosed) { "SharedMemoryPool $id is closed" }
+    val start = nextSlot.getAndIncrement()
+    for (attempt in 0 until slotCount) {
+      val index = (start + attempt).mod(slotCount)
+      val state = slots.get(index)
+      if (state and IN_USE == 0 && slots.compareAndSet(index, state, state or IN_USE)) {
+        inUseCount.incrementAndGet()
+        // close() may have seen no slot in use and unregistered the pool in the meantime.
+        if (isClosed) {
+          release(index, state ushr 1)
+          throw IllegalStateException("SharedMemoryPool $id is closed")
+        }
+        val slot = buffer.duplicate().apply {
+          position(index * slotSize)
+          limit(position() + slotSize)
+        }.slice().order(ByteOrder.LITTLE_ENDIAN)
+        return SharedMemorySlot(this, index, state ushr 1, slot)
+      }
+    }
+    return null
+  }
+
+  /**
+   * Closes the pool: no slot can be acquired anymore, and the pool is unregistered once every
+   * slot in use has been released. Until then, Unity can still read the slots it was sent and
+   * release them. Closing a closed pool has no effect.
+   */
+  override fun close() {
+    isClosed = true
+    if (inUseCount.get() == 0) pools.remove(id, this)
+  }
+
+  internal fun release(index: Int, generation: Int) {
+    if (index !in 0 until slotCount) return
+    val acquired = (generation shl 1) or IN_USE
+    if (!slots.compareAndSet(index, acquired, (generation + 1) shl 1)) return
+    if (inUseCount.decrementAndGet() == 0 && isClosed) pools.remove(id, this)
+  }
+
+  companion object {
+    const val DEFAULT_SLOT_COUNT = 4
+
+    private const val IN_USE = 1
+
+    private val nextPoolId = AtomicInteger()
+    private val pools = ConcurrentHashMap<Int, SharedMemoryPool>()
+
+    /**
+     * Returns the direct buffer of the pool registered under [poolId].
+     *
+     * Note: Called from C# code, to resolve the address of the pool.
+     *
+     * @param poolId The identifier of the pool.
+     * @return The buffer, or `null` if the pool was closed and all of its slots released.
+     */
+    @JvmStatic
+    fun buffer(poolId: Int): ByteBuffer? = pools[poolId]?.buffer
+
+    /**
+     * Gives a slot back to its pool once Unity has read it. Releases of an earlier acquisition
+     * of the slot, and repeated releases, have no effect.
+     *
+     * Note: Called from C# code.
+     *
+     * @param poolId The identifier of the pool.
+     * @param slot The index of the slot, as sent in its handle.
+     * @param generation The generation of the slot, as sent in its handle.
+     */
+    @JvmStatic
+    fun release(poolId: Int, slot: Int, generation: Int) {
+      pools[poolId]?.release(slot, generation)
+    }
+
+    private fun map(file: File, size: Int): ByteBuffer {
+      return RandomAccessFile(file, "rw").use { randomAccessFile ->
+        randomAccessFile.setLength(size.toLong())
+        randomAccessFile.channel.map(FileChannel.MapMode.READ_WRITE, 0, size.toLong())
+      }
+    }
+  }
+}
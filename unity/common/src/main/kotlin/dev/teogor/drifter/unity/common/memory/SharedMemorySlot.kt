@@ -0,0 +1,80 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.unity.common.memory
+
+import dev.teogor.drifter.unity.common.UnityEngine
+import dev.teogor.drifter.unity.common.messaging.DeliveryMode
+import java.nio.ByteBuffer
+
+/**
+ * A fixed-size region of a [SharedMemoryPool], owned by the caller until it is sent or
+ * released.
+ *
+ * Data is written into [buffer], from position `0`; the bytes up to the position of the buffer
+ * are the ones made visible to Unity by [send].
+ *
+ * Every acquisition of a slot has its own [generation], sent in the handle and checked on
+ * release, so a stale or repeated release never frees the slot after it was acquired again.
+ */
+class SharedMemorySlot internal constructor(
+  private val pool: SharedMemoryPool,
+  val index: Int,
+  /**
+   * Generation of this acquisition of the slot.
+   */
+  val generation: Int,
+  /**
+   * Buffer covering the slot, in little-endian byte order.
+   */
+  val buffer: ByteBuffer,
+) {
+
+  /**
+   * Offset of the slot in the buffer of the pool.
+   */
+  val offset: Int
+    get() = index * pool.slotSize
+
+  /**
+   * Sends the handle of the data written into [buffer] to [gameObject], with
+   * [DeliveryMode.Immediate]. Ownership of the slot passes to Unity, which releases it once it
+   * has read the data.
+   *
+   * The handle is a string of the form
+   * `<poolId>:<slot>:<offset>:<length>:<format>:<generation>`. It is never batched, coalesced
+   * or held until the Unity Player is ready, since the slot stays acquired until Unity reads it.
+   *
+   * @param gameObject The name of the GameObject to send the handle to.
+   * @param methodName The name of the method receiving the handle.
+   * @param format The layout of the data.
+   * @return `false` if the Unity Player is not ready, in which case nothing is sent and the
+   * slot is still owned by the caller.
+   */
+  fun send(gameObject: String, methodName: String, format: SharedDataFormat): Boolean {
+    if (!UnityEngine.releasePreInitBuffer()) return false
+    val handle = "${pool.id}:$index:$offset:${buffer.position()}:${format.name}:$generation"
+    UnityEngine.sendUncompressed(gameObject, methodName, handle, DeliveryMode.Immediate)
+    return true
+  }
+
+  /**
+   * Returns the slot to the pool without sending it. Releasing it again has no effect.
+   */
+  fun release() {
+    pool.release(index, generation)
+  }
+}
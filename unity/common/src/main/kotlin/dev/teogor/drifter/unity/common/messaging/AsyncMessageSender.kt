@@ -0,0 +1,234 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.unity.common.messaging
+
+import android.util.Log
+import dev.teogor.drifter.unity.common.UnityEngine
+import java.io.Closeable
+import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.locks.LockSupport
+
+/**
+ * Sends messages to the Unity Player from a dedicated bridge thread.
+ *
+ * Producers append messages to a bounded lock-free [MessageRingBuffer] and return right away,
+ * so the calling thread, typically the UI thread, never waits on JNI. The bridge thread drains
+ * the queue through [UnityEngine.sendMessage], which keeps the [DeliveryMode] configured for
+ * every GameObject and method.
+ *
+ * When the queue is full, the [overflowPolicy] decides what happens to the new message.
+ *
+ * ```kotlin
+ * val sender = AsyncMessageSender(capacity = 256, overflowPolicy = OverflowPolicy.Coalesce)
+ * sender.sendMessage("BridgeController", "SetWaterColor", payload)
+ * ```
+ *
+ * @param capacity Maximum number of queued messages, rounded up to a power of two.
+ * @param overflowPolicy What to do with messages sent while the queue is full.
+ * @param threadName Name of the bridge thread.
+ */
+class AsyncMessageSender(
+  capacity: Int = DEFAULT_CAPACITY,
+  val overflowPolicy: OverflowPolicy = OverflowPolicy.Block,
+  threadName: String = DEFAULT_THREAD_NAME,
+) : Closeable {
+
+  private val queue = MessageRingBuffer(capacity)
+
+  private val overflowLock = Any()
+  private var overflow = LinkedHashMap<String, LinkedHashMap<String, Any>>()
+  private var overflowDraining = LinkedHashMap<String, LinkedHashMap<String, Any>>()
+
+  @Volatile
+  private var hasOverflow = false
+
+  @Volatile
+  private var isBridgeParked = false
+
+  @Volatile
+  private var isClosed = false
+
+  private val dropped = AtomicLong()
+
+  private val consumer = MessageRingBuffer.Consumer { gameObject, methodName, funcParam ->
+    deliver(gameObject, methodName, funcParam)
+  }
+
+  private val bridgeThread = Thread(::drainLoop, threadName).apply {
+    isDaemon = true
+    start()
+  }
+
+  /**
+   * Maximum number of queued messages.
+   */
+  val capacity: Int
+    get() = queue.capacity
+
+  /**
+   * Approximate number of messages waiting to be delivered, including overflowed messages
+   * kept by [OverflowPolicy.Coalesce].
+   */
+  val queueDepth: Int
+    get() = queue.size + if (hasOverflow) synchronized(overflowLock) { overflow.countMessages() } else 0
+
+  /**
+   * Number of messages dropped so far because the queue was full. With
+   * [OverflowPolicy.Coalesce], counts the overflowed messages replaced by a newer one.
+   */
+  val droppedCount: Long
+    get() = dropped.get()
+
+  /**
+   * Queues a message for the bridge thread.
+   *
+   * @param gameObject The name of the GameObject to send the message to.
+   * @param methodName The name of the method to invoke on the GameObject.
+   * @param funcParam The parameter to pass to the invoked method, as a string.
+   * @return `false` if the message was dropped by the [overflowPolicy] or the sender is closed.
+   */
+  fun sendMessage(gameObject: String, methodName: String, funcParam: String): Boolean {
+    return enqueue(gameObject, methodName, funcParam)
+  }
+
+  /**
+   * Queues a message whose parameter is already encoded as UTF-8 bytes.
+   *
+   * Note: The array is read by the bridge thread and must not be modified afterwards.
+   *
+   * @param gameObject The name of the GameObject to send the message to.
+   * @param methodName The name of the method to invoke on the GameObject.
+   * @param funcParam The UTF-8 encoded parameter to pass to the invoked method.
+   * @return `false` if the message was dropped by the [overflowPolicy] or the sender is closed.
+   */
+  fun sendMessage(gameObject: String, methodName: String, funcParam: ByteArray): Boolean {
+    return enqueue(gameObject, methodName, funcParam)
+  }
+
+  /**
+   * Stops the bridge thread once the messages queued so far have been delivered.
+   */
+  override fun close() {
+    isClosed = true
+    LockSupport.unpark(bridgeThread)
+  }
+
+  private fun enqueue(gameObject: String, methodName: String, funcParam: Any): Boolean {
+    if (isClosed) return false
+    val isQueued = when {
+      hasOverflow && overflowPolicy == OverflowPolicy.Coalesce ->
+        coalesce(gameObject, methodName, funcParam)
+
+      queue.offer(gameObject, methodName, funcParam) -> true
+      else -> handleOverflow(gameObject, methodName, funcParam)
+    }
+    if (isBridgeParked) LockSupport.unpark(bridgeThread)
+    return isQueued
+  }
+
+  private fun handleOverflow(gameObject: String, methodName: String, funcParam: Any): Boolean {
+    return when (overflowPolicy) {
+      OverflowPolicy.Block -> {
+        while (!queue.offer(gameObject, methodName, funcParam)) {
+          if (isClosed) return false
+          LockSupport.unpark(bridgeThread)
+          LockSupport.parkNanos(BLOCK_WAIT_NANOS)
+        }
+        true
+      }
+
+      OverflowPolicy.DropOldest -> {
+        while (!queue.offer(gameObject, methodName, funcParam)) {
+          if (queue.poll(null)) dropped.incrementAndGet()
+        }
+        true
+      }
+
+      OverflowPolicy.DropNewest -> {
+        dropped.incrementAndGet()
+        false
+      }
+
+      OverflowPolicy.Coalesce -> coalesce(gameObject, methodName, funcParam)
+    }
+  }
+
+  private fun coalesce(gameObject: String, methodName: String, funcParam: Any): Boolean {
+    synchronized(overflowLock) {
+      val previous = overflow.getOrPut(gameObject) { LinkedHashMap() }.put(methodName, funcParam)
+      if (previous != null) dropped.incrementAndGet()
+      hasOverflow = true
+    }
+    return true
+  }
+
+  private fun drainLoop() {
+    while (true) {
+      while (queue.poll(consumer)) Unit
+      if (hasOverflow) {
+        drainOverflow()
+        continue
+      }
+      if (isClosed) return
+
+      isBridgeParked = true
+      if (queue.size == 0 && !hasOverflow && !isClosed) LockSupport.park(this)
+      isBridgeParked = false
+    }
+  }
+
+  private fun drainOverflow() {
+    val messages = synchronized(overflowLock) {
+      val swapped = overflow
+      overflow = overflowDraining
+      overflowDraining = swapped
+      hasOverflow = false
+      swapped
+    }
+    for ((gameObject, methods) in messages) {
+      for ((methodName, funcParam) in methods) {
+        deliver(gameObject, methodName, funcParam)
+      }
+      methods.clear()
+    }
+  }
+
+  private fun deliver(gameObject: String, methodName: String, funcParam: Any) {
+    try {
+      when (funcParam) {
+        is ByteArray -> UnityEngine.sendMessage(gameObject, methodName, funcParam)
+        else -> UnityEngine.sendMessage(gameObject, methodName, funcParam.toString())
+      }
+    } catch (e: Exception) {
+      Log.e(TAG, "Failed to deliver $methodName to $gameObject", e)
+    }
+  }
+
+  private fun Map<String, Map<String, Any>>.countMessages(): Int {
+    var count = 0
+    for (methods in values) count += methods.size
+    return count
+  }
+
+  companion object {
+    const val DEFAULT_CAPACITY = 1024
+    const val DEFAULT_THREAD_NAME = "DrifterBridge"
+
+    private const val TAG = "AsyncMessageSender"
+    private const val BLOCK_WAIT_NANOS = 50_000L
+  }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.unity.common.messaging
+
+/**
+ * Allocation-free Base64 encoder, used to carry binary data through the native send call,
+ * which hands its parameter to C# as a UTF-8 string.
+ */
+internal object Base64Ascii {
+
+  private const val PADDING = '='.code.toByte()
+
+  private val alphabet =
+    "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".toByteArray()
+
+  /**
+   * Number of bytes needed to encode [length] bytes, padding included.
+   */
+  fun encodedLength(length: Int) = (length + 2) / 3 * 4
+
+  /**
+   * Encodes the first [length] bytes of [source] into [target], starting at [offset].
+   */
+  fun encode(source: ByteArray, length: Int, target: ByteArray, offset: Int) {
+    var read = 0
+    var write = offset
+    while (read + 3 <= length) {
+      val bits = ((source[read].toInt() and 0xFF) shl 16) or
+        ((source[read + 1].toInt() and 0xFF) shl 8) or
+        (source[read + 2].toInt() and 0xFF)
+      target[write] = alphabet[(bits ushr 18) and 0x3F]
+      target[write + 1] = alphabet[(bits ushr 12) and 0x3F]
+      target[write + 2] = alphabet[(bits ushr 6) and 0x3F]
+      target[write + 3] = alphabet[bits and 0x3F]
+      read += 3
+      write += 4
+    }
+    val rest = length - read
+    if (rest == 0) return
+    val second = if (rest == 2) source[read + 1].toInt() and 0xFF else 0
+    val bits = ((source[read].toInt() and 0xFF) shl 16) or (second shl 8)
+    target[write] = alphabet[(bits ushr 18) and 0x3F]
+    target[write + 1] = alphabet[(bits ushr 12) and 0x3F]
+    target[write + 2] = if (rest == 2) alphabet[(bits ushr 6) and 0x3F] else PADDING
+    target[write + 3] = PADDING
+  }
+}
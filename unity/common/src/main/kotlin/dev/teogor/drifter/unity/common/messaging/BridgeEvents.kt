@@ -0,0 +1,81 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.unity.common.messaging
+
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Registry of the custom events Unity sends back to the bridge's own protocols rather than to
+ * the application, such as the answers to `UnityRpc` calls.
+ *
+ * Unity sends these events like any other custom event. The events proxy of the host hands
+ * each of them to [dispatch] first, and only forwards to its listeners the events no handler
+ * claimed. Hosts without an events proxy call [dispatch] with the same arguments instead.
+ * Events of the bridge are named with a `drifter.` prefix.
+ */
+object BridgeEvents {
+
+  /**
+   * Receives the data of the custom events it is registered for.
+   */
+  fun interface Handler {
+
+    /**
+     * Called on the thread Unity sent the event from.
+     *
+     * @param eventData The data of the event.
+     */
+    fun onEvent(eventData: String)
+  }
+
+  private val handlers = ConcurrentHashMap<String, Handler>()
+
+  /**
+   * Registers the [Handler] of an event, replacing the previous one.
+   *
+   * @param eventName The name of the event.
+   * @param handler The handler of the event.
+   */
+  fun setHandler(eventName: String, handler: Handler) {
+    handlers[eventName] = handler
+  }
+
+  /**
+   * Unregisters the [Handler] of an event.
+   *
+   * @param eventName The name of the event.
+   */
+  fun removeHandler(eventName: String) {
+    handlers.remove(eventName)
+  }
+
+  /**
+   * Hands a custom event to its [Handler].
+   *
+   * Note: Called by the events proxy for every custom event received from Unity.
+   *
+   * @param eventName The name of the event.
+   * @param eventData The data of the event.
+   * @return `true` if a handler consumed the event, `false` if it belongs to the application.
+   */
+  @JvmStatic
+  fun dispatch(eventName: String, eventData: String): Boolean {
+    val handler = handlers[eventName] ?: return false
+    handler.onEvent(eventData)
+    return true
+  }
+}
@@ -0,0 +1,261 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.unity.common.messaging
+
+import dev.teogor.drifter.unity.common.UnityEngine
+import java.io.InputStream
+import java.nio.ByteBuffer
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * Streams a large payload to a Unity GameObject in fixed-size chunks.
+ *
+ * Instead of building the whole payload as one `String`, the transfer reads [chunkSize] bytes
+ * at a time and hands each chunk to the Unity Player as a separate message to
+ * [MessageBatchEnvelope.RECEIVER], which reassembles the payload and delivers it to
+ * [gameObject] and [methodName]. The chunk and frame arrays are reused for the whole transfer,
+ * so the Java heap used by a transfer is bounded by [chunkSize], whatever the payload size.
+ *
+ * A transfer is made of the following messages:
+ *
+ * ```
+ * BeginTransfer   <transferId>:<totalLength>:<gameObject>:<methodName>
+ * ReceiveChunk    <transferId><sequence><base64 chunk>
+ * EndTransfer     <transferId>:<chunkCount>:<byteCount>
+ * CancelTransfer  <transferId>
+ * ```
+ *
+ * In `ReceiveChunk`, the transfer ID and the sequence number are fixed-width, eight hexadecimal
+ * digits each. Chunks are Base64 encoded, since the native call delivers its parameter to C# as
+ * a string. `totalLength` is `-1` when the size of the payload is unknown. A matching
+ * reassembler on the Unity side looks like this:
+ *
+ * ```csharp
+ * public void BeginTransfer(string header) {
+ *   var fields = header.Split(':', 4);
+ *   transfers[Convert.ToInt32(fields[0], 16)] = new Transfer(fields[2], fields[3]);
+ * }
+ *
+ * public void ReceiveChunk(string frame) {
+ *   var transfer = transfers[Convert.ToInt32(frame.Substring(0, 8), 16)];
+ *   var sequence = Convert.ToInt32(frame.Substring(8, 8), 16);
+ *   transfer.Write(sequence, Convert.FromBase64String(frame.Substring(16)));
+ * }
+ *
+ * public void EndTransfer(string trailer) {
+ *   var id = Convert.ToInt32(trailer.Split(':')[0], 16);
+ *   transfers[id].Deliver();
+ *   transfers.Remove(id);
+ * }
+ *
+ * public void CancelTransfer(string id) => transfers.Remove(Convert.ToInt32(id, 16));
+ * ```
+ *
+ * Chunks are sent with [DeliveryMode.Immediate] on the calling thread, which blocks until the
+ * last chunk is handed over; [cancel] may be called from any thread. A transfer can only be
+ * sent once. When reading the payload or sending a chunk throws, Unity is told to discard the
+ * transfer through [CANCEL_METHOD] and the exception is rethrown.
+ *
+ * @param gameObject The name of the GameObject receiving the reassembled payload.
+ * @param methodName The name of the method receiving the reassembled payload.
+ * @param chunkSize Number of payload bytes per chunk.
+ * @param progressListener Optional listener notified after every chunk.
+ */
+class ChunkedTransfer(
+  val gameObject: String,
+  val methodName: String,
+  val chunkSize: Int = DEFAULT_CHUNK_SIZE,
+  private val progressListener: TransferProgressListener? = null,
+) {
+
+  init {
+    require(chunkSize in 3..MAX_CHUNK_SIZE) { "chunkSize must be in 3..$MAX_CHUNK_SIZE" }
+  }
+
+  /**
+   * Identifier of the transfer, shared by all its messages.
+   */
+  val transferId: Int = nextTransferId.incrementAndGet()
+
+  @Volatile
+  private var isStarted = false
+
+  /**
+   * Number of payload bytes sent so far.
+   */
+  @Volatile
+  var bytesSent = 0L
+    private set
+
+  /**
+   * Whether the transfer was cancelled, through [cancel], by interrupting the sending thread or
+   * because it failed.
+   */
+  @Volatile
+  var isCancelled = false
+    private set
+
+  /**
+   * Streams [input] until its end.
+   *
+   * The stream is read but not closed.
+   *
+   * @param input The stream holding the payload.
+   * @param totalLength Size of the payload, if known, reported to Unity and to the progress
+   * listener.
+   * @return `false` if the transfer was cancelled before its end.
+   * @throws IllegalStateException If the Unity Player is not ready or the transfer was already
+   * sent.
+   */
+  fun send(input: InputStream, totalLength: Long = UNKNOWN_LENGTH): Boolean {
+    return transfer(totalLength) { chunk -> input.readFully(chunk) }
+  }
+
+  /**
+   * Streams the remaining bytes of [payload], leaving its position untouched.
+   *
+   * @param payload The buffer holding the payload.
+   * @return `false` if the transfer was cancelled before its end.
+   * @throws IllegalStateException If the Unity Player is not ready or the transfer was already
+   * sent.
+   */
+  fun send(payload: ByteBuffer): Boolean {
+    val source = payload.duplicate()
+    return transfer(source.remaining().toLong()) { chunk ->
+      val length = minOf(chunk.size, source.remaining())
+      source.get(chunk, 0, length)
+      length
+    }
+  }
+
+  /**
+   * Stops the transfer before its next chunk and tells Unity to discard the chunks it received.
+   */
+  fun cancel() {
+    isCancelled = true
+  }
+
+  private inline fun transfer(totalLength: Long, read: (ByteArray) -> Int): Boolean {
+    check(!isStarted) { "Transfer $transferId was already sent" }
+    isStarted = true
+    check(UnityEngine.releasePreInitBuffer()) {
+      "The Unity Player is not ready to receive transfers"
+    }
+
+    val id = transferId.toHex()
+    send(BEGIN_METHOD, "$id:$totalLength:$gameObject:$methodName")
+
+    val chunk = ByteArray(chunkSize)
+    val frame = ByteArray(frameLength(chunkSize))
+    var sequence = 0
+    var isCancelSent = false
+    try {
+      while (true) {
+        if (isCancelled || Thread.currentThread().isInterrupted) {
+          isCancelled = true
+          isCancelSent = true
+          send(CANCEL_METHOD, id)
+          return false
+        }
+        val length = read(chunk)
+        if (length <= 0) break
+        val target = if (length == chunkSize) frame else ByteArray(frameLength(length))
+        writeHex(target, 0, transferId)
+        writeHex(target, HEX_DIGITS, sequence)
+        Base64Ascii.encode(chunk, length, target, HEADER_LENGTH)
+        UnityEngine.sendUncompressed(RECEIVER, CHUNK_METHOD, target, DeliveryMode.Immediate)
+        sequence++
+        bytesSent += length
+        progressListener?.onProgress(bytesSent, totalLength)
+        if (length < chunkSize) break
+      }
+      send(END_METHOD, "$id:$sequence:$bytesSent")
+    } catch (e: Throwable) {
+      // Unity would otherwise keep the chunks received so far until the transfer is abandoned.
+      isCancelled = true
+      if (!isCancelSent) {
+        runCatching { send(CANCEL_METHOD, id) }.exceptionOrNull()?.let(e::addSuppressed)
+      }
+      throw e
+    }
+    return true
+  }
+
+  private fun send(methodName: String, funcParam: String) {
+    UnityEngine.sendUncompressed(RECEIVER, methodName, funcParam, DeliveryMode.Immediate)
+  }
+
+  companion object {
+
+    /**
+     * Name of the GameObject reassembling the payloads.
+     */
+    const val RECEIVER = MessageBatchEnvelope.RECEIVER
+
+    const val BEGIN_METHOD = "BeginTransfer"
+    const val CHUNK_METHOD = "ReceiveChunk"
+    const val END_METHOD = "EndTransfer"
+    const val CANCEL_METHOD = "CancelTransfer"
+
+    /**
+     * Total length reported when the size of the payload is not known upfront.
+     */
+    const val UNKNOWN_LENGTH = -1L
+
+    const val DEFAULT_CHUNK_SIZE = 48 * 1024
+    const val MAX_CHUNK_SIZE = 1024 * 1024
+
+    private const val HEX_DIGITS = 8
+    private const val HEADER_LENGTH = 2 * HEX_DIGITS
+
+    private val nextTransferId = AtomicInteger()
+
+    private val hexDigits = "0123456789abcdef".toByteArray()
+
+    private fun frameLength(chunkLength: Int): Int {
+      return HEADER_LENGTH + Base64Ascii.encodedLength(chunkLength)
+    }
+
+    private fun Int.toHex(): String {
+      val hex = ByteArray(HEX_DIGITS)
+      writeHex(hex, 0, this)
+      return String(hex, Charsets.US_ASCII)
+    }
+
+    private fun writeHex(target: ByteArray, offset: Int, value: Int) {
+      for (index in 0 until HEX_DIGITS) {
+        val shift = (HEX_DIGITS - 1 - index) * 4
+        target[offset + index] = hexDigits[(value ushr shift) and 0xF]
+      }
+    }
+
+    /**
+     * Reads until [chunk] is full or the stream ends.
+     *
+     * @return The number of bytes read.
+     */
+    private fun InputStream.readFully(chunk: ByteArray): Int {
+      var length = 0
+      while (length < chunk.size) {
+        val read = read(chunk, length, chunk.size - length)
+        if (read < 0) break
+        length += read
+      }
+      return length
+    }
+  }
+}
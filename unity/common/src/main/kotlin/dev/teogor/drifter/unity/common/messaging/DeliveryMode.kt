@@ -0,0 +1,52 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.unity.common.messaging
+
+/**
+ * Describes how a message sent through [dev.teogor.drifter.unity.common.UnityEngine] is
+ * delivered to the Unity Player.
+ */
+enum class DeliveryMode {
+
+  /**
+   * The message is handed to the Unity Player right away, on the calling thread.
+   */
+  Immediate,
+
+  /**
+   * The message is appended to the current frame envelope and delivered, together with all
+   * the other batched messages, in a single native call when the Unity Player starts its
+   * next frame.
+   *
+   * @see MessageBatchEnvelope
+   */
+  Batched,
+
+  /**
+   * Only the latest message per GameObject and method is kept until the Unity Player starts
+   * its next frame, when it is delivered. Earlier pending messages for the same method are
+   * dropped, so the Unity Player receives at most one of them per frame.
+   *
+   * Coalesced messages are delivered after any [Immediate] message sent in the meantime, even
+   * to the same GameObject. Call [dev.teogor.drifter.unity.common.UnityEngine.flush] before an
+   * [Immediate] send that must be handled after them.
+   *
+   * Note: Payloads are kept until the next frame, byte arrays and buffers handed over with
+   * this mode must not be modified afterwards.
+   */
+  Coalesced,
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.unity.common.messaging
+
+/**
+ * Pure-JVM compressor producing the LZ4 block format, which C# libraries such as
+ * `K4os.Compression.LZ4` decode with `LZ4Codec.Decode`.
+ *
+ * It favours speed over ratio: matches are found through a single-entry hash table of 4-byte
+ * sequences, and the search speeds up over data that does not compress.
+ */
+internal object Lz4Block {
+
+  private const val MIN_MATCH = 4
+  private const val LAST_LITERALS = 5
+  private const val MF_LIMIT = 12
+  private const val MAX_OFFSET = 0xFFFF
+  private const val RUN_MASK = 15
+  private const val HASH_LOG = 12
+  private const val SKIP_TRIGGER = 6
+  private const val HASH_PRIME = -1640531535
+
+  /**
+   * Largest number of bytes [compress] can write for [length] input bytes.
+   */
+  fun maxCompressedLength(length: Int) = length + length / 255 + 16
+
+  /**
+   * Compresses the first [length] bytes of [source] into [target], starting at [offset].
+   *
+   * @return The number of bytes written, at most [maxCompressedLength] of [length].
+   */
+  fun compress(source: ByteArray, length: Int, target: ByteArray, offset: Int): Int {
+    var anchor = 0
+    var write = offset
+    if (length > MF_LIMIT) {
+      val table = IntArray(1 shl HASH_LOG) { -1 }
+      val matchLimit = length - LAST_LITERALS
+      val searchLimit = length - MF_LIMIT
+      var position = 0
+      while (position <= searchLimit) {
+        val sequence = readInt(source, position)
+        val hash = (sequence * HASH_PRIME) ushr (Int.SIZE_BITS - HASH_LOG)
+        val candidate = table[hash]
+        table[hash] = position
+        if (candidate < 0 ||
+          position - candidate > MAX_OFFSET ||
+          readInt(source, candidate) != sequence
+        ) {
+          position += 1 + ((position - anchor) ushr SKIP_TRIGGER)
+          continue
+        }
+        var start = position
+        var reference = candidate
+        while (start > anchor && reference > 0 && source[start - 1] == source[reference - 1]) {
+          start--
+          reference--
+        }
+        var end = position + MIN_MATCH
+        var referenceEnd = candidate + MIN_MATCH
+        while (end < matchLimit && source[end] == source[referenceEnd]) {
+          end++
+          referenceEnd++
+        }
+        write = writeSequence(
+          source = source,
+          literalStart = anchor,
+          literalLength = start - anchor,
+          matchOffset = start - reference,
+          matchLength = end - start,
+          target = target,
+          offset = write,
+        )
+        anchor = end
+        position = end
+      }
+    }
+    write = writeLiterals(source, anchor, length - anchor, target, write, matchNibble = 0)
+    return write - offset
+  }
+
+  private fun writeSequence(
+    source: ByteArray,
+    literalStart: Int,
+    literalLength: Int,
+    matchOffset: Int,
+    matchLength: Int,
+    target: ByteArray,
+    offset: Int,
+  ): Int {
+    val extraMatchLength = matchLength - MIN_MATCH
+    var write = writeLiterals(
+      source = source,
+      literalStart = literalStart,
+      literalLength = literalLength,
+      target = target,
+      offset = offset,
+      matchNibble = minOf(extraMatchLength, RUN_MASK),
+    )
+    target[write++] = matchOffset.toByte()
+    target[write++] = (matchOffset ushr 8).toByte()
+    if (extraMatchLength >= RUN_MASK) {
+      write = writeLength(extraMatchLength - RUN_MASK, target, write)
+    }
+    return write
+  }
+
+  private fun writeLiterals(
+    source: ByteArray,
+    literalStart: Int,
+    literalLength: Int,
+    target: ByteArray,
+    offset: Int,
+    matchNibble: Int,
+  ): Int {
+    target[offset] = ((minOf(literalLength, RUN_MASK) shl 4) or matchNibble).toByte()
+    var write = offset + 1
+    if (literalLength >= RUN_MASK) {
+      write = writeLength(literalLength - RUN_MASK, target, write)
+    }
+    System.arraycopy(source, literalStart, target, write, literalLength)
+    return write + literalLength
+  }
+
+  private fun writeLength(length: Int, target: ByteArray, offset: Int): Int {
+    var remaining = length
+    var write = offset
+    while (remaining >= 0xFF) {
+      target[write++] = 0xFF.toByte()
+      remaining -= 0xFF
+    }
+    target[write++] = remaining.toByte()
+    return write
+  }
+
+  private fun readInt(source: ByteArray, index: Int): Int {
+    return (source[index].toInt() and 0xFF) or
+      ((source[index + 1].toInt() and 0xFF) shl 8) or
+      ((source[index + 2].toInt() and 0xFF) shl 16) or
+      ((source[index + 3].toInt() and 0xFF) shl 24)
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.unity.common.messaging
+
+/**
+ * Wire contract for the envelope that carries all [DeliveryMode.Batched] messages of a frame.
+ *
+ * The envelope is delivered as the string parameter of [METHOD] on the [RECEIVER] GameObject.
+ * It is a plain concatenation of messages, each message being three length-prefixed fields:
+ *
+ * ```
+ * <length>:<gameObject><length>:<methodName><length>:<funcParam>
+ * ```
+ *
+ * Every `<length>` is the decimal number of UTF-16 code units of the field that follows, which
+ * matches `string.Length` in C#. Fields are never escaped, so payloads are copied verbatim.
+ *
+ * A matching unpacker on the Unity side looks like this:
+ *
+ * ```csharp
+ * public class DrifterBridge : MonoBehaviour {
+ *   public void ReceiveBatch(string envelope) {
+ *     var index = 0;
+ *     while (index < envelope.Length) {
+ *       var gameObjectName = ReadField(envelope, ref index);
+ *       var methodName = ReadField(envelope, ref index);
+ *       var funcParam = ReadField(envelope, ref index);
+ *       GameObject.Find(gameObjectName)?.SendMessage(methodName, funcParam);
+ *     }
+ *   }
+ *
+ *   private static string ReadField(string envelope, ref int index) {
+ *     var separator = envelope.IndexOf(':', index);
+ *     var length = int.Parse(envelope.Substring(index, separator - index));
+ *     index = separator + 1 + length;
+ *     return envelope.Substring(separator + 1, length);
+ *   }
+ * }
+ * ```
+ */
+object MessageBatchEnvelope {
+
+  /**
+   * Name of the Unity GameObject that unpacks the envelope.
+   */
+  const val RECEIVER = "DrifterBridge"
+
+  /**
+   * Name of the method invoked on [RECEIVER] with the envelope as parameter.
+   */
+  const val METHOD = "ReceiveBatch"
+
+  /**
+   * Separator between the length of a field and its content.
+   */
+  const val LENGTH_SEPARATOR = ':'
+
+  /**
+   * Appends a single message to [envelope] following the envelope format.
+   *
+   * @param envelope The envelope being built.
+   * @param gameObject The name of the GameObject to send the message to.
+   * @param methodName The name of the method to invoke on the GameObject.
+   * @param funcParam The parameter to pass to the invoked method.
+   */
+  fun append(
+    envelope: StringBuilder,
+    gameObject: String,
+    methodName: String,
+    funcParam: String,
+  ) {
+    appendField(envelope, gameObject)
+    appendField(envelope, methodName)
+    appendField(envelope, funcParam)
+  }
+
+  internal fun appendField(envelope: StringBuilder, field: String) {
+    envelope.append(field.length).append(LENGTH_SEPARATOR).append(field)
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.unity.common.messaging
+
+/**
+ * Collects [DeliveryMode.Batched] messages into a single [MessageBatchEnvelope] per frame.
+ *
+ * The batcher hooks itself into [UnityFrameCallbacks] the first time a message is enqueued, so
+ * applications that never batch pay nothing. When the pending envelope grows past
+ * [maxEnvelopeLength] it is flushed on the calling thread instead of waiting for the next frame,
+ * which keeps memory bounded while the Unity Player is paused.
+ *
+ * @param maxEnvelopeLength Envelope length, in UTF-16 code units, that triggers an early flush.
+ * @param sendEnvelope Delivers a complete envelope to the Unity Player.
+ */
+internal class MessageBatcher(
+  private val maxEnvelopeLength: Int = DEFAULT_MAX_ENVELOPE_LENGTH,
+  private val sendEnvelope: (String) -> Unit,
+) : UnityFrameCallbacks.FrameListener {
+
+  private val lock = Any()
+  private val envelope = StringBuilder()
+
+  @Volatile
+  private var isAttached = false
+
+  /**
+   * Appends a message to the envelope of the current frame.
+   */
+  fun enqueue(gameObject: String, methodName: String, funcParam: String) {
+    attachIfNeeded()
+    val overflow = synchronized(lock) {
+      MessageBatchEnvelope.append(envelope, gameObject, methodName, funcParam)
+      if (envelope.length >= maxEnvelopeLength) drainLocked() else null
+    }
+    overflow?.let(sendEnvelope)
+  }
+
+  /**
+   * Delivers the pending envelope right away, if there is one.
+   */
+  fun flush() {
+    val pending = synchronized(lock) { drainLocked() }
+    pending?.let(sendEnvelope)
+  }
+
+  override fun onFrame() = flush()
+
+  private fun drainLocked(): String? {
+    if (envelope.isEmpty()) return null
+    val pending = envelope.toString()
+    envelope.setLength(0)
+    return pending
+  }
+
+  private fun attachIfNeeded() {
+    if (isAttached) return
+    synchronized(lock) {
+      if (isAttached) return
+      UnityFrameCallbacks.addFrameListener(this)
+      isAttached = true
+    }
+  }
+
+  companion object {
+    const val DEFAULT_MAX_ENVELOPE_LENGTH = 64 * 1024
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.unity.common.messaging
+
+/**
+ * Keeps the latest [DeliveryMode.Coalesced] message per GameObject and method, and delivers
+ * the pending messages once per frame.
+ *
+ * Pending messages are double buffered: a frame swaps the two tables under the lock and
+ * delivers the swapped one outside of it, so senders are never blocked by native calls. Both
+ * tables are reused from frame to frame.
+ *
+ * @param sendMessage Delivers a single message, whose parameter is either a [String] or a
+ * [ByteArray], to the Unity Player.
+ */
+internal class MessageCoalescer(
+  private val sendMessage: (gameObject: String, methodName: String, funcParam: Any) -> Unit,
+) : UnityFrameCallbacks.FrameListener {
+
+  private val lock = Any()
+  private val drainLock = Any()
+
+  private var pending = HashMap<String, LinkedHashMap<String, Any>>()
+  private var draining = HashMap<String, LinkedHashMap<String, Any>>()
+  private var hasPending = false
+
+  @Volatile
+  private var isAttached = false
+
+  /**
+   * Replaces the pending message of [gameObject] and [methodName] with [funcParam].
+   */
+  fun enqueue(gameObject: String, methodName: String, funcParam: Any) {
+    attachIfNeeded()
+    synchronized(lock) {
+      pending.getOrPut(gameObject) { LinkedHashMap() }[methodName] = funcParam
+      hasPending = true
+    }
+  }
+
+  /**
+   * Delivers the pending messages right away, if there are any.
+   */
+  fun flush() {
+    synchronized(drainLock) {
+      val messages = synchronized(lock) {
+        if (!hasPending) return
+        val swapped = pending
+        pending = draining
+        draining = swapped
+        hasPending = false
+        swapped
+      }
+      for ((gameObject, methods) in messages) {
+        for ((methodName, funcParam) in methods) {
+          sendMessage(gameObject, methodName, funcParam)
+        }
+        methods.clear()
+      }
+    }
+  }
+
+  override fun onFrame() = flush()
+
+  private fun attachIfNeeded() {
+    if (isAttached) return
+    synchronized(lock) {
+      if (isAttached) return
+      UnityFrameCallbacks.addFrameListener(this)
+      isAttached = true
+    }
+  }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.unity.common.messaging
+
+import java.nio.ByteBuffer
+
+/**
+ * Returns the remaining bytes of this buffer as an array that can be handed to the native
+ * send call.
+ *
+ * When the buffer is backed by an array that holds exactly its remaining bytes, that array is
+ * returned as is and no copy is made. Direct buffers and slices are copied once, since the
+ * native call only accepts a whole `byte[]`. The position of the buffer is left untouched.
+ *
+ * @return The message data held by this buffer.
+ */
+fun ByteBuffer.asMessageData(): ByteArray {
+  if (hasArray()) {
+    val array = array()
+    if (arrayOffset() == 0 && position() == 0 && remaining() == array.size) {
+      return array
+    }
+  }
+  val data = ByteArray(remaining())
+  duplicate().get(data)
+  return data
+}
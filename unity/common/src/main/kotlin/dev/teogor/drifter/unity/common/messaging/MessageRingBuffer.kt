@@ -0,0 +1,121 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.unity.common.messaging
+
+import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.atomic.AtomicLongArray
+
+/**
+ * Bounded lock-free queue of messages, after Dmitry Vyukov's bounded MPMC queue.
+ *
+ * Every slot carries a sequence number telling whether it is free for the producer of a given
+ * position or filled for the consumer of that position. Producers claim a position with a
+ * single CAS, write the message into parallel arrays and publish it by advancing the sequence,
+ * so offering a message neither locks nor allocates.
+ *
+ * The queue supports concurrent consumers, which lets producers discard the oldest message
+ * on overflow while the bridge thread drains the queue.
+ *
+ * @param capacity Maximum number of queued messages, rounded up to a power of two.
+ */
+internal class MessageRingBuffer(capacity: Int) {
+
+  /**
+   * Receives a message removed from the queue.
+   */
+  fun interface Consumer {
+    fun accept(gameObject: String, methodName: String, funcParam: Any)
+  }
+
+  val capacity: Int = Integer.highestOneBit(maxOf(capacity, 2) * 2 - 1)
+
+  private val mask = this.capacity - 1
+  private val sequences = AtomicLongArray(this.capacity)
+  private val gameObjects = arrayOfNulls<String>(this.capacity)
+  private val methodNames = arrayOfNulls<String>(this.capacity)
+  private val funcParams = arrayOfNulls<Any>(this.capacity)
+
+  private val enqueuePosition = AtomicLong()
+  private val dequeuePosition = AtomicLong()
+
+  init {
+    for (index in 0 until this.capacity) {
+      sequences.set(index, index.toLong())
+    }
+  }
+
+  /**
+   * Approximate number of queued messages.
+   */
+  val size: Int
+    get() = (enqueuePosition.get() - dequeuePosition.get()).coerceIn(0, capacity.toLong()).toInt()
+
+  /**
+   * Appends a message, returning `false` if the queue is full.
+   */
+  fun offer(gameObject: String, methodName: String, funcParam: Any): Boolean {
+    var position = enqueuePosition.get()
+    while (true) {
+      val index = (position and mask.toLong()).toInt()
+      val difference = sequences.get(index) - position
+      when {
+        difference == 0L -> if (enqueuePosition.compareAndSet(position, position + 1)) {
+          gameObjects[index] = gameObject
+          methodNames[index] = methodName
+          funcParams[index] = funcParam
+          sequences.set(index, position + 1)
+          return true
+        } else {
+          position = enqueuePosition.get()
+        }
+
+        difference < 0L -> return false
+        else -> position = enqueuePosition.get()
+      }
+    }
+  }
+
+  /**
+   * Removes the oldest message and hands it to [consumer], returning `false` if the queue is
+   * empty.
+   */
+  fun poll(consumer: Consumer?): Boolean {
+    var position = dequeuePosition.get()
+    while (true) {
+      val index = (position and mask.toLong()).toInt()
+      val difference = sequences.get(index) - (position + 1)
+      when {
+        difference == 0L -> if (dequeuePosition.compareAndSet(position, position + 1)) {
+          val gameObject = gameObjects[index]!!
+          val methodName = methodNames[index]!!
+          val funcParam = funcParams[index]!!
+          gameObjects[index] = null
+          methodNames[index] = null
+          funcParams[index] = null
+          sequences.set(index, position + capacity)
+          consumer?.accept(gameObject, methodName, funcParam)
+          return true
+        } else {
+          position = dequeuePosition.get()
+        }
+
+        difference < 0L -> return false
+        else -> position = dequeuePosition.get()
+      }
+    }
+  }
+}
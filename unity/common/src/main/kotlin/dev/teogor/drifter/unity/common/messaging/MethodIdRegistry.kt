@@ -0,0 +1,222 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.unity.common.messaging
+
+/**
+ * Assigns compact integer IDs to the (GameObject, method) pairs of the bridge.
+ *
+ * Generated `*ActionMappings` objects register their methods here, and `UnityEngine` sends
+ * messages by ID to the [DISPATCH_METHOD] of the [RECEIVER] GameObject. Before the first
+ * message that uses a new ID, the whole table is sent to [REGISTER_METHOD], encoded as a
+ * sequence of GameObject and method fields in the [MessageBatchEnvelope] format, the position
+ * of a pair being its ID. A dispatch payload is the decimal ID, a `:` and the parameter.
+ *
+ * The Unity side keeps the table and resolves the handler of an ID on its first dispatch, then
+ * dispatches through an array lookup instead of `GameObject.SendMessage`. A handler is resolved
+ * again whenever the previous lookup missed or its component was destroyed, so GameObjects that
+ * are created or reloaded after the table arrived are still reached:
+ *
+ * ```csharp
+ * public class DrifterBridge : MonoBehaviour {
+ *   private string[] targets = new string[0];
+ *   private string[] methodNames = new string[0];
+ *   private Action<string>[] handlers = new Action<string>[0];
+ *
+ *   public void RegisterMethods(string table) {
+ *     var targetList = new List<string>();
+ *     var methodList = new List<string>();
+ *     var index = 0;
+ *     while (index < table.Length) {
+ *       targetList.Add(ReadField(table, ref index));
+ *       methodList.Add(ReadField(table, ref index));
+ *     }
+ *     targets = targetList.ToArray();
+ *     methodNames = methodList.ToArray();
+ *     Array.Resize(ref handlers, methodNames.Length);
+ *   }
+ *
+ *   public void Dispatch(string payload) {
+ *     var id = 0;
+ *     var index = 0;
+ *     for (char c; (c = payload[index++]) != ':';) {
+ *       id = id * 10 + (c - '0');
+ *     }
+ *     var handler = handlers[id];
+ *     if (handler == null || handler.Target as UnityEngine.Object == null) {
+ *       handler = handlers[id] = Resolve(GameObject.Find(targets[id]), methodNames[id]);
+ *     }
+ *     handler?.Invoke(payload.Substring(index));
+ *   }
+ *
+ *   private static Action<string> Resolve(GameObject target, string methodName) {
+ *     if (target == null) return null;
+ *     foreach (var component in target.GetComponents<MonoBehaviour>()) {
+ *       var method = component.GetType().GetMethod(methodName, new[] { typeof(string) });
+ *       if (method != null && method.ReturnType == typeof(void)) {
+ *         return (Action<string>) Delegate.CreateDelegate(
+ *           typeof(Action<string>), component, method);
+ *       }
+ *     }
+ *     return null;
+ *   }
+ * }
+ * ```
+ *
+ * The ID is parsed in place, so the only string allocated by a dispatch is the parameter handed
+ * to the handler.
+ *
+ * Handlers must return `void`: `Delegate.CreateDelegate` cannot bind any other method to an
+ * `Action<string>` and throws, so methods with a return value are skipped and never reached by
+ * ID. `GameObject.SendMessage` has no such restriction.
+ *
+ * `ReadField` is the helper documented in [MessageBatchEnvelope]. IDs are assigned in
+ * registration order and are only valid for the lifetime of the process.
+ */
+object MethodIdRegistry {
+
+  /**
+   * Name of the Unity GameObject that receives the table and dispatches messages by ID.
+   */
+  const val RECEIVER = MessageBatchEnvelope.RECEIVER
+
+  /**
+   * Name of the method invoked on [RECEIVER] with the encoded table.
+   */
+  const val REGISTER_METHOD = "RegisterMethods"
+
+  /**
+   * Name of the method invoked on [RECEIVER] with the ID and parameter of a message.
+   */
+  const val DISPATCH_METHOD = "Dispatch"
+
+  /**
+   * Separator between the ID of a message and its parameter.
+   */
+  const val ID_SEPARATOR = ':'
+
+  /**
+   * Value returned by [idOf] for pairs that were never registered.
+   */
+  const val NO_ID = -1
+
+  private val lock = Any()
+  private val ids = HashMap<String, HashMap<String, Int>>()
+
+  @Volatile
+  private var gameObjects: Array<String> = emptyArray()
+
+  @Volatile
+  private var methodNames: Array<String> = emptyArray()
+
+  /**
+   * Number of registered pairs. Since IDs are never reused, it also acts as the version of the
+   * table.
+   */
+  val size: Int
+    get() = methodNames.size
+
+  /**
+   * Registers a method of a GameObject, returning its ID. Registering the same pair again
+   * returns the same ID.
+   *
+   * @param gameObject The name of the GameObject.
+   * @param methodName The name of the method to invoke on the GameObject.
+   * @return The ID of the pair.
+   */
+  fun register(gameObject: String, methodName: String): Int {
+    synchronized(lock) {
+      val methods = ids.getOrPut(gameObject) { HashMap() }
+      methods[methodName]?.let { return it }
+      val id = methodNames.size
+      methods[methodName] = id
+      gameObjects += gameObject
+      methodNames += methodName
+      return id
+    }
+  }
+
+  /**
+   * Returns the ID of a method of a GameObject.
+   *
+   * @param gameObject The name of the GameObject.
+   * @param methodName The name of the method.
+   * @return The ID of the pair, or [NO_ID] if it was never registered.
+   */
+  fun idOf(gameObject: String, methodName: String): Int {
+    synchronized(lock) {
+      return ids[gameObject]?.get(methodName) ?: NO_ID
+    }
+  }
+
+  /**
+   * Returns the name of the GameObject registered under [methodId].
+   */
+  fun gameObjectOf(methodId: Int): String = gameObjects.getOrNull(methodId)
+    ?: throw IllegalArgumentException("Unknown method ID: $methodId")
+
+  /**
+   * Returns the name of the method registered under [methodId].
+   */
+  fun methodNameOf(methodId: Int): String = methodNames.getOrNull(methodId)
+    ?: throw IllegalArgumentException("Unknown method ID: $methodId")
+
+  /**
+   * Encodes the table of the first [size] registered pairs, to be sent to [REGISTER_METHOD].
+   *
+   * @param size Number of pairs to encode.
+   * @return The table, as a sequence of GameObject and method fields.
+   */
+  fun encodeTable(size: Int = this.size): String {
+    val gameObjects = gameObjects
+    val methodNames = methodNames
+    val table = StringBuilder()
+    for (id in 0 until size) {
+      MessageBatchEnvelope.appendField(table, gameObjects[id])
+      MessageBatchEnvelope.appendField(table, methodNames[id])
+    }
+    return table.toString()
+  }
+
+  /**
+   * Encodes the payload of a message sent by ID to [DISPATCH_METHOD].
+   *
+   * The digits of the ID are written straight into the payload, which is the only array
+   * allocated: the native bridge takes a `byte[]` without a length, so it must be exact-size.
+   *
+   * @param methodId The ID of the method.
+   * @param funcParam The UTF-8 encoded parameter to pass to the method.
+   * @return The UTF-8 encoded dispatch payload.
+   */
+  fun encodeDispatch(methodId: Int, funcParam: ByteArray): ByteArray {
+    require(methodId >= 0) { "Invalid method ID: $methodId" }
+    var digits = 1
+    var remaining = methodId / 10
+    while (remaining != 0) {
+      digits++
+      remaining /= 10
+    }
+    val payload = ByteArray(digits + 1 + funcParam.size)
+    remaining = methodId
+    for (index in digits - 1 downTo 0) {
+      payload[index] = ('0'.code + remaining % 10).toByte()
+      remaining /= 10
+    }
+    payload[digits] = ID_SEPARATOR.code.toByte()
+    System.arraycopy(funcParam, 0, payload, digits + 1, funcParam.size)
+    return payload
+  }
+}
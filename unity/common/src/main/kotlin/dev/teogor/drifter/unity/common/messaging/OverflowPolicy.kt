@@ -0,0 +1,46 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.unity.common.messaging
+
+/**
+ * Describes what an [AsyncMessageSender] does with a message sent while its queue is full.
+ */
+enum class OverflowPolicy {
+
+  /**
+   * The producer waits until the bridge thread frees a slot.
+   */
+  Block,
+
+  /**
+   * The oldest queued message is dropped to make room for the new one.
+   */
+  DropOldest,
+
+  /**
+   * The new message is dropped.
+   */
+  DropNewest,
+
+  /**
+   * The new message is kept in an overflow table holding one message per GameObject and
+   * method, replacing any earlier overflowed message for the same method. The table is
+   * delivered once the queue has been drained, so the latest value of every method still
+   * reaches the Unity Player.
+   */
+  Coalesce,
+}
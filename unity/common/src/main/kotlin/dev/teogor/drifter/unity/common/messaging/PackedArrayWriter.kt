@@ -0,0 +1,166 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.unity.common.messaging
+
+import dev.teogor.drifter.unity.common.UnityEngine
+import dev.teogor.drifter.unity.common.memory.SharedMemorySlot
+import java.nio.ByteBuffer
+import java.nio.ByteOrder
+
+/**
+ * Packs primitive arrays describing many entities into a single binary message.
+ *
+ * Each array is a column holding one value per entity, so a frame worth of positions or states
+ * for all the entities of a receiver crosses the bridge in one message, without boxing. The
+ * message is little-endian and laid out as follows:
+ *
+ * ```
+ * int32 schemaId
+ * int32 count        number of entities
+ * int32 columnCount
+ * columnCount times:
+ *   int32 type       TYPE_FLOAT32 or TYPE_INT32
+ *   count values of 4 bytes
+ * ```
+ *
+ * The writer and its buffer are reused from one message to the next. Generated
+ * `PackedArrays` classes drive it for the classes annotated with `DrifterPackedArrays`.
+ *
+ * ```kotlin
+ * writer.begin(fishCount)
+ *   .column(positionsX)
+ *   .column(positionsY)
+ *   .column(states)
+ *   .send("FishSchool", "UpdateFish")
+ * ```
+ *
+ * @param schemaId Identifier of the layout of the columns, checked by the receiver.
+ * @param initialCapacity Initial size of the buffer, in bytes. It grows as needed.
+ */
+class PackedArrayWriter(
+  val schemaId: Int = 0,
+  initialCapacity: Int = DEFAULT_INITIAL_CAPACITY,
+) {
+
+  private var buffer = ByteBuffer.allocate(initialCapacity).order(ByteOrder.LITTLE_ENDIAN)
+  private var count = 0
+  private var columnCount = 0
+
+  /**
+   * Size of the packed message, in bytes.
+   */
+  val size: Int
+    get() = buffer.position()
+
+  /**
+   * Starts a new message for [count] entities, discarding the previous one.
+   *
+   * @param count The number of entities, which is the number of values read from every column.
+   */
+  fun begin(count: Int): PackedArrayWriter {
+    require(count >= 0) { "count must not be negative, was $count" }
+    this.count = count
+    columnCount = 0
+    buffer.clear()
+    buffer.putInt(schemaId).putInt(count).putInt(0)
+    return this
+  }
+
+  /**
+   * Appends the first `count` values of [values] as a column.
+   */
+  fun column(values: FloatArray): PackedArrayWriter {
+    require(values.size >= count) { "Column has ${values.size} values, expected $count" }
+    appendColumn(TYPE_FLOAT32)
+    buffer.asFloatBuffer().put(values, 0, count)
+    buffer.position(buffer.position() + count * VALUE_SIZE)
+    return this
+  }
+
+  /**
+   * Appends the first `count` values of [values] as a column.
+   */
+  fun column(values: IntArray): PackedArrayWriter {
+    require(values.size >= count) { "Column has ${values.size} values, expected $count" }
+    appendColumn(TYPE_INT32)
+    buffer.asIntBuffer().put(values, 0, count)
+    buffer.position(buffer.position() + count * VALUE_SIZE)
+    return this
+  }
+
+  /**
+   * Returns the packed message, Base64 encoded, since the native send call delivers its
+   * parameter to C# as a string.
+   */
+  fun toMessageData(): ByteArray {
+    buffer.putInt(COLUMN_COUNT_OFFSET, columnCount)
+    val data = ByteArray(Base64Ascii.encodedLength(size))
+    Base64Ascii.encode(buffer.array(), size, data, 0)
+    return data
+  }
+
+  /**
+   * Sends the packed message to [gameObject].
+   *
+   * @param gameObject The name of the GameObject to send the message to.
+   * @param methodName The name of the method receiving the message.
+   * @param deliveryMode How the message is delivered. Defaults to [DeliveryMode.Coalesced], so
+   * the Unity Player receives only the latest message per frame.
+   */
+  fun send(
+    gameObject: String,
+    methodName: String,
+    deliveryMode: DeliveryMode = DeliveryMode.Coalesced,
+  ) {
+    UnityEngine.sendUncompressed(gameObject, methodName, toMessageData(), deliveryMode)
+  }
+
+  /**
+   * Copies the packed message, unencoded, into [slot], to be sent as a shared-memory handle.
+   *
+   * @param slot The slot receiving the message, from its current position.
+   */
+  fun writeTo(slot: SharedMemorySlot) {
+    buffer.putInt(COLUMN_COUNT_OFFSET, columnCount)
+    slot.buffer.put(buffer.array(), 0, size)
+  }
+
+  private fun appendColumn(type: Int) {
+    ensureRemaining(VALUE_SIZE + count * VALUE_SIZE)
+    buffer.putInt(type)
+    columnCount++
+  }
+
+  private fun ensureRemaining(length: Int) {
+    if (buffer.remaining() >= length) return
+    val grown = ByteBuffer.allocate(maxOf(buffer.capacity() * 2, buffer.position() + length))
+      .order(ByteOrder.LITTLE_ENDIAN)
+    buffer.flip()
+    grown.put(buffer)
+    buffer = grown
+  }
+
+  companion object {
+    const val TYPE_FLOAT32 = 0
+    const val TYPE_INT32 = 1
+
+    const val DEFAULT_INITIAL_CAPACITY = 4 * 1024
+
+    private const val VALUE_SIZE = 4
+    private const val COLUMN_COUNT_OFFSET = 8
+  }
+}
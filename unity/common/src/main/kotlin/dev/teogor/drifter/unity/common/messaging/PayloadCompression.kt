@@ -0,0 +1,117 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.unity.common.messaging
+
+/**
+ * Opt-in compression of large message parameters sent through
+ * [dev.teogor.drifter.unity.common.UnityEngine].
+ *
+ * Parameters of at least [threshold] bytes are compressed with the LZ4 block format and sent as
+ * a single [FLAG] character followed by the Base64 encoding of:
+ *
+ * ```
+ * <uncompressedLength:int32 little-endian><LZ4 block>
+ * ```
+ *
+ * Smaller parameters, and parameters that do not get smaller once encoded, are sent unchanged,
+ * so the receiving method only needs to check the first character:
+ *
+ * ```csharp
+ * public void OnConfig(string param) {
+ *   if (param.Length > 0 && param[0] == '\u0001') {
+ *     var packed = Convert.FromBase64String(param.Substring(1));
+ *     var json = new byte[BitConverter.ToInt32(packed, 0)];
+ *     LZ4Codec.Decode(packed, 4, packed.Length - 4, json, 0, json.Length);
+ *     param = Encoding.UTF8.GetString(json);
+ *   }
+ *   // ...
+ * }
+ * ```
+ *
+ * Parameters sent through `UnityEngine.sendUncompressed`, as the messages of the bridge's own
+ * protocols are, are never compressed.
+ *
+ * Note: While compression is enabled, uncompressed parameters must not start with [FLAG].
+ */
+object PayloadCompression {
+
+  /**
+   * First character of every compressed parameter.
+   */
+  const val FLAG = '\u0001'
+
+  /**
+   * Value of [threshold] that disables compression.
+   */
+  const val DISABLED = Int.MAX_VALUE
+
+  /**
+   * Suggested [threshold], in bytes, above which compressing repetitive JSON takes less time
+   * than handing the extra bytes to the Unity Player. `PayloadCompressionBenchmark` measures
+   * the break-even point on a given device.
+   */
+  const val DEFAULT_THRESHOLD = 4 * 1024
+
+  private const val LENGTH_SIZE = Int.SIZE_BYTES
+
+  /**
+   * Size, in bytes, from which message parameters are compressed. Defaults to [DISABLED].
+   */
+  @Volatile
+  var threshold: Int = DISABLED
+    set(value) {
+      require(value > 0) { "threshold must be positive, was $value" }
+      field = value
+    }
+
+  /**
+   * Compresses [payload] when it reaches [threshold] and gets smaller once encoded.
+   *
+   * @param payload The UTF-8 encoded message parameter.
+   * @return The compressed parameter, starting with [FLAG], or `null` if [payload] should be
+   * sent as is.
+   */
+  fun compress(payload: ByteArray): ByteArray? {
+    if (payload.size < threshold) return null
+    val packed = ByteArray(LENGTH_SIZE + Lz4Block.maxCompressedLength(payload.size))
+    for (index in 0 until LENGTH_SIZE) {
+      packed[index] = (payload.size ushr (index * Byte.SIZE_BITS)).toByte()
+    }
+    val packedLength = LENGTH_SIZE + Lz4Block.compress(payload, payload.size, packed, LENGTH_SIZE)
+    val encodedLength = 1 + Base64Ascii.encodedLength(packedLength)
+    if (encodedLength >= payload.size) return null
+    val encoded = ByteArray(encodedLength)
+    encoded[0] = FLAG.code.toByte()
+    Base64Ascii.encode(packed, packedLength, encoded, 1)
+    return encoded
+  }
+
+  /**
+   * Compresses [payload] when it reaches [threshold] and gets smaller once encoded.
+   *
+   * The length check is made on UTF-16 code units, so parameters below [threshold] are never
+   * encoded.
+   *
+   * @param payload The message parameter.
+   * @return The compressed parameter, starting with [FLAG], or `null` if [payload] should be
+   * sent as is.
+   */
+  fun compress(payload: String): ByteArray? {
+    if (payload.length < threshold) return null
+    return compress(payload.toByteArray(Charsets.UTF_8))
+  }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.unity.common.messaging
+
+import android.util.Log
+
+/**
+ * Holds the messages sent before the Unity Player is ready and replays them once it is.
+ *
+ * Messages are coalesced per GameObject and method: a newer message replaces the pending one
+ * and moves to the end of the replay order, so the Unity Player receives the latest value of
+ * every method, in the order those values were produced. At most [maxMessages] methods are
+ * kept; beyond that the oldest pending message is dropped and counted in [droppedCount].
+ *
+ * The buffer attaches itself to [UnityFrameCallbacks] when it receives its first message and
+ * replays on the first frame for which [isPlayerReady] holds. Replaying happens under the
+ * buffer lock, so messages sent concurrently are delivered after the replayed ones. Once
+ * drained, the buffer is bypassed until the Unity Player stops being ready, for instance after
+ * it was destroyed; it is then re-armed and holds messages until the next ready frame.
+ *
+ * @param maxMessages Maximum number of pending messages.
+ * @param isPlayerReady Tells whether the Unity Player can receive messages.
+ * @param sendMessage Delivers a replayed message, whose parameter is either a [String] or a
+ * [ByteArray].
+ */
+internal class PreInitMessageBuffer(
+  private val maxMessages: Int = DEFAULT_MAX_MESSAGES,
+  private val isPlayerReady: () -> Boolean,
+  private val sendMessage: (gameObject: String, methodName: String, funcParam: Any) -> Unit,
+) : UnityFrameCallbacks.FrameListener {
+
+  private data class Key(val gameObject: String, val methodName: String)
+
+  private val lock = Any()
+  private val pending = LinkedHashMap<Key, Any>()
+  private var isAttached = false
+  private var isReleased = false
+
+  @Volatile
+  private var isDrained = false
+
+  /**
+   * Number of messages dropped because the buffer was full.
+   */
+  @Volatile
+  var droppedCount = 0L
+    private set
+
+  /**
+   * Buffers a message while the Unity Player is not ready.
+   *
+   * @return `false` if the message must be sent right away, either because the player is ready
+   * and nothing is pending or because the buffer was already released.
+   */
+  fun offer(gameObject: String, methodName: String, funcParam: Any): Boolean {
+    synchronized(lock) {
+      if (isReleased) return false
+      if (pending.isEmpty() && isPlayerReady()) {
+        release()
+        return false
+      }
+      val key = Key(gameObject, methodName)
+      pending.remove(key)
+      pending[key] = funcParam
+      if (pending.size > maxMessages) {
+        val oldest = pending.keys.first()
+        pending.remove(oldest)
+        droppedCount++
+        Log.w(TAG, "Dropped ${oldest.methodName} of ${oldest.gameObject}, buffer is full")
+      }
+      if (!isAttached) {
+        UnityFrameCallbacks.addFrameListener(this)
+        isAttached = true
+      }
+    }
+    return true
+  }
+
+  /**
+   * Whether messages bypass the buffer, which is the case once it was replayed and as long as
+   * the Unity Player stays ready.
+   */
+  val isBypassed: Boolean
+    get() = isDrained && isPlayerReady()
+
+  /**
+   * Releases the buffer if nothing is pending and the Unity Player is ready, and re-arms it if
+   * it was released but the player is no longer ready.
+   *
+   * @return Whether messages bypass the buffer.
+   */
+  fun tryRelease(): Boolean {
+    if (isBypassed) return true
+    synchronized(lock) {
+      if (isDrained && !isPlayerReady()) {
+        isReleased = false
+        isDrained = false
+      }
+      if (isReleased) return true
+      if (pending.isEmpty() && isPlayerReady()) {
+        release()
+        return true
+      }
+      return false
+    }
+  }
+
+  override fun onFrame() {
+    if (!isPlayerReady()) return
+    synchronized(lock) {
+      if (isReleased) return
+      // Released before replaying so that re-entrant sends go straight to the player.
+      isReleased = true
+      for ((key, funcParam) in pending) {
+        sendMessage(key.gameObject, key.methodName, funcParam)
+      }
+      pending.clear()
+      isDrained = true
+      UnityFrameCallbacks.removeFrameListener(this)
+      isAttached = false
+    }
+  }
+
+  private fun release() {
+    isReleased = true
+    isDrained = true
+  }
+
+  companion object {
+    const val DEFAULT_MAX_MESSAGES = 256
+
+    private const val TAG = "PreInitMessageBuffer"
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.unity.common.messaging
+
+/**
+ * Registry of callbacks invoked once per Unity frame.
+ *
+ * Unity Player implementations call [dispatchFrame] from their render thread every time they
+ * handle a `NEXT_FRAME` message, right before the frame is rendered. Components that need to
+ * run work in lockstep with Unity, such as the [DeliveryMode.Batched] message bus, register a
+ * [FrameListener] here.
+ */
+object UnityFrameCallbacks {
+
+  /**
+   * Receives a callback for every frame produced by the Unity Player.
+   */
+  fun interface FrameListener {
+
+    /**
+     * Called on the Unity render thread before the frame is rendered.
+     */
+    fun onFrame()
+  }
+
+  private val lock = Any()
+
+  @Volatile
+  private var listeners: Array<FrameListener> = emptyArray()
+
+  /**
+   * Registers a [FrameListener]. Registering the same listener twice has no effect.
+   *
+   * @param listener The listener to register.
+   */
+  fun addFrameListener(listener: FrameListener) {
+    synchronized(lock) {
+      if (listener in listeners) return
+      listeners += listener
+    }
+  }
+
+  /**
+   * Unregisters a previously registered [FrameListener].
+   *
+   * @param listener The listener to unregister.
+   */
+  fun removeFrameListener(listener: FrameListener) {
+    synchronized(lock) {
+      listeners = listeners.filterNot { it === listener }.toTypedArray()
+    }
+  }
+
+  /**
+   * Notifies every registered [FrameListener] that a new frame is about to be rendered.
+   *
+   * Note: Called by the Unity Player from its render thread.
+   */
+  @JvmStatic
+  fun dispatchFrame() {
+    val snapshot = listeners
+    for (index in snapshot.indices) {
+      snapshot[index].onFrame()
+    }
+  }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.unity.common.metrics
+
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * Collects traffic and latency metrics of the bridge between Android and Unity.
+ *
+ * Metrics are disabled by default. While disabled, instrumented call sites only read
+ * [isEnabled], so it can be left in production builds and turned on when needed:
+ *
+ * ```kotlin
+ * BridgeMetrics.isEnabled = true
+ * // ...
+ * val snapshot = BridgeMetrics.snapshot()
+ * Log.d("Bridge", "${snapshot.messageCount} messages, ${snapshot.payloadBytes} bytes")
+ * ```
+ *
+ * `UnityEngine` records every message per GameObject and method along with the time spent
+ * sending it, and the time spent in the native send calls of the Unity Player. `UnityDispatcher`
+ * records the time spent serializing its messages.
+ */
+object BridgeMetrics {
+
+  private class MethodMetrics {
+    val messageCount = AtomicLong()
+    val payloadBytes = AtomicLong()
+    val sendLatency = LatencyHistogram()
+  }
+
+  /**
+   * Whether metrics are recorded.
+   */
+  @Volatile
+  var isEnabled = false
+
+  private val methods = ConcurrentHashMap<String, ConcurrentHashMap<String, MethodMetrics>>()
+  private val nativeSendLatency = LatencyHistogram()
+  private val serializationLatency = LatencyHistogram()
+
+  /**
+   * Records a message sent to [methodName] of [gameObject].
+   *
+   * @param gameObject The name of the GameObject.
+   * @param methodName The name of the method.
+   * @param payloadBytes Size of the payload, in UTF-8 bytes.
+   * @param nanos Time spent sending the message.
+   */
+  fun recordSend(gameObject: String, methodName: String, payloadBytes: Int, nanos: Long) {
+    if (!isEnabled) return
+    val metrics = methods.getOrPut(gameObject) { ConcurrentHashMap() }
+      .getOrPut(methodName) { MethodMetrics() }
+    metrics.messageCount.incrementAndGet()
+    metrics.payloadBytes.addAndGet(payloadBytes.toLong())
+    metrics.sendLatency.record(nanos)
+  }
+
+  /**
+   * Records the time spent in a native send call of the Unity Player.
+   *
+   * @param nanos Duration of the call.
+   */
+  fun recordNativeSend(nanos: Long) {
+    if (!isEnabled) return
+    nativeSendLatency.record(nanos)
+  }
+
+  /**
+   * Records the time spent serializing a message.
+   *
+   * @param nanos Duration of the serialization.
+   */
+  fun recordSerialization(nanos: Long) {
+    if (!isEnabled) return
+    serializationLatency.record(nanos)
+  }
+
+  /**
+   * Returns a copy of the metrics recorded so far. Values recorded concurrently may or may not
+   * be part of it.
+   */
+  fun snapshot(): BridgeMetricsSnapshot {
+    val methodSnapshots = ArrayList<MethodMetricsSnapshot>()
+    methods.forEach { (gameObject, gameObjectMethods) ->
+      gameObjectMethods.forEach { (methodName, metrics) ->
+        methodSnapshots += MethodMetricsSnapshot(
+          gameObject = gameObject,
+          methodName = methodName,
+          messageCount = metrics.messageCount.get(),
+          payloadBytes = metrics.payloadBytes.get(),
+          sendLatency = metrics.sendLatency.snapshot(),
+        )
+      }
+    }
+    return BridgeMetricsSnapshot(
+      methods = methodSnapshots,
+      nativeSendLatency = nativeSendLatency.snapshot(),
+      serializationLatency = serializationLatency.snapshot(),
+    )
+  }
+
+  /**
+   * Discards the metrics recorded so far.
+   */
+  fun reset() {
+    methods.clear()
+    nativeSendLatency.reset()
+    serializationLatency.reset()
+  }
+
+  /**
+   * Runs [block] and records its duration with [record] when metrics are enabled.
+   */
+  internal inline fun measure(record: (Long) -> Unit, block: () -> Unit) {
+    if (!isEnabled) {
+      block()
+      return
+    }
+    val start = System.nanoTime()
+    block()
+    record(System.nanoTime() - start)
+  }
+}
+
+/**
+ * Returns the number of bytes [value] takes once encoded as UTF-8, without encoding it. Lengths
+ * that do not fit in an [Int] are saturated to [Int.MAX_VALUE].
+ */
+internal fun utf8Length(value: String): Int {
+  var length = 0L
+  var index = 0
+  while (index < value.length) {
+    val char = value[index]
+    length += when {
+      char.code < 0x80 -> 1
+      char.code < 0x800 -> 2
+      char.isHighSurrogate() && index + 1 < value.length && value[index + 1].isLowSurrogate() -> {
+        index++
+        4
+      }
+
+      else -> 3
+    }
+    index++
+  }
+  return length.coerceAtMost(Int.MAX_VALUE.toLong()).toInt()
+}
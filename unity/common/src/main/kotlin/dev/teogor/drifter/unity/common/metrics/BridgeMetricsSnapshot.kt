@@ -0,0 +1,60 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.unity.common.metrics
+
+/**
+ * Traffic sent to a single method of a GameObject.
+ *
+ * @property gameObject The name of the GameObject.
+ * @property methodName The name of the method.
+ * @property messageCount Number of messages sent.
+ * @property payloadBytes Total size of the payloads, in UTF-8 bytes.
+ * @property sendLatency Time spent sending through `UnityEngine`, delivery included.
+ */
+data class MethodMetricsSnapshot(
+  val gameObject: String,
+  val methodName: String,
+  val messageCount: Long,
+  val payloadBytes: Long,
+  val sendLatency: LatencySnapshot,
+)
+
+/**
+ * Point-in-time copy of the [BridgeMetrics].
+ *
+ * @property methods Traffic per GameObject and method.
+ * @property nativeSendLatency Time spent in the native send calls of the Unity Player.
+ * @property serializationLatency Time spent serializing the messages of `UnityDispatcher`.
+ */
+data class BridgeMetricsSnapshot(
+  val methods: List<MethodMetricsSnapshot>,
+  val nativeSendLatency: LatencySnapshot,
+  val serializationLatency: LatencySnapshot,
+) {
+
+  /**
+   * Number of messages sent to every method.
+   */
+  val messageCount: Long
+    get() = methods.sumOf { it.messageCount }
+
+  /**
+   * Total size of the payloads sent to every method, in UTF-8 bytes.
+   */
+  val payloadBytes: Long
+    get() = methods.sumOf { it.payloadBytes }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.unity.common.metrics
+
+import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.atomic.AtomicLongArray
+
+/**
+ * Lock-free histogram of durations with power-of-two buckets.
+ *
+ * Bucket `i` counts the durations whose highest set bit is bit `i - 1`, that is the durations in
+ * `[2^(i-1), 2^i)` nanoseconds, bucket `0` holding zero durations. Recording is a handful of
+ * atomic increments, with no allocation.
+ */
+internal class LatencyHistogram {
+
+  private val buckets = AtomicLongArray(BUCKET_COUNT)
+  private val count = AtomicLong()
+  private val totalNanos = AtomicLong()
+  private val maxNanos = AtomicLong()
+
+  fun record(nanos: Long) {
+    val value = nanos.coerceAtLeast(0L)
+    val bucket = (Long.SIZE_BITS - value.countLeadingZeroBits()).coerceAtMost(BUCKET_COUNT - 1)
+    buckets.incrementAndGet(bucket)
+    count.incrementAndGet()
+    totalNanos.addAndGet(value)
+    var max = maxNanos.get()
+    while (value > max && !maxNanos.compareAndSet(max, value)) {
+      max = maxNanos.get()
+    }
+  }
+
+  fun snapshot(): LatencySnapshot {
+    val counts = LongArray(BUCKET_COUNT) { buckets.get(it) }
+    return LatencySnapshot(
+      count = count.get(),
+      totalNanos = totalNanos.get(),
+      maxNanos = maxNanos.get(),
+      bucketCounts = counts,
+    )
+  }
+
+  fun reset() {
+    for (index in 0 until BUCKET_COUNT) {
+      buckets.set(index, 0L)
+    }
+    count.set(0L)
+    totalNanos.set(0L)
+    maxNanos.set(0L)
+  }
+
+  companion object {
+    const val BUCKET_COUNT = 40
+  }
+}
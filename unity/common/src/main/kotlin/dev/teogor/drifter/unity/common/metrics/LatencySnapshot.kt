@@ -0,0 +1,69 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.unity.common.metrics
+
+/**
+ * Point-in-time copy of a latency histogram.
+ *
+ * Bucket `i` of [bucketCounts] counts the durations in `[2^(i-1), 2^i)` nanoseconds, so
+ * percentiles are reported as the upper bound of the bucket they fall in.
+ *
+ * @property count Number of recorded durations.
+ * @property totalNanos Sum of the recorded durations, in nanoseconds.
+ * @property maxNanos Longest recorded duration, in nanoseconds.
+ * @property bucketCounts Number of durations per power-of-two bucket.
+ */
+class LatencySnapshot(
+  val count: Long,
+  val totalNanos: Long,
+  val maxNanos: Long,
+  val bucketCounts: LongArray,
+) {
+
+  /**
+   * Average recorded duration, in nanoseconds, or `0` if nothing was recorded.
+   */
+  val meanNanos: Long
+    get() = if (count == 0L) 0L else totalNanos / count
+
+  /**
+   * Returns an upper bound of the duration below which [percentile] percent of the recorded
+   * durations fall.
+   *
+   * @param percentile The percentile, between `0` and `100`.
+   * @return The upper bound, in nanoseconds, or `0` if nothing was recorded.
+   */
+  fun percentileNanos(percentile: Double): Long {
+    require(percentile in 0.0..100.0) { "percentile must be between 0 and 100" }
+    val total = bucketCounts.sum()
+    if (total == 0L) return 0L
+    val target = kotlin.math.ceil(total * percentile / 100.0).toLong().coerceAtLeast(1L)
+    var seen = 0L
+    for (bucket in bucketCounts.indices) {
+      seen += bucketCounts[bucket]
+      if (seen >= target) {
+        return if (bucket == 0) 0L else minOf(1L shl bucket, maxNanos)
+      }
+    }
+    return maxNanos
+  }
+
+  override fun toString(): String {
+    return "LatencySnapshot(count=$count, meanNanos=$meanNanos, " +
+      "p50Nanos=${percentileNanos(50.0)}, p99Nanos=${percentileNanos(99.0)}, maxNanos=$maxNanos)"
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.unity.common.metrics
+
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicLongArray
+
+/**
+ * Histogram of the durations recorded during the last [windowMillis] milliseconds.
+ *
+ * The window is split into [sliceCount] slices that are reused in turn, so a slice is cleared
+ * once it falls out of the window and old durations stop weighing on the percentiles. Recording
+ * has the cost of the power-of-two histogram of [BridgeMetrics], with no allocation. Durations
+ * recorded while a slice is being reused may be dropped.
+ *
+ * @param windowMillis Duration covered by [snapshot].
+ * @param sliceCount Number of slices the window is split into.
+ */
+class RollingLatencyHistogram @JvmOverloads constructor(
+  val windowMillis: Long = DEFAULT_WINDOW_MILLIS,
+  private val sliceCount: Int = DEFAULT_SLICE_COUNT,
+) {
+
+  init {
+    require(sliceCount > 0) { "sliceCount must be positive, was $sliceCount" }
+    require(windowMillis >= sliceCount) { "windowMillis must be at least sliceCount" }
+  }
+
+  private val sliceNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis) / sliceCount
+  private val slices = Array(sliceCount) { LatencyHistogram() }
+  private val sliceEpochs = AtomicLongArray(sliceCount).apply {
+    for (index in 0 until sliceCount) set(index, NO_EPOCH)
+  }
+
+  /**
+   * Records a duration.
+   *
+   * @param nanos The duration, in nanoseconds.
+   */
+  fun record(nanos: Long) {
+    val epoch = System.nanoTime() / sliceNanos
+    val index = epoch.mod(sliceCount)
+    val sliceEpoch = sliceEpochs.get(index)
+    if (sliceEpoch != epoch && sliceEpochs.compareAndSet(index, sliceEpoch, epoch)) {
+      slices[index].reset()
+    }
+    slices[index].record(nanos)
+  }
+
+  /**
+   * Returns the durations recorded during the last [windowMillis] milliseconds.
+   */
+  fun snapshot(): LatencySnapshot {
+    val oldestEpoch = System.nanoTime() / sliceNanos - sliceCount
+    var count = 0L
+    var totalNanos = 0L
+    var maxNanos = 0L
+    val bucketCounts = LongArray(LatencyHistogram.BUCKET_COUNT)
+    for (index in 0 until sliceCount) {
+      if (sliceEpochs.get(index) <= oldestEpoch) continue
+      val slice = slices[index].snapshot()
+      count += slice.count
+      totalNanos += slice.totalNanos
+      maxNanos = maxOf(maxNanos, slice.maxNanos)
+      for (bucket in bucketCounts.indices) {
+        bucketCounts[bucket] += slice.bucketCounts[bucket]
+      }
+    }
+    return LatencySnapshot(count, totalNanos, maxNanos, bucketCounts)
+  }
+
+  /**
+   * Forgets all recorded durations.
+   */
+  fun reset() {
+    for (index in 0 until sliceCount) {
+      sliceEpochs.set(index, NO_EPOCH)
+      slices[index].reset()
+    }
+  }
+
+  companion object {
+    const val DEFAULT_WINDOW_MILLIS = 60_000L
+    const val DEFAULT_SLICE_COUNT = 6
+
+    private const val NO_EPOCH = Long.MIN_VALUE
+  }
+}
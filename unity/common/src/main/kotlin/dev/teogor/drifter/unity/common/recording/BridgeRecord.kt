@@ -0,0 +1,61 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.unity.common.recording
+
+/**
+ * A single entry of a bridge recording.
+ *
+ * @property kind What was recorded.
+ * @property timestampNanos Time elapsed since the recording started, in nanoseconds.
+ * @property target The GameObject of a [Kind.Message], or the source of a [Kind.Event].
+ * @property name The method of a [Kind.Message], or the name of a [Kind.Event].
+ * @property payload The UTF-8 encoded parameter of the message or data of the event.
+ */
+class BridgeRecord(
+  val kind: Kind,
+  val timestampNanos: Long,
+  val target: String,
+  val name: String,
+  val payload: ByteArray,
+) {
+
+  /**
+   * Kinds of records.
+   */
+  enum class Kind {
+
+    /**
+     * A message sent to the Unity Player through `UnityEngine`.
+     */
+    Message,
+
+    /**
+     * An event queued for the Unity Player, such as a Live Wallpaper event.
+     */
+    Event,
+  }
+
+  /**
+   * Decodes the [payload] as a string.
+   */
+  fun payloadAsString(): String = String(payload, Charsets.UTF_8)
+
+  override fun toString(): String {
+    return "BridgeRecord(kind=$kind, timestampNanos=$timestampNanos, target=$target, " +
+      "name=$name, payloadSize=${payload.size})"
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.unity.common.recording
+
+import java.nio.ByteBuffer
+
+/**
+ * Layout of the files written by [BridgeRecorder].
+ *
+ * All numbers are little-endian. A file starts with a [HEADER_SIZE] bytes header:
+ *
+ * | Offset | Type    | Content                                                  |
+ * |--------|---------|----------------------------------------------------------|
+ * | 0      | `long`  | [MAGIC], the ASCII bytes `DRFTREC1`                      |
+ * | 8      | `int`   | [VERSION]                                                |
+ * | 12     | `int`   | [HEADER_SIZE]                                            |
+ * | 16     | `long`  | Wall-clock time the recording started at, in ms          |
+ * | 24     | `long`  | Number of records                                        |
+ * | 32     | `long`  | Offset of the end of the records                         |
+ * | 40     | `long`  | Offset of the index, or `0` while the recording is open  |
+ *
+ * Records follow the header back to back. Each one is an `int` total size, a `byte` kind, a
+ * `long` timestamp in nanoseconds since the recording started, then the target, the name and
+ * the payload, each as an `int` length followed by that many bytes. Once the recording is
+ * closed, the index lists the offset of every record as a `long`.
+ */
+internal object BridgeRecordFormat {
+  const val MAGIC = 0x3143_4552_5446_5244L
+  const val VERSION = 1
+  const val HEADER_SIZE = 64
+
+  const val MAGIC_OFFSET = 0
+  const val VERSION_OFFSET = 8
+  const val HEADER_SIZE_OFFSET = 12
+  const val START_TIME_OFFSET = 16
+  const val RECORD_COUNT_OFFSET = 24
+  const val DATA_END_OFFSET = 32
+  const val INDEX_OFFSET = 40
+
+  /**
+   * Size of the fixed part of a record: size, kind, timestamp and the three lengths.
+   */
+  const val RECORD_HEADER_SIZE = 4 + 1 + 8 + 4 + 4 + 4
+
+  private const val REPLACEMENT_CHARACTER = 0xFFFD
+
+  /**
+   * Writes [value] as UTF-8 at the position of [buffer], which must have enough room for it.
+   * Unpaired surrogates are written as U+FFFD, which keeps the length computed by
+   * `utf8Length`.
+   */
+  fun putUtf8(buffer: ByteBuffer, value: String) {
+    var index = 0
+    while (index < value.length) {
+      val char = value[index]
+      val code = char.code
+      when {
+        code < 0x80 -> buffer.put(code.toByte())
+        code < 0x800 -> {
+          buffer.put((0xC0 or (code shr 6)).toByte())
+          buffer.put((0x80 or (code and 0x3F)).toByte())
+        }
+
+        char.isHighSurrogate() && index + 1 < value.length && value[index + 1].isLowSurrogate() -> {
+          val codePoint = Character.toCodePoint(char, value[index + 1])
+          buffer.put((0xF0 or (codePoint shr 18)).toByte())
+          buffer.put((0x80 or ((codePoint shr 12) and 0x3F)).toByte())
+          buffer.put((0x80 or ((codePoint shr 6) and 0x3F)).toByte())
+          buffer.put((0x80 or (codePoint and 0x3F)).toByte())
+          index++
+        }
+
+        else -> {
+          val encoded = if (char.isSurrogate()) REPLACEMENT_CHARACTER else code
+          buffer.put((0xE0 or (encoded shr 12)).toByte())
+          buffer.put((0x80 or ((encoded shr 6) and 0x3F)).toByte())
+          buffer.put((0x80 or (encoded and 0x3F)).toByte())
+        }
+      }
+      index++
+    }
+  }
+}
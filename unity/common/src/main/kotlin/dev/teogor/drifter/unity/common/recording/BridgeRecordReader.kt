@@ -0,0 +1,163 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.unity.common.recording
+
+import dev.teogor.drifter.unity.common.recording.BridgeRecordFormat.DATA_END_OFFSET
+import dev.teogor.drifter.unity.common.recording.BridgeRecordFormat.HEADER_SIZE_OFFSET
+import dev.teogor.drifter.unity.common.recording.BridgeRecordFormat.INDEX_OFFSET
+import dev.teogor.drifter.unity.common.recording.BridgeRecordFormat.MAGIC
+import dev.teogor.drifter.unity.common.recording.BridgeRecordFormat.MAGIC_OFFSET
+import dev.teogor.drifter.unity.common.recording.BridgeRecordFormat.RECORD_COUNT_OFFSET
+import dev.teogor.drifter.unity.common.recording.BridgeRecordFormat.START_TIME_OFFSET
+import dev.teogor.drifter.unity.common.recording.BridgeRecordFormat.VERSION
+import dev.teogor.drifter.unity.common.recording.BridgeRecordFormat.VERSION_OFFSET
+import java.io.Closeable
+import java.io.File
+import java.io.IOException
+import java.io.RandomAccessFile
+import java.nio.ByteOrder
+import java.nio.MappedByteBuffer
+import java.nio.channels.FileChannel
+
+/**
+ * Reads a recording written by [BridgeRecorder].
+ *
+ * The file is mapped read-only and records are decoded on access. Recordings that were never
+ * closed have no index; their records are located by walking the file up to the end recorded
+ * in the header.
+ *
+ * Files are limited to [BridgeRecorder.MAX_FILE_SIZE] bytes, the largest a single mapping can
+ * hold, which is also the size at which [BridgeRecorder] stops recording.
+ *
+ * @param file The recording to read.
+ * @throws IOException If the file is not a supported recording, is larger than
+ * [BridgeRecorder.MAX_FILE_SIZE] or holds offsets outside of the file.
+ */
+class BridgeRecordReader(file: File) : Closeable, Iterable<BridgeRecord> {
+
+  private val channel = RandomAccessFile(file, "r").channel
+  private val buffer: MappedByteBuffer
+  private val offsets: IntArray
+
+  /**
+   * Wall-clock time the recording started at, in milliseconds since the epoch.
+   */
+  val startTimeMillis: Long
+
+  init {
+    val fileSize = channel.size()
+    if (fileSize > BridgeRecorder.MAX_FILE_SIZE) {
+      channel.close()
+      throw IOException("Recordings larger than 2 GB are not supported")
+    }
+    buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0L, fileSize)
+    buffer.order(ByteOrder.LITTLE_ENDIAN)
+    if (fileSize < BridgeRecordFormat.HEADER_SIZE || buffer.getLong(MAGIC_OFFSET) != MAGIC) {
+      channel.close()
+      throw IOException("Not a bridge recording: $file")
+    }
+    val version = buffer.getInt(VERSION_OFFSET)
+    if (version != VERSION) {
+      channel.close()
+      throw IOException("Unsupported recording version: $version")
+    }
+    startTimeMillis = buffer.getLong(START_TIME_OFFSET)
+    try {
+      val dataEnd = checkedOffset(buffer.getLong(DATA_END_OFFSET), fileSize, file)
+      val count = buffer.getLong(RECORD_COUNT_OFFSET)
+      if (count !in 0L..dataEnd.toLong() / BridgeRecordFormat.RECORD_HEADER_SIZE) {
+        throw IOException("Invalid record count $count in $file")
+      }
+      val indexOffset = buffer.getLong(INDEX_OFFSET)
+      offsets = if (indexOffset != 0L) {
+        val index = checkedOffset(indexOffset, fileSize, file)
+        checkedOffset(index + count * Long.SIZE_BYTES, fileSize, file)
+        IntArray(count.toInt()) {
+          val offset = buffer.getLong(index + it * Long.SIZE_BYTES)
+          checkedOffset(offset, dataEnd.toLong(), file)
+        }
+      } else {
+        var offset = buffer.getInt(HEADER_SIZE_OFFSET).toLong()
+        IntArray(count.toInt()) {
+          val recordOffset = offset
+          if (recordOffset >= dataEnd) throw IOException("Truncated recording: $file")
+          offset += buffer.getInt(recordOffset.toInt())
+          recordOffset.toInt()
+        }
+      }
+    } catch (exception: IOException) {
+      channel.close()
+      throw exception
+    }
+  }
+
+  /**
+   * Number of records.
+   */
+  val size: Int
+    get() = offsets.size
+
+  /**
+   * Decodes the record at [index].
+   */
+  operator fun get(index: Int): BridgeRecord {
+    var offset = offsets[index] + Int.SIZE_BYTES
+    val kind = BridgeRecord.Kind.entries[buffer.get(offset).toInt()]
+    offset += 1
+    val timestamp = buffer.getLong(offset)
+    offset += Long.SIZE_BYTES
+    val target = String(readBytes(offset), Charsets.UTF_8)
+    offset += Int.SIZE_BYTES + buffer.getInt(offset)
+    val name = String(readBytes(offset), Charsets.UTF_8)
+    offset += Int.SIZE_BYTES + buffer.getInt(offset)
+    return BridgeRecord(
+      kind = kind,
+      timestampNanos = timestamp,
+      target = target,
+      name = name,
+      payload = readBytes(offset),
+    )
+  }
+
+  override fun iterator(): Iterator<BridgeRecord> = object : Iterator<BridgeRecord> {
+    private var next = 0
+
+    override fun hasNext() = next < size
+
+    override fun next(): BridgeRecord {
+      if (!hasNext()) throw NoSuchElementException()
+      return get(next++)
+    }
+  }
+
+  private fun readBytes(lengthOffset: Int): ByteArray {
+    val bytes = ByteArray(buffer.getInt(lengthOffset))
+    val source = buffer.duplicate()
+    source.position(lengthOffset + Int.SIZE_BYTES)
+    source.get(bytes)
+    return bytes
+  }
+
+  override fun close() {
+    channel.close()
+  }
+
+  private fun checkedOffset(offset: Long, limit: Long, file: File): Int {
+    if (offset !in 0L..limit) throw IOException("Offset $offset out of bounds in $file")
+    return offset.toInt()
+  }
+}
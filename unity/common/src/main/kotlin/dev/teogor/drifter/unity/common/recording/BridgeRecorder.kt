@@ -0,0 +1,215 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.unity.common.recording
+
+import dev.teogor.drifter.unity.common.metrics.utf8Length
+import dev.teogor.drifter.unity.common.recording.BridgeRecordFormat.DATA_END_OFFSET
+import dev.teogor.drifter.unity.common.recording.BridgeRecordFormat.HEADER_SIZE
+import dev.teogor.drifter.unity.common.recording.BridgeRecordFormat.HEADER_SIZE_OFFSET
+import dev.teogor.drifter.unity.common.recording.BridgeRecordFormat.INDEX_OFFSET
+import dev.teogor.drifter.unity.common.recording.BridgeRecordFormat.MAGIC
+import dev.teogor.drifter.unity.common.recording.BridgeRecordFormat.MAGIC_OFFSET
+import dev.teogor.drifter.unity.common.recording.BridgeRecordFormat.RECORD_COUNT_OFFSET
+import dev.teogor.drifter.unity.common.recording.BridgeRecordFormat.RECORD_HEADER_SIZE
+import dev.teogor.drifter.unity.common.recording.BridgeRecordFormat.START_TIME_OFFSET
+import dev.teogor.drifter.unity.common.recording.BridgeRecordFormat.VERSION
+import dev.teogor.drifter.unity.common.recording.BridgeRecordFormat.VERSION_OFFSET
+import java.io.Closeable
+import java.io.File
+import java.io.RandomAccessFile
+import java.nio.ByteBuffer
+import java.nio.ByteOrder
+import java.nio.MappedByteBuffer
+import java.nio.channels.FileChannel
+
+/**
+ * Appends timestamped bridge traffic to a memory-mapped binary file.
+ *
+ * Records are copied straight into a mapped window of the file, [chunkSize] bytes at a time, so
+ * recording a message costs a lock and a memory copy, without system calls or allocations on
+ * the common path. The header is updated after every record, so a recording that was never
+ * closed can still be read back. [close] appends the index and trims the file.
+ *
+ * [BridgeRecordReader] maps the whole file, so recordings are capped at [MAX_FILE_SIZE] bytes,
+ * index included. Records that would grow the file past that size are dropped and counted in
+ * [droppedCount].
+ *
+ * The file layout is described by [BridgeRecordFormat] and read back by [BridgeRecordReader].
+ *
+ * @param file The file to record into. An existing file is overwritten.
+ * @param chunkSize Size of the mapped windows, in bytes.
+ */
+class BridgeRecorder(
+  file: File,
+  private val chunkSize: Int = DEFAULT_CHUNK_SIZE,
+) : Closeable {
+
+  private val lock = Any()
+  private val channel = RandomAccessFile(file, "rw").channel
+  private val header: MappedByteBuffer
+  private var chunk: MappedByteBuffer
+  private var chunkStart = HEADER_SIZE.toLong()
+  private var position = HEADER_SIZE.toLong()
+  private var offsets = LongArray(INITIAL_INDEX_CAPACITY)
+  private var count = 0
+  private var dropped = 0
+  private var isClosed = false
+  private val startNanos = System.nanoTime()
+
+  init {
+    require(chunkSize > 0) { "chunkSize must be positive" }
+    channel.truncate(0L)
+    header = map(0L, HEADER_SIZE)
+    header.putLong(MAGIC_OFFSET, MAGIC)
+    header.putInt(VERSION_OFFSET, VERSION)
+    header.putInt(HEADER_SIZE_OFFSET, HEADER_SIZE)
+    header.putLong(START_TIME_OFFSET, System.currentTimeMillis())
+    header.putLong(DATA_END_OFFSET, position)
+    chunk = map(chunkStart, chunkSize)
+  }
+
+  /**
+   * Number of records written so far.
+   */
+  val recordCount: Int
+    get() = synchronized(lock) { count }
+
+  /**
+   * Number of records dropped because the recording reached [MAX_FILE_SIZE].
+   */
+  val droppedCount: Int
+    get() = synchronized(lock) { dropped }
+
+  /**
+   * Records a message sent to [methodName] of [gameObject].
+   */
+  fun recordMessage(gameObject: String, methodName: String, payload: String) =
+    append(BridgeRecord.Kind.Message, gameObject, methodName, payload)
+
+  /**
+   * Records a message whose parameter is already encoded as UTF-8 bytes.
+   */
+  fun recordMessage(gameObject: String, methodName: String, payload: ByteArray) =
+    append(BridgeRecord.Kind.Message, gameObject, methodName, payload)
+
+  /**
+   * Records a message whose parameter is held by a [ByteBuffer], from its position to its limit.
+   * The position of the buffer is left untouched.
+   */
+  fun recordMessage(gameObject: String, methodName: String, payload: ByteBuffer) =
+    append(BridgeRecord.Kind.Message, gameObject, methodName, payload)
+
+  /**
+   * Records an event named [eventName] emitted by [source].
+   */
+  fun recordEvent(source: String, eventName: String, payload: String) =
+    append(BridgeRecord.Kind.Event, source, eventName, payload)
+
+  private fun append(kind: BridgeRecord.Kind, target: String, name: String, payload: Any) {
+    val timestamp = System.nanoTime() - startNanos
+    val targetLength = utf8Length(target)
+    val nameLength = utf8Length(name)
+    val payloadLength = when (payload) {
+      is String -> utf8Length(payload)
+      is ByteArray -> payload.size
+      else -> (payload as ByteBuffer).remaining()
+    }
+    val recordSize = RECORD_HEADER_SIZE.toLong() + targetLength + nameLength + payloadLength
+    synchronized(lock) {
+      if (isClosed) return
+      val indexSize = (count + 1).toLong() * Long.SIZE_BYTES
+      if (position + recordSize + indexSize > MAX_FILE_SIZE) {
+        dropped++
+        return
+      }
+      val size = recordSize.toInt()
+      ensureCapacity(size)
+      val buffer = chunk
+      buffer.position((position - chunkStart).toInt())
+      buffer.putInt(size)
+      buffer.put(kind.ordinal.toByte())
+      buffer.putLong(timestamp)
+      buffer.putInt(targetLength)
+      BridgeRecordFormat.putUtf8(buffer, target)
+      buffer.putInt(nameLength)
+      BridgeRecordFormat.putUtf8(buffer, name)
+      buffer.putInt(payloadLength)
+      when (payload) {
+        is String -> BridgeRecordFormat.putUtf8(buffer, payload)
+        is ByteArray -> buffer.put(payload)
+        else -> buffer.put((payload as ByteBuffer).duplicate())
+      }
+      if (count == offsets.size) {
+        offsets = offsets.copyOf(count * 2)
+      }
+      offsets[count++] = position
+      position += size
+      header.putLong(RECORD_COUNT_OFFSET, count.toLong())
+      header.putLong(DATA_END_OFFSET, position)
+    }
+  }
+
+  private fun ensureCapacity(size: Int) {
+    if (position + size <= chunkStart + chunk.capacity()) return
+    chunkStart = position
+    val remaining = MAX_FILE_SIZE - chunkStart
+    chunk = map(chunkStart, minOf(maxOf(chunkSize.toLong(), size.toLong()), remaining).toInt())
+  }
+
+  private fun map(start: Long, size: Int): MappedByteBuffer {
+    val buffer = channel.map(FileChannel.MapMode.READ_WRITE, start, size.toLong())
+    buffer.order(ByteOrder.LITTLE_ENDIAN)
+    return buffer
+  }
+
+  /**
+   * Writes the index, trims the unused end of the last mapped window and closes the file.
+   * Records sent afterwards are ignored.
+   */
+  override fun close() {
+    synchronized(lock) {
+      if (isClosed) return
+      isClosed = true
+      val index = ByteBuffer.allocate(count * Long.SIZE_BYTES).order(ByteOrder.LITTLE_ENDIAN)
+      for (offset in 0 until count) {
+        index.putLong(offsets[offset])
+      }
+      index.flip()
+      var indexPosition = position
+      while (index.hasRemaining()) {
+        indexPosition += channel.write(index, indexPosition)
+      }
+      chunk.force()
+      header.putLong(INDEX_OFFSET, position)
+      header.force()
+      channel.truncate(indexPosition)
+      channel.close()
+    }
+  }
+
+  companion object {
+    const val DEFAULT_CHUNK_SIZE = 1024 * 1024
+
+    /**
+     * Maximum size of a recording, in bytes, which is the largest file [BridgeRecordReader] can
+     * map.
+     */
+    const val MAX_FILE_SIZE = Int.MAX_VALUE.toLong()
+
+    private const val INITIAL_INDEX_CAPACITY = 1024
+  }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.unity.common.recording
+
+import java.io.File
+
+/**
+ * Starts and stops the recording of the bridge traffic.
+ *
+ * While a recording is active, every message sent through `UnityEngine` and every event
+ * queued by the Live Wallpaper events proxy is appended to it. When no recording is active,
+ * instrumented call sites only read [recorder].
+ *
+ * ```kotlin
+ * BridgeRecording.start(File(context.filesDir, "bridge.rec"))
+ * // ...
+ * BridgeRecording.stop()
+ * ```
+ */
+object BridgeRecording {
+
+  private val lock = Any()
+
+  /**
+   * The active recorder, or `null` when nothing is recorded.
+   */
+  @Volatile
+  var recorder: BridgeRecorder? = null
+    private set
+
+  /**
+   * Starts recording into [file], stopping the active recording first.
+   *
+   * @param file The file to record into. An existing file is overwritten.
+   * @param chunkSize Size of the memory-mapped windows of the file, in bytes.
+   * @return The new recorder.
+   */
+  fun start(file: File, chunkSize: Int = BridgeRecorder.DEFAULT_CHUNK_SIZE): BridgeRecorder {
+    synchronized(lock) {
+      stop()
+      return BridgeRecorder(file, chunkSize).also { recorder = it }
+    }
+  }
+
+  /**
+   * Stops the active recording, if any, and closes its file.
+   */
+  fun stop() {
+    synchronized(lock) {
+      recorder?.close()
+      recorder = null
+    }
+  }
+}
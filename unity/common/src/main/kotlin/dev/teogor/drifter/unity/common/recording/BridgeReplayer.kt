@@ -0,0 +1,73 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.unity.common.recording
+
+import dev.teogor.drifter.unity.common.UnityEngineFactory
+import java.util.concurrent.locks.LockSupport
+
+/**
+ * Feeds a recording back through a [UnityEngineFactory].
+ *
+ * [BridgeRecord.Kind.Message] records are sent straight to the factory, bypassing the delivery
+ * modes of `UnityEngine`, so the factory receives the calls it received when the traffic was
+ * recorded. [BridgeRecord.Kind.Event] records are handed to the `onEvent` callback of [replay].
+ *
+ * ```kotlin
+ * BridgeRecordReader(file).use { reader ->
+ *   BridgeReplayer(reader).replay(factory, ReplayTiming.Maximum)
+ * }
+ * ```
+ *
+ * @param reader The recording to replay.
+ */
+class BridgeReplayer(private val reader: BridgeRecordReader) {
+
+  /**
+   * Replays the recording on the calling thread.
+   *
+   * @param factory The factory receiving the recorded messages.
+   * @param timing Pace of the replay.
+   * @param onEvent Receives the recorded events, in order with the messages.
+   * @return The time the replay took, in nanoseconds.
+   */
+  fun replay(
+    factory: UnityEngineFactory,
+    timing: ReplayTiming = ReplayTiming.Original,
+    onEvent: (BridgeRecord) -> Unit = {},
+  ): Long {
+    val start = System.nanoTime()
+    for (record in reader) {
+      if (timing == ReplayTiming.Original) {
+        var delay = start + record.timestampNanos - System.nanoTime()
+        while (delay > 0L) {
+          LockSupport.parkNanos(delay)
+          delay = start + record.timestampNanos - System.nanoTime()
+        }
+      }
+      when (record.kind) {
+        BridgeRecord.Kind.Message -> factory.sendMessage(
+          record.target,
+          record.name,
+          record.payload,
+        )
+
+        BridgeRecord.Kind.Event -> onEvent(record)
+      }
+    }
+    return System.nanoTime() - start
+  }
+}
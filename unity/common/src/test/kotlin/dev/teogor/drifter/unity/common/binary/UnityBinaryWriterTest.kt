@@ -0,0 +1,114 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.unity.common.binary
+
+import java.nio.ByteBuffer
+import java.nio.ByteOrder
+import java.util.Base64
+import org.junit.Assert.assertArrayEquals
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertThrows
+import org.junit.Test
+
+class UnityBinaryWriterTest {
+
+  @Test
+  fun writesTheHeaderAndPresentFieldsInTheDocumentedLayout() {
+    val writer = UnityBinaryWriter()
+      .begin(schemaVersion = 0x12345678, fieldCount = 10)
+      .field(0).value(true)
+      .field(2).value(-7)
+      .field(3).value(Long.MIN_VALUE + 1)
+      .field(5).value(1.25f)
+      .field(8).value(-0.5)
+      .field(9).value("ok")
+
+    val message = decode(writer)
+
+    assertEquals(writer.size, message.limit())
+    assertEquals(0x12345678, message.int)
+    assertEquals(0b0010_1101, message.get().toInt())
+    assertEquals(0b0000_0011, message.get().toInt())
+    assertEquals(1, message.get().toInt())
+    assertEquals(-7, message.int)
+    assertEquals(Long.MIN_VALUE + 1, message.long)
+    assertEquals(1.25f, message.float, 0f)
+    assertEquals(-0.5, message.double, 0.0)
+    assertEquals("ok", message.string())
+    assertEquals(0, message.remaining())
+  }
+
+  @Test
+  fun encodesStringsAsUtf8() {
+    val text = "aé€🐟"
+    val writer = UnityBinaryWriter().begin(schemaVersion = 1, fieldCount = 1).field(0).value(text)
+
+    val message = decode(writer)
+    message.position(5)
+
+    assertEquals(text, message.string())
+  }
+
+  @Test
+  fun replacesUnpairedSurrogates() {
+    val writer = UnityBinaryWriter()
+      .begin(schemaVersion = 1, fieldCount = 1)
+      .field(0)
+      .value("a\uD83Db")
+
+    val message = decode(writer)
+    message.position(5)
+
+    assertEquals("a?b", message.string())
+  }
+
+  @Test
+  fun growsTheBufferAndReusesItForTheNextMessage() {
+    val long = "x".repeat(1000)
+    val writer = UnityBinaryWriter(initialCapacity = 8)
+    writer.begin(schemaVersion = 1, fieldCount = 1).field(0).value(long)
+    assertEquals(long, decode(writer).apply { position(5) }.string())
+
+    writer.begin(schemaVersion = 2, fieldCount = 9).field(8).value(3)
+
+    val message = decode(writer)
+    assertEquals(10, message.limit())
+    assertEquals(2, message.int)
+    assertArrayEquals(byteArrayOf(0, 1), byteArrayOf(message.get(), message.get()))
+    assertEquals(3, message.int)
+  }
+
+  @Test
+  fun rejectsFieldsOutOfOrderOrOutOfRange() {
+    val writer = UnityBinaryWriter().begin(schemaVersion = 1, fieldCount = 3).field(1).value(1)
+
+    assertThrows(IllegalArgumentException::class.java) { writer.field(1) }
+    assertThrows(IllegalArgumentException::class.java) { writer.field(0) }
+    assertThrows(IllegalArgumentException::class.java) { writer.field(3) }
+  }
+
+  private fun decode(writer: UnityBinaryWriter): ByteBuffer {
+    val bytes = Base64.getDecoder().decode(writer.toByteArray())
+    return ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN)
+  }
+
+  private fun ByteBuffer.string(): String {
+    val bytes = ByteArray(int)
+    get(bytes)
+    return String(bytes, Charsets.UTF_8)
+  }
+}
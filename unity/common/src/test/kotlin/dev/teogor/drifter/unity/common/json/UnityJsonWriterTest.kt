@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.unity.common.json
+
+import kotlin.random.Random
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertThrows
+import org.junit.Test
+
+class UnityJsonWriterTest {
+
+  private val writer = UnityJsonWriter(initialCapacity = 4)
+
+  @Test
+  fun writesNestedDocument() {
+    writer.beginObject()
+      .name("enabled").value(true)
+      .name("count").value(-42)
+      .name("id").value(Long.MIN_VALUE)
+      .name("label").nullValue()
+      .name("values").beginArray().value(1).value(2.5).value("three").endArray()
+      .name("nested").beginObject().name("empty").beginArray().endArray().endObject()
+      .endObject()
+
+    assertEquals(
+      """{"enabled":true,"count":-42,"id":-9223372036854775808,"label":null,""" +
+        """"values":[1,2.5,"three"],"nested":{"empty":[]}}""",
+      writer.toString(),
+    )
+  }
+
+  @Test
+  fun escapesStrings() {
+    writer.beginArray().value("quote\" backslash\\ \n\r\t\b\u000C \u0001 \u2028").endArray()
+
+    assertEquals(
+      """["quote\" backslash\\ \n\r\t\b\f \u0001 \u2028"]""",
+      writer.toString(),
+    )
+  }
+
+  @Test
+  fun encodesUtf8() {
+    val text = "é€🐟"
+    writer.value(text)
+
+    assertEquals("\"$text\"", writer.toString())
+    assertEquals(writer.size, writer.toByteArray().size)
+    assertEquals("\"$text\"", String(writer.toByteArray(), Charsets.UTF_8))
+  }
+
+  @Test
+  fun writesRawValues() {
+    writer.beginObject()
+      .name("raw").rawValue("""{"a":[1,2]}""")
+      .name("next").value(1)
+      .endObject()
+
+    assertEquals("""{"raw":{"a":[1,2]},"next":1}""", writer.toString())
+  }
+
+  @Test
+  fun floatsReadBackToTheSameValue() {
+    val random = Random(seed = 7)
+    val values = listOf(0f, -0.5f, 0.1f, 1.5f, 1e-7f, 3.4028235e38f, Float.MIN_VALUE, 16777217f) +
+      List(10_000) { Float.fromBits(random.nextInt()) }.filter { it.isFinite() }
+    values.forEach { value ->
+      writer.reset().value(value)
+
+      assertEquals(writer.toString(), value, writer.toString().toFloat(), 0f)
+    }
+  }
+
+  @Test
+  fun doublesReadBackToTheSameValue() {
+    listOf(0.0, -2.0, 0.1, 1e15, 123456789.125, -1e-300).forEach { value ->
+      writer.reset().value(value)
+
+      assertEquals(value, writer.toString().toDouble(), 0.0)
+    }
+  }
+
+  @Test
+  fun rejectsNonFiniteNumbers() {
+    assertThrows(IllegalArgumentException::class.java) { writer.value(Float.NaN) }
+    assertThrows(IllegalArgumentException::class.java) { writer.value(Double.POSITIVE_INFINITY) }
+  }
+
+  @Test
+  fun obtainReturnsAResetWriter() {
+    UnityJsonWriter.obtain().beginObject()
+
+    assertEquals(0, UnityJsonWriter.obtain().size)
+  }
+}
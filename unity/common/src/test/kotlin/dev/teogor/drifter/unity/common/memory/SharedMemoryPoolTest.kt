@@ -0,0 +1,72 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.unity.common.memory
+
+import org.junit.Assert.assertNotNull
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertSame
+import org.junit.Assert.assertThrows
+import org.junit.Test
+
+class SharedMemoryPoolTest {
+
+  @Test
+  fun staysRegisteredWhileASlotIsInUse() {
+    val pool = SharedMemoryPool(slotSize = 16, slotCount = 2)
+    val slot = pool.acquire()!!
+    val buffer = SharedMemoryPool.buffer(pool.id)
+
+    pool.close()
+
+    assertSame(buffer, SharedMemoryPool.buffer(pool.id))
+    SharedMemoryPool.release(pool.id, slot.index, slot.generation)
+    assertNull(SharedMemoryPool.buffer(pool.id))
+  }
+
+  @Test
+  fun unregistersRightAwayWithoutSlotsInUse() {
+    val pool = SharedMemoryPool(slotSize = 16, slotCount = 2)
+    pool.acquire()!!.release()
+    assertNotNull(SharedMemoryPool.buffer(pool.id))
+
+    pool.close()
+
+    assertNull(SharedMemoryPool.buffer(pool.id))
+  }
+
+  @Test
+  fun staleReleasesDoNotUnregisterAClosedPool() {
+    val pool = SharedMemoryPool(slotSize = 16, slotCount = 1)
+    val first = pool.acquire()!!
+    first.release()
+    val second = pool.acquire()!!
+    pool.close()
+
+    first.release()
+    assertNotNull(SharedMemoryPool.buffer(pool.id))
+    second.release()
+    assertNull(SharedMemoryPool.buffer(pool.id))
+  }
+
+  @Test
+  fun rejectsAcquisitionsOnceClosed() {
+    val pool = SharedMemoryPool(slotSize = 16)
+    pool.close()
+
+    assertThrows(IllegalStateException::class.java) { pool.acquire() }
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.unity.common.messaging
+
+import java.util.Base64
+import kotlin.random.Random
+import org.junit.Assert.assertEquals
+import org.junit.Test
+
+class Base64AsciiTest {
+
+  @Test
+  fun computesTheEncodedLengthWithPadding() {
+    assertEquals(0, Base64Ascii.encodedLength(0))
+    assertEquals(4, Base64Ascii.encodedLength(1))
+    assertEquals(4, Base64Ascii.encodedLength(3))
+    assertEquals(8, Base64Ascii.encodedLength(4))
+  }
+
+  @Test
+  fun encodesLikeTheStandardEncoder() {
+    val random = Random(seed = 42)
+    for (length in 0..64) {
+      val source = random.nextBytes(length)
+      assertEquals(Base64.getEncoder().encodeToString(source), encode(source, length))
+    }
+  }
+
+  @Test
+  fun encodesOnlyTheRequestedPrefix() {
+    val source = byteArrayOf(1, 2, 3, 4, 5)
+
+    assertEquals(Base64.getEncoder().encodeToString(source.copyOf(4)), encode(source, 4))
+  }
+
+  @Test
+  fun writesAtTheGivenOffsetOfTheTarget() {
+    val source = "drifter".toByteArray()
+    val target = ByteArray(3 + Base64Ascii.encodedLength(source.size)) { '#'.code.toByte() }
+
+    Base64Ascii.encode(source, source.size, target, 3)
+
+    assertEquals("###" + Base64.getEncoder().encodeToString(source), String(target))
+  }
+
+  private fun encode(source: ByteArray, length: Int): String {
+    val target = ByteArray(Base64Ascii.encodedLength(length))
+    Base64Ascii.encode(source, length, target, 0)
+    return String(target, Charsets.US_ASCII)
+  }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.unity.common.messaging
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class BridgeEventsTest {
+
+  @Test
+  fun handsClaimedEventsToTheirHandler() {
+    val received = mutableListOf<String>()
+    BridgeEvents.setHandler("drifter.test.claimed") { received += it }
+
+    assertTrue(BridgeEvents.dispatch("drifter.test.claimed", "data"))
+    assertEquals(listOf("data"), received)
+  }
+
+  @Test
+  fun leavesOtherEventsToTheApplication() {
+    assertFalse(BridgeEvents.dispatch("drifter.test.unclaimed", "data"))
+  }
+
+  @Test
+  fun removedHandlersNoLongerClaimTheirEvent() {
+    BridgeEvents.setHandler("drifter.test.removed") { }
+    BridgeEvents.removeHandler("drifter.test.removed")
+
+    assertFalse(BridgeEvents.dispatch("drifter.test.removed", "data"))
+  }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.unity.common.messaging
+
+import kotlin.random.Random
+import org.junit.Assert.assertArrayEquals
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class Lz4BlockTest {
+
+  @Test
+  fun roundTripsShortInputsAsLiterals() {
+    for (length in 0..16) {
+      val source = ByteArray(length) { it.toByte() }
+      assertArrayEquals(source, roundTrip(source))
+    }
+  }
+
+  @Test
+  fun roundTripsRepetitiveInputs() {
+    val json = buildString {
+      repeat(500) { append("{\"id\":$it,\"color\":\"#336699\",\"visible\":true},") }
+    }.toByteArray()
+
+    val compressed = compress(json)
+
+    assertTrue(compressed.size < json.size / 4)
+    assertArrayEquals(json, decompress(compressed, json.size))
+  }
+
+  @Test
+  fun roundTripsLongMatchesAndLiteralRuns() {
+    val random = Random(seed = 7)
+    val source = random.nextBytes(1000) + ByteArray(5000) + random.nextBytes(300)
+
+    assertArrayEquals(source, roundTrip(source))
+  }
+
+  @Test
+  fun staysWithinTheMaximumLengthForIncompressibleInputs() {
+    val random = Random(seed = 11)
+    for (length in listOf(13, 255, 4096, 65536)) {
+      val source = random.nextBytes(length)
+      val compressed = compress(source)
+
+      assertTrue(compressed.size <= Lz4Block.maxCompressedLength(length))
+      assertArrayEquals(source, decompress(compressed, length))
+    }
+  }
+
+  @Test
+  fun compressesOnlyThePrefixIntoTheGivenOffset() {
+    val source = "abcabcabcabcabcabcabcabcabcabc".toByteArray()
+    val length = 24
+    val target = ByteArray(3 + Lz4Block.maxCompressedLength(length))
+
+    val written = Lz4Block.compress(source, length, target, 3)
+
+    assertEquals(0, target[0].toInt())
+    assertArrayEquals(
+      source.copyOf(length),
+      decompress(target.copyOfRange(3, 3 + written), length),
+    )
+  }
+
+  private fun roundTrip(source: ByteArray) = decompress(compress(source), source.size)
+
+  private fun compress(source: ByteArray): ByteArray {
+    val target = ByteArray(Lz4Block.maxCompressedLength(source.size))
+    return target.copyOf(Lz4Block.compress(source, source.size, target, 0))
+  }
+
+  /**
+   * Reference decoder of the LZ4 block format.
+   */
+  private fun decompress(block: ByteArray, length: Int): ByteArray {
+    val output = ByteArray(length)
+    var read = 0
+    var write = 0
+    while (true) {
+      val token = block[read++].toInt() and 0xFF
+      var literals = token ushr 4
+      if (literals == 15) {
+        do {
+          val extra = block[read++].toInt() and 0xFF
+          literals += extra
+        } while (extra == 255)
+      }
+      block.copyInto(output, write, read, read + literals)
+      read += literals
+      write += literals
+      if (read == block.size) break
+      val offset = (block[read].toInt() and 0xFF) or ((block[read + 1].toInt() and 0xFF) shl 8)
+      read += 2
+      var matchLength = token and 15
+      if (matchLength == 15) {
+        do {
+          val extra = block[read++].toInt() and 0xFF
+          matchLength += extra
+        } while (extra == 255)
+      }
+      repeat(matchLength + 4) {
+        output[write] = output[write - offset]
+        write++
+      }
+    }
+    assertEquals(length, write)
+    return output
+  }
+}
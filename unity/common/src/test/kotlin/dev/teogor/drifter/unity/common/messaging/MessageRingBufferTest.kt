@@ -0,0 +1,107 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.unity.common.messaging
+
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.atomic.AtomicBoolean
+import kotlin.concurrent.thread
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class MessageRingBufferTest {
+
+  @Test
+  fun roundsCapacityUpToAPowerOfTwo() {
+    assertEquals(2, MessageRingBuffer(capacity = 1).capacity)
+    assertEquals(8, MessageRingBuffer(capacity = 5).capacity)
+    assertEquals(16, MessageRingBuffer(capacity = 16).capacity)
+  }
+
+  @Test
+  fun pollsMessagesInOfferOrder() {
+    val buffer = MessageRingBuffer(capacity = 4)
+    repeat(3) { buffer.offer("Receiver", "Method$it", it) }
+
+    val received = mutableListOf<String>()
+    val consumer = MessageRingBuffer.Consumer { gameObject, methodName, funcParam ->
+      received += "$gameObject.$methodName($funcParam)"
+    }
+    while (buffer.poll(consumer)) continue
+
+    assertEquals(
+      listOf("Receiver.Method0(0)", "Receiver.Method1(1)", "Receiver.Method2(2)"),
+      received,
+    )
+    assertEquals(0, buffer.size)
+  }
+
+  @Test
+  fun rejectsOffersWhenFull() {
+    val buffer = MessageRingBuffer(capacity = 4)
+    repeat(4) { assertTrue(buffer.offer("Receiver", "Method", it)) }
+
+    assertFalse(buffer.offer("Receiver", "Method", 4))
+    assertEquals(4, buffer.size)
+
+    assertTrue(buffer.poll(null))
+    assertTrue(buffer.offer("Receiver", "Method", 4))
+  }
+
+  @Test
+  fun pollReturnsFalseWhenEmpty() {
+    val buffer = MessageRingBuffer(capacity = 4)
+
+    assertFalse(buffer.poll { _, _, _ -> throw AssertionError("Nothing to poll") })
+  }
+
+  @Test
+  fun deliversEveryMessageOnceAcrossThreads() {
+    val buffer = MessageRingBuffer(capacity = 64)
+    val producers = 4
+    val messagesPerProducer = 10_000
+    val received = ConcurrentHashMap.newKeySet<Int>()
+    val start = CountDownLatch(1)
+    val producing = AtomicBoolean(true)
+
+    val consumers = List(2) {
+      thread {
+        start.await()
+        while (producing.get() || buffer.size > 0) {
+          buffer.poll { _, _, funcParam -> received.add(funcParam as Int) }
+        }
+      }
+    }
+    val producerThreads = List(producers) { producer ->
+      thread {
+        start.await()
+        repeat(messagesPerProducer) {
+          val message = producer * messagesPerProducer + it
+          while (!buffer.offer("Receiver", "Method", message)) Thread.yield()
+        }
+      }
+    }
+    start.countDown()
+    producerThreads.forEach { it.join() }
+    producing.set(false)
+    consumers.forEach { it.join() }
+
+    assertEquals(producers * messagesPerProducer, received.size)
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.unity.common.messaging
+
+import org.junit.Assert.assertArrayEquals
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNotEquals
+import org.junit.Assert.assertThrows
+import org.junit.Test
+
+class MethodIdRegistryTest {
+
+  @Test
+  fun registeringAPairTwiceReturnsTheSameId() {
+    val id = MethodIdRegistry.register("SameIdReceiver", "OnValue")
+
+    assertEquals(id, MethodIdRegistry.register("SameIdReceiver", "OnValue"))
+    assertEquals(id, MethodIdRegistry.idOf("SameIdReceiver", "OnValue"))
+  }
+
+  @Test
+  fun distinctPairsGetDistinctIds() {
+    val first = MethodIdRegistry.register("DistinctReceiver", "OnFirst")
+    val second = MethodIdRegistry.register("DistinctReceiver", "OnSecond")
+    val other = MethodIdRegistry.register("OtherDistinctReceiver", "OnFirst")
+
+    assertNotEquals(first, second)
+    assertNotEquals(first, other)
+    assertEquals("DistinctReceiver", MethodIdRegistry.gameObjectOf(second))
+    assertEquals("OnSecond", MethodIdRegistry.methodNameOf(second))
+    assertEquals("OtherDistinctReceiver", MethodIdRegistry.gameObjectOf(other))
+  }
+
+  @Test
+  fun unknownPairsAndIdsAreReported() {
+    assertEquals(MethodIdRegistry.NO_ID, MethodIdRegistry.idOf("MissingReceiver", "OnValue"))
+    assertThrows(IllegalArgumentException::class.java) {
+      MethodIdRegistry.gameObjectOf(Int.MAX_VALUE)
+    }
+    assertThrows(IllegalArgumentException::class.java) {
+      MethodIdRegistry.methodNameOf(-1)
+    }
+  }
+
+  @Test
+  fun encodesTheTableAsLengthPrefixedFieldsInIdOrder() {
+    val id = MethodIdRegistry.register("Table:Receiver", "OnTable")
+    val table = MethodIdRegistry.encodeTable(id + 1)
+
+    val fields = decodeFields(table)
+    assertEquals(2 * (id + 1), fields.size)
+    assertEquals("Table:Receiver", fields[2 * id])
+    assertEquals("OnTable", fields[2 * id + 1])
+    assertEquals("", MethodIdRegistry.encodeTable(0))
+  }
+
+  @Test
+  fun prefixesDispatchPayloadsWithTheId() {
+    val payload = MethodIdRegistry.encodeDispatch(42, "value:ü".toByteArray(Charsets.UTF_8))
+
+    assertArrayEquals("42:value:ü".toByteArray(Charsets.UTF_8), payload)
+    assertArrayEquals(
+      "0:".toByteArray(Charsets.US_ASCII),
+      MethodIdRegistry.encodeDispatch(0, ByteArray(0)),
+    )
+    assertArrayEquals(
+      "${Int.MAX_VALUE}:x".toByteArray(Charsets.US_ASCII),
+      MethodIdRegistry.encodeDispatch(Int.MAX_VALUE, byteArrayOf('x'.code.toByte())),
+    )
+  }
+
+  private fun decodeFields(table: String): List<String> {
+    val fields = mutableListOf<String>()
+    var index = 0
+    while (index < table.length) {
+      val separator = table.indexOf(MessageBatchEnvelope.LENGTH_SEPARATOR, index)
+      val length = table.substring(index, separator).toInt()
+      fields += table.substring(separator + 1, separator + 1 + length)
+      index = separator + 1 + length
+    }
+    return fields
+  }
+}
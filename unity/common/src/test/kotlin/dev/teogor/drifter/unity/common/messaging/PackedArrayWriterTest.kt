@@ -0,0 +1,103 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.unity.common.messaging
+
+import dev.teogor.drifter.unity.common.memory.SharedMemoryPool
+import java.nio.ByteBuffer
+import java.nio.ByteOrder
+import java.util.Base64
+import org.junit.Assert.assertArrayEquals
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertThrows
+import org.junit.Test
+
+class PackedArrayWriterTest {
+
+  @Test
+  fun packsColumnsInTheDocumentedLayout() {
+    val writer = PackedArrayWriter(schemaId = 7)
+      .begin(3)
+      .column(floatArrayOf(0.5f, 1.5f, -2f))
+      .column(intArrayOf(1, 2, 3, 99))
+
+    val message = decode(writer.toMessageData())
+
+    assertEquals(writer.size, message.limit())
+    assertEquals(7, message.int)
+    assertEquals(3, message.int)
+    assertEquals(2, message.int)
+    assertEquals(PackedArrayWriter.TYPE_FLOAT32, message.int)
+    assertArrayEquals(floatArrayOf(0.5f, 1.5f, -2f), FloatArray(3) { message.float }, 0f)
+    assertEquals(PackedArrayWriter.TYPE_INT32, message.int)
+    assertArrayEquals(intArrayOf(1, 2, 3), IntArray(3) { message.int })
+    assertEquals(0, message.remaining())
+  }
+
+  @Test
+  fun growsTheBufferAndKeepsTheWrittenColumns() {
+    val values = IntArray(1000) { it * 3 }
+    val writer = PackedArrayWriter(initialCapacity = 16)
+      .begin(values.size)
+      .column(values)
+      .column(values)
+
+    val message = decode(writer.toMessageData())
+
+    message.position(16)
+    assertArrayEquals(values, IntArray(values.size) { message.int })
+    assertEquals(PackedArrayWriter.TYPE_INT32, message.int)
+    assertArrayEquals(values, IntArray(values.size) { message.int })
+  }
+
+  @Test
+  fun beginDiscardsThePreviousMessage() {
+    val writer = PackedArrayWriter()
+    writer.begin(2).column(intArrayOf(1, 2)).column(intArrayOf(3, 4))
+    writer.begin(1).column(floatArrayOf(8f))
+
+    val message = decode(writer.toMessageData())
+
+    assertEquals(20, message.limit())
+    assertEquals(1, message.getInt(8))
+    assertEquals(8f, message.getFloat(16), 0f)
+  }
+
+  @Test
+  fun rejectsColumnsShorterThanTheCount() {
+    val writer = PackedArrayWriter().begin(3)
+
+    assertThrows(IllegalArgumentException::class.java) { writer.column(intArrayOf(1, 2)) }
+    assertThrows(IllegalArgumentException::class.java) { writer.begin(-1) }
+  }
+
+  @Test
+  fun copiesTheUnencodedMessageIntoASharedMemorySlot() {
+    val writer = PackedArrayWriter(schemaId = 3).begin(2).column(floatArrayOf(1f, 2f))
+    SharedMemoryPool(slotSize = 64, slotCount = 1).use { pool ->
+      val slot = pool.acquire()!!
+
+      writer.writeTo(slot)
+
+      assertEquals(writer.size, slot.buffer.position())
+      assertEquals(decode(writer.toMessageData()), slot.buffer.flip())
+    }
+  }
+
+  private fun decode(data: ByteArray): ByteBuffer {
+    return ByteBuffer.wrap(Base64.getDecoder().decode(data)).order(ByteOrder.LITTLE_ENDIAN)
+  }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.unity.common.recording
+
+import java.io.File
+import java.io.IOException
+import java.nio.ByteBuffer
+import java.nio.ByteOrder
+import org.junit.After
+import org.junit.Assert.assertArrayEquals
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertThrows
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+
+class BridgeRecorderTest {
+
+  private lateinit var file: File
+
+  @Before
+  fun setUp() {
+    file = File.createTempFile("bridge", ".rec")
+  }
+
+  @After
+  fun tearDown() {
+    file.delete()
+  }
+
+  @Test
+  fun readsBackEveryKindOfRecord() {
+    BridgeRecorder(file).use { recorder ->
+      recorder.recordMessage("Receiver", "OnString", "héllo 😀")
+      recorder.recordMessage("Receiver", "OnBytes", byteArrayOf(1, 2, 3))
+      recorder.recordMessage("Receiver", "OnBuffer", ByteBuffer.wrap(byteArrayOf(0, 4, 5), 1, 2))
+      recorder.recordEvent("Wallpaper", "Tap", "{\"x\":1}")
+      assertEquals(4, recorder.recordCount)
+    }
+
+    BridgeRecordReader(file).use { reader ->
+      val records = reader.toList()
+      assertEquals(4, reader.size)
+      assertEquals(BridgeRecord.Kind.Message, records[0].kind)
+      assertEquals("Receiver", records[0].target)
+      assertEquals("OnString", records[0].name)
+      assertEquals("héllo 😀", records[0].payloadAsString())
+      assertArrayEquals(byteArrayOf(1, 2, 3), records[1].payload)
+      assertArrayEquals(byteArrayOf(4, 5), records[2].payload)
+      assertEquals(BridgeRecord.Kind.Event, records[3].kind)
+      assertEquals("Wallpaper", records[3].target)
+      assertEquals("{\"x\":1}", records[3].payloadAsString())
+      assertTrue(records.zipWithNext().all { (a, b) -> a.timestampNanos <= b.timestampNanos })
+    }
+  }
+
+  @Test
+  fun spansRecordsAcrossMappedWindows() {
+    val payloads = List(20) { index -> "payload-$index-" + "x".repeat(index * 7) }
+    BridgeRecorder(file, chunkSize = 64).use { recorder ->
+      payloads.forEach { recorder.recordMessage("Receiver", "OnValue", it) }
+    }
+
+    BridgeRecordReader(file).use { reader ->
+      assertEquals(payloads, reader.map { it.payloadAsString() })
+    }
+  }
+
+  @Test
+  fun readsRecordingsThatWereNeverClosed() {
+    val recorder = BridgeRecorder(file, chunkSize = 128)
+    repeat(10) { recorder.recordMessage("Receiver", "OnValue", "value-$it") }
+
+    BridgeRecordReader(file).use { reader ->
+      assertEquals(10, reader.size)
+      assertEquals("value-9", reader[9].payloadAsString())
+    }
+    recorder.close()
+  }
+
+  @Test
+  fun ignoresRecordsAfterClose() {
+    val recorder = BridgeRecorder(file)
+    recorder.recordMessage("Receiver", "OnValue", "kept")
+    recorder.close()
+    recorder.recordMessage("Receiver", "OnValue", "ignored")
+
+    BridgeRecordReader(file).use { reader ->
+      assertEquals(listOf("kept"), reader.map { it.payloadAsString() })
+    }
+    assertEquals(0, recorder.droppedCount)
+  }
+
+  @Test
+  fun rejectsFilesThatAreNotRecordings() {
+    file.writeBytes(ByteArray(BridgeRecordFormat.HEADER_SIZE))
+
+    assertThrows(IOException::class.java) { BridgeRecordReader(file) }
+  }
+
+  @Test
+  fun rejectsOffsetsOutsideOfTheFile() {
+    BridgeRecorder(file).use { it.recordMessage("Receiver", "OnValue", "value") }
+    val bytes = file.readBytes()
+    ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN)
+      .putLong(BridgeRecordFormat.INDEX_OFFSET, Long.MAX_VALUE - 4)
+    file.writeBytes(bytes)
+
+    assertThrows(IOException::class.java) { BridgeRecordReader(file) }
+  }
+}
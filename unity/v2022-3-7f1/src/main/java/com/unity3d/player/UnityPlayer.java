@@ -54,6 +54,7 @@ import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 
 import dev.teogor.drifter.unity.common.BaseUnityPlayer;
+import dev.teogor.drifter.unity.common.messaging.UnityFrameCallbacks;
 
 /**
  * @noinspection ALL
@@ -67,6 +68,7 @@ public class UnityPlayer extends BaseUnityPlayer implements IUnityPlayerLifecycl
   private static final String ARCORE_ENABLE_METADATA_NAME = "unity.arcore-enable";
   private static final String AUTO_REPORT_FULLY_DRAWN_ENABLE_METADATA_NAME = "unity.auto-report-fully-drawn";
   public static Activity currentActivity;
+  private static volatile boolean sFirstFrameRendered;
 
   static {
     new G().a();
@@ -182,6 +184,19 @@ public class UnityPlayer extends BaseUnityPlayer implements IUnityPlayerLifecycl
     this.m_MainThread.start();
   }
 
+  /**
+   * Tells whether the Unity Player can receive messages, that is whether the native libraries
+   * are loaded and the first frame has been rendered. Readiness is reset when the player is
+   * destroyed, so that a new player is only reported ready once it rendered its own first frame.
+   *
+   * <p>Messages sent through {@link #UnitySendMessage} before then are dropped.</p>
+   *
+   * @return {@code true} once the first frame has been rendered.
+   */
+  public static boolean isReady() {
+    return J.d() && sFirstFrameRendered;
+  }
+
   /**
    * Sends a message to a Unity GameObject with a specified method name and parameter.
    *
@@ -198,6 +213,22 @@ public class UnityPlayer extends BaseUnityPlayer implements IUnityPlayerLifecycl
     nativeUnitySendMessage(gameObject, methodName, funcParam.getBytes(StandardCharsets.UTF_8));
   }
 
+  /**
+   * Sends a message to a Unity GameObject with a parameter that is already UTF-8 encoded.
+   *
+   * <p>The array is handed to the native side as is, skipping the {@code String} round trip.</p>
+   *
+   * @param gameObject  The name of the Unity GameObject to receive the message.
+   * @param methodName  The name of the method to invoke on the GameObject.
+   * @param messageData The UTF-8 encoded parameter to pass to the method.
+   */
+  public static void UnitySendMessage(String gameObject, String methodName, byte[] messageData) {
+    if (!J.d()) {
+      return;
+    }
+    nativeUnitySendMessage(gameObject, methodName, messageData);
+  }
+
   /**
    * Sends a message to a Unity GameObject with a specified method name and parameter.
    *
@@ -680,6 +711,7 @@ public class UnityPlayer extends BaseUnityPlayer implements IUnityPlayerLifecycl
   }
 
   public void destroy() {
+    sFirstFrameRendered = false;
     Camera2Wrapper camera2Wrapper = this.m_Camera2Wrapper;
     if (camera2Wrapper != null) {
       camera2Wrapper.a();
@@ -1229,6 +1261,7 @@ public class UnityPlayer extends BaseUnityPlayer implements IUnityPlayerLifecycl
           UnityThread unityThread = UnityThread.this;
           unityThread.frameCount--;
           UnityPlayer.this.executeGLThreadJobs();
+          UnityFrameCallbacks.dispatchFrame();
           UnityThread unityThread2 = UnityThread.this;
           if (!unityThread2.isPaused) {
             return true;
@@ -1250,8 +1283,12 @@ public class UnityPlayer extends BaseUnityPlayer implements IUnityPlayerLifecycl
             }
             UnityThread.this.splashDelay--;
           }
-          if (!UnityPlayer.this.isFinishing() && !UnityPlayer.this.nativeRender()) {
-            UnityPlayer.this.finish();
+          if (!UnityPlayer.this.isFinishing()) {
+            if (UnityPlayer.this.nativeRender()) {
+              sFirstFrameRendered = true;
+            } else {
+              UnityPlayer.this.finish();
+            }
           }
         } else if (unityMessage == UnityMessage.QUIT) {
           Looper.myLooper().quit();
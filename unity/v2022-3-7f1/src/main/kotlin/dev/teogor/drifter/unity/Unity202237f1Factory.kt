@@ -23,10 +23,15 @@ import dev.teogor.drifter.unity.common.LocalUnityEngine
 import dev.teogor.drifter.unity.common.UnityEngineFactory
 import dev.teogor.drifter.unity.common.UnityOptions
 import dev.teogor.drifter.unity.common.configureOptions
+import dev.teogor.drifter.unity.common.messaging.asMessageData
+import java.nio.ByteBuffer
 
 class Unity202237f1Factory : UnityEngineFactory {
   override val version = "2022.3.7f1"
 
+  override val isPlayerReady: Boolean
+    get() = UnityPlayer.isReady()
+
   override fun createUnityPlayer(
     contextWrapper: ContextWrapper,
     options: UnityOptions,
@@ -45,6 +50,22 @@ class Unity202237f1Factory : UnityEngineFactory {
       funcParam,
     )
   }
+
+  override fun sendMessage(gameObject: String, methodName: String, funcParam: ByteArray) {
+    UnityPlayer.UnitySendMessage(
+      gameObject,
+      methodName,
+      funcParam,
+    )
+  }
+
+  override fun sendMessage(gameObject: String, methodName: String, funcParam: ByteBuffer) {
+    UnityPlayer.UnitySendMessage(
+      gameObject,
+      methodName,
+      funcParam.asMessageData(),
+    )
+  }
 }
 
 fun withUnity202237f1Factory() = LocalUnityEngine provide Unity202237f1Factory()
@@ -45,6 +45,8 @@ android {
 dependencies {
   implementation(projects.integration)
 
+  api(libs.kotlinx.coroutines.core)
+
   implementation(libs.appcompat)
   implementation(libs.androidx.startup.runtime)
   implementation(libs.gson)
@@ -16,6 +16,11 @@
 
 package dev.teogor.drifter.wallpaper
 
+import dev.teogor.drifter.unity.common.messaging.BridgeEvents
+import dev.teogor.drifter.unity.common.recording.BridgeRecord
+import dev.teogor.drifter.unity.common.recording.BridgeRecording
+import dev.teogor.drifter.wallpaper.events.LiveWallpaperEventFlows
+import dev.teogor.drifter.wallpaper.latency.BridgeLatencyProbe
 import java.util.concurrent.LinkedBlockingDeque
 
 /**
@@ -24,6 +29,16 @@ import java.util.concurrent.LinkedBlockingDeque
  *
  *
  * Note: Currently, the only listener is on the Unity C# side.
+ *
+ * Events are appended to the active `BridgeRecording`, if any, and can be fed back through
+ * [replayEvent].
+ *
+ * Android consumers can collect the events as flows through [eventFlows] instead of
+ * implementing [ILiveWallpaperEventsListener].
+ *
+ * Round trips to Unity are measured by [latencyProbe], whose echoes are consumed here as
+ * [BridgeLatencyProbe.PONG_EVENT] custom events. Custom events claimed by a [BridgeEvents]
+ * handler, such as the answers to `UnityRpc` calls, are consumed here as well.
  */
 class UnityEventsProxy : ILiveWallpaperEventsListener {
   /**
@@ -51,6 +66,23 @@ class UnityEventsProxy : ILiveWallpaperEventsListener {
     mCustomEventReceivedEventDispatcher,
   )
 
+  /**
+   * The events as flows. The state flows follow every event reported to this proxy.
+   */
+  val eventFlows: LiveWallpaperEventFlows = LiveWallpaperEventFlows()
+
+  @Volatile
+  private var mLatencyProbe: BridgeLatencyProbe? = null
+
+  /**
+   * The round-trip latency probe, created on first access. Echoes received before that are
+   * ignored.
+   */
+  val latencyProbe: BridgeLatencyProbe
+    get() = mLatencyProbe ?: synchronized(this) {
+      mLatencyProbe ?: BridgeLatencyProbe(this).also { mLatencyProbe = it }
+    }
+
   /**
    * Registers an event listener.
    * Note: Called from C# code.
@@ -80,7 +112,9 @@ class UnityEventsProxy : ILiveWallpaperEventsListener {
    * @param isVisible
    */
   override fun visibilityChanged(isVisible: Boolean) {
+    record(VISIBILITY_CHANGED) { fields(isVisible) }
     mVisibilityChangedEventDispatcher.Enqueue(VisibilityChangedEvent(isVisible))
+    eventFlows.emitVisibility(isVisible)
   }
 
   /**
@@ -89,6 +123,7 @@ class UnityEventsProxy : ILiveWallpaperEventsListener {
    * @param isPreview
    */
   override fun isPreviewChanged(isPreview: Boolean) {
+    record(IS_PREVIEW_CHANGED) { fields(isPreview) }
     mIsPreviewChangedEventDispatcher.Record(isPreview)
   }
 
@@ -99,7 +134,9 @@ class UnityEventsProxy : ILiveWallpaperEventsListener {
    * @param desiredHeight
    */
   override fun desiredSizeChanged(desiredWidth: Int, desiredHeight: Int) {
+    record(DESIRED_SIZE_CHANGED) { fields(desiredWidth, desiredHeight) }
     mDesiredSizeChangedEventDispatcher.Record(desiredWidth, desiredHeight)
+    eventFlows.emitDesiredSize(desiredWidth, desiredHeight)
   }
 
   /**
@@ -120,6 +157,9 @@ class UnityEventsProxy : ILiveWallpaperEventsListener {
     xPixelOffset: Int,
     yPixelOffset: Int,
   ) {
+    record(OFFSETS_CHANGED) {
+      fields(xOffset, yOffset, xOffsetStep, yOffsetStep, xPixelOffset, yPixelOffset)
+    }
     mOffsetsChangedEventDispatcher.Record(
       xOffset,
       yOffset,
@@ -128,12 +168,21 @@ class UnityEventsProxy : ILiveWallpaperEventsListener {
       xPixelOffset,
       yPixelOffset,
     )
+    eventFlows.emitOffsets(
+      xOffset,
+      yOffset,
+      xOffsetStep,
+      yOffsetStep,
+      xPixelOffset,
+      yPixelOffset,
+    )
   }
 
   /**
    * Called to inform that live wallpaper preferences Activity has started.
    */
   override fun preferencesActivityTriggered() {
+    record(PREFERENCES_ACTIVITY_TRIGGERED) { fields() }
     mPreferenceActivityTriggeredEventDispatcher.Enqueue(PreferenceActivityTriggeredEvent())
   }
 
@@ -143,6 +192,7 @@ class UnityEventsProxy : ILiveWallpaperEventsListener {
    * @param key SharedPreferences preference key that has changed.
    */
   override fun preferenceChanged(key: String) {
+    record(PREFERENCE_CHANGED) { fields(key) }
     mPreferenceChangedEventDispatcher.Enqueue(PreferenceChangedEvent(key))
   }
 
@@ -153,14 +203,23 @@ class UnityEventsProxy : ILiveWallpaperEventsListener {
    * @param eventData Event data.
    */
   override fun customEventReceived(eventName: String, eventData: String) {
+    if (eventName == BridgeLatencyProbe.PONG_EVENT) {
+      mLatencyProbe?.onPong(eventData)
+      return
+    }
+    if (BridgeEvents.dispatch(eventName, eventData)) return
+    record(CUSTOM_EVENT_RECEIVED) { fields(eventName, eventData) }
     mCustomEventReceivedEventDispatcher.Enqueue(CustomEventReceivedEvent(eventName, eventData))
+    eventFlows.emitCustomEvent(eventName, eventData)
   }
 
   /**
    * Called to inform that user has tapped the screen multiple times.
    */
   override fun multiTapDetected(finalTapPositionX: Float, finalTapPositionY: Float) {
+    record(MULTI_TAP_DETECTED) { fields(finalTapPositionX, finalTapPositionY) }
     mMultiTapDetectedEventDispatcher.Record(finalTapPositionX, finalTapPositionY)
+    eventFlows.emitMultiTap(finalTapPositionX, finalTapPositionY)
   }
 
   /**
@@ -173,6 +232,57 @@ class UnityEventsProxy : ILiveWallpaperEventsListener {
     }
   }
 
+  /**
+   * Queues a [BridgeLatencyProbe.PING_EVENT] for the Unity listeners, bypassing recording and
+   * [eventFlows].
+   */
+  internal fun enqueueProbeEvent(eventData: String) {
+    mCustomEventReceivedEventDispatcher.Enqueue(
+      CustomEventReceivedEvent(BridgeLatencyProbe.PING_EVENT, eventData),
+    )
+  }
+
+  /**
+   * Queues an event recorded by `BridgeRecording`, as if the matching callback was called.
+   *
+   * @param record A [BridgeRecord.Kind.Event] record emitted by [EVENTS_SOURCE].
+   */
+  fun replayEvent(record: BridgeRecord) {
+    require(record.kind == BridgeRecord.Kind.Event && record.target == EVENTS_SOURCE) {
+      "Not an event of $EVENTS_SOURCE: $record"
+    }
+    val fields = record.payloadAsString().split(FIELD_SEPARATOR, limit = 6)
+    when (record.name) {
+      VISIBILITY_CHANGED -> visibilityChanged(fields[0].toBoolean())
+      IS_PREVIEW_CHANGED -> isPreviewChanged(fields[0].toBoolean())
+      DESIRED_SIZE_CHANGED -> desiredSizeChanged(fields[0].toInt(), fields[1].toInt())
+      OFFSETS_CHANGED -> offsetsChanged(
+        fields[0].toFloat(),
+        fields[1].toFloat(),
+        fields[2].toFloat(),
+        fields[3].toFloat(),
+        fields[4].toInt(),
+        fields[5].toInt(),
+      )
+
+      PREFERENCES_ACTIVITY_TRIGGERED -> preferencesActivityTriggered()
+      PREFERENCE_CHANGED -> preferenceChanged(record.payloadAsString())
+      CUSTOM_EVENT_RECEIVED -> {
+        val (eventName, eventData) = record.payloadAsString().split(FIELD_SEPARATOR, limit = 2)
+        customEventReceived(eventName, eventData)
+      }
+
+      MULTI_TAP_DETECTED -> multiTapDetected(fields[0].toFloat(), fields[1].toFloat())
+      else -> throw IllegalArgumentException("Unknown event: ${record.name}")
+    }
+  }
+
+  private inline fun record(eventName: String, payload: () -> String) {
+    BridgeRecording.recorder?.recordEvent(EVENTS_SOURCE, eventName, payload())
+  }
+
+  private fun fields(vararg values: Any): String = values.joinToString(FIELD_SEPARATOR)
+
   /* Base event dispatcher classes */
   private abstract inner class EventBase<T> {
     abstract fun isEqual(other: T): Boolean
@@ -428,4 +538,23 @@ class UnityEventsProxy : ILiveWallpaperEventsListener {
       listener.customEventReceived(event.name, event.data)
     }
   }
+
+  companion object {
+
+    /**
+     * Source of the events recorded by `BridgeRecording`.
+     */
+    const val EVENTS_SOURCE = "UnityEventsProxy"
+
+    private const val FIELD_SEPARATOR = "\u001F"
+
+    private const val VISIBILITY_CHANGED = "visibilityChanged"
+    private const val IS_PREVIEW_CHANGED = "isPreviewChanged"
+    private const val DESIRED_SIZE_CHANGED = "desiredSizeChanged"
+    private const val OFFSETS_CHANGED = "offsetsChanged"
+    private const val PREFERENCES_ACTIVITY_TRIGGERED = "preferencesActivityTriggered"
+    private const val PREFERENCE_CHANGED = "preferenceChanged"
+    private const val CUSTOM_EVENT_RECEIVED = "customEventReceived"
+    private const val MULTI_TAP_DETECTED = "multiTapDetected"
+  }
 }
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.wallpaper.events
+
+import kotlinx.coroutines.channels.BufferOverflow
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.MutableSharedFlow
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.SharedFlow
+import kotlinx.coroutines.flow.StateFlow
+import kotlinx.coroutines.flow.asSharedFlow
+import kotlinx.coroutines.flow.asStateFlow
+import kotlinx.coroutines.flow.onSubscription
+
+/**
+ * Live Wallpaper events as [Flow]s, one per event type.
+ *
+ * `UnityEventsProxy` creates the flows along with itself and feeds them every event it
+ * receives, so state-like events are tracked from the start even without collectors.
+ * [visibility], [offsets] and [desiredSize] conflate to the latest reported value: a new
+ * collector receives the current state right away, and a slow collector skips intermediate
+ * values instead of falling behind. Discrete events, [multiTaps] and [customEvents], are
+ * buffered up to [bufferCapacity] per collector; beyond that the oldest undelivered events are
+ * dropped.
+ *
+ * Events are emitted from the thread that reports them, without suspending. The value of an
+ * event is only allocated when its flow has collectors: the latest offsets and desired size
+ * are kept as primitives otherwise, and handed to the next collector when it subscribes.
+ *
+ * @param bufferCapacity Number of discrete events buffered for each collector.
+ */
+class LiveWallpaperEventFlows internal constructor(
+  bufferCapacity: Int = DEFAULT_BUFFER_CAPACITY,
+) {
+
+  private val visibilityFlow = MutableStateFlow(false)
+  private val offsetsFlow = MutableStateFlow<WallpaperOffsets?>(null)
+  private val desiredSizeFlow = MutableStateFlow<DesiredSize?>(null)
+  private val multiTapsFlow = bufferedFlow<MultiTap>(bufferCapacity)
+  private val customEventsFlow = bufferedFlow<CustomEvent>(bufferCapacity)
+
+  private val stateLock = Any()
+  private var hasOffsets = false
+  private var xOffset = 0f
+  private var yOffset = 0f
+  private var xOffsetStep = 0f
+  private var yOffsetStep = 0f
+  private var xPixelOffset = 0
+  private var yPixelOffset = 0
+  private var hasDesiredSize = false
+  private var desiredWidth = 0
+  private var desiredHeight = 0
+
+  /**
+   * Whether the wallpaper is visible, `false` until the first visibility change.
+   */
+  val visibility: StateFlow<Boolean> = visibilityFlow.asStateFlow()
+
+  /**
+   * Offsets of the wallpaper, or `null` until they are first reported.
+   */
+  val offsets: SharedFlow<WallpaperOffsets?> = offsetsFlow.onSubscription {
+    synchronized(stateLock) { offsetsFlow.value = currentOffsets() }
+  }
+
+  /**
+   * Desired size of the wallpaper, or `null` until it is first reported.
+   */
+  val desiredSize: SharedFlow<DesiredSize?> = desiredSizeFlow.onSubscription {
+    synchronized(stateLock) { desiredSizeFlow.value = currentDesiredSize() }
+  }
+
+  /**
+   * Multi-tap gestures, buffered.
+   */
+  val multiTaps: Flow<MultiTap> = multiTapsFlow.asSharedFlow()
+
+  /**
+   * Custom events, buffered.
+   */
+  val customEvents: Flow<CustomEvent> = customEventsFlow.asSharedFlow()
+
+  internal fun emitVisibility(isVisible: Boolean) {
+    visibilityFlow.value = isVisible
+  }
+
+  internal fun emitOffsets(
+    xOffset: Float,
+    yOffset: Float,
+    xOffsetStep: Float,
+    yOffsetStep: Float,
+    xPixelOffset: Int,
+    yPixelOffset: Int,
+  ) {
+    synchronized(stateLock) {
+      hasOffsets = true
+      this.xOffset = xOffset
+      this.yOffset = yOffset
+      this.xOffsetStep = xOffsetStep
+      this.yOffsetStep = yOffsetStep
+      this.xPixelOffset = xPixelOffset
+      this.yPixelOffset = yPixelOffset
+      if (offsetsFlow.hasCollectors) offsetsFlow.value = currentOffsets()
+    }
+  }
+
+  internal fun emitDesiredSize(width: Int, height: Int) {
+    synchronized(stateLock) {
+      hasDesiredSize = true
+      desiredWidth = width
+      desiredHeight = height
+      if (desiredSizeFlow.hasCollectors) desiredSizeFlow.value = currentDesiredSize()
+    }
+  }
+
+  internal fun emitMultiTap(x: Float, y: Float) {
+    if (!multiTapsFlow.hasCollectors) return
+    multiTapsFlow.tryEmit(MultiTap(x, y))
+  }
+
+  internal fun emitCustomEvent(name: String, data: String) {
+    if (!customEventsFlow.hasCollectors) return
+    customEventsFlow.tryEmit(CustomEvent(name, data))
+  }
+
+  private fun currentOffsets(): WallpaperOffsets? {
+    if (!hasOffsets) return null
+    return WallpaperOffsets(xOffset, yOffset, xOffsetStep, yOffsetStep, xPixelOffset, yPixelOffset)
+  }
+
+  private fun currentDesiredSize(): DesiredSize? {
+    if (!hasDesiredSize) return null
+    return DesiredSize(desiredWidth, desiredHeight)
+  }
+
+  private val MutableSharedFlow<*>.hasCollectors: Boolean
+    get() = subscriptionCount.value > 0
+
+  companion object {
+    const val DEFAULT_BUFFER_CAPACITY = 64
+
+    private fun <T> bufferedFlow(capacity: Int) = MutableSharedFlow<T>(
+      extraBufferCapacity = capacity,
+      onBufferOverflow = BufferOverflow.DROP_OLDEST,
+    )
+  }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2026 teogor (Teodor Grigor)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.teogor.drifter.wallpaper.latency
+
+import dev.teogor.drifter.unity.common.UnityEngine
+import dev.teogor.drifter.unity.common.messaging.DeliveryMode
+import dev.teogor.drifter.unity.common.metrics.RollingLatencyHistogram
+import dev.teogor.drifter.wallpaper.UnityEventsProxy
+import java.util.concurrent.ScheduledExecutorService
+import java.util.concurrent.ScheduledThreadPoolExecutor
+import java.util.concurrent.TimeUnit
+
+/**
+ * Measures round trips between Android and Unity with timestamped probes.
+ *
+ * Two kinds of probes are sent, each carrying a kind character followed by the
+ * `System.nanoTime()` at which it was sent:
+ * - message probes go through `UnityEngine.sendUncompressed` to [METHOD] of [RECEIVER], and
+ * measure the message path into [messageLatency];
+ * - event probes are queued as [PING_EVENT] custom events on the [UnityEventsProxy], and measure
+ * the event path, including the wait for `dispatchEvents`, into [eventLatency].
+ *
+ * Unity echoes both probes back unchanged as [PONG_EVENT] custom events:
+ *
+ * ```csharp
+ * public class DrifterBridge : MonoBehaviour {
+ *   public void Ping(string probe) {
+ *     eventsProxy.Call("customEventReceived", "drifter.pong", probe);
+ *   }
+ *
+ *   // Registered as ILiveWallpaperEventsListener.
+ *   void customEventReceived(string eventName, string eventData) {
+ *     if (eventName == "drifter.ping") {
+ *       eventsProxy.Call("customEventReceived", "drifter.pong", eventData);
+ *     }
+ *   }
+ * }
+ * ```
+ *
+ * Probe events are neither recorded by `BridgeRecording` nor emitted through `eventFlows`.
+ * Probes are only sent once `UnityEngine.releasePreInitBuffer` reports that messages reach the
+ * Unity Player right away, so they never wait in the pre-initialization buffer.
+ */
+class BridgeLatencyProbe internal constructor(
+  private val eventsProxy: UnityEventsProxy,
+) {
+
+  private val lock = Any()
+  private var scheduler: ScheduledExecutorService? = null
+
+  /**
+   * Round trips of message probes over the last minute.
+   */
+  val messageLatency = RollingLatencyHistogram()
+
+  /**
+   * Round trips of event probes over the last minute.
+   */
+  val eventLatency = RollingLatencyHistogram()
+
+  /**
+   * Whether probes are sent periodically, between [start] and [stop].
+   */
+  val isRunning: Boolean
+    get() = synchronized(lock) { scheduler != null }
+
+  /**
+   * Sends one message probe and one event probe.
+   *
+   * @return `false` if the Unity Player is not ready yet and nothing was sent.
+   */
+  fun probe(): Boolean {
+    if (!UnityEngine.releasePreInitBuffer()) return false
+    UnityEngine.sendUncompressed(
+      RECEIVER,
+      METHOD,
+      "$MESSAGE_PROBE${System.nanoTime()}",
+      DeliveryMode.Immediate,
+    )
+    eventsProxy.enqueueProbeEvent("$EVENT_PROBE${System.nanoTime()}")
+    return true
+  }
+
+  /**
+   * Sends probes every [periodMillis] milliseconds from a background thread, until [stop].
+   *
+   * @param periodMillis The time between two probes.
+   */
+  @JvmOverloads
+  fun start(periodMillis: Long = DEFAULT_PERIOD_MILLIS) {
+    require(periodMillis > 0) { "periodMillis must be positive, was $periodMillis" }
+    synchronized(lock) {
+      if (scheduler != null) return
+      scheduler = ScheduledThreadPoolExecutor(1) { runnable ->
+        Thread(runnable, "BridgeLatencyProbe").apply { isDaemon = true }
+      }.apply {
+        scheduleAtFixedRate({ probe() }, periodMillis, periodMillis, TimeUnit.MILLISECONDS)
+      }
+    }
+  }
+
+  /**
+   * Stops sending periodic probes. Echoes of probes already sent are still recorded.
+   */
+  fun stop() {
+    synchronized(lock) {
+      scheduler?.shutdownNow()
+      scheduler = null
+    }
+  }
+
+  internal fun onPong(eventData: String) {
+    val receivedNanos = System.nanoTime()
+    val sentNanos = eventData.drop(1).toLongOrNull() ?: return
+    when (eventData[0]) {
+      MESSAGE_PROBE -> messageLatency.record(receivedNanos - sentNanos)
+      EVENT_PROBE -> eventLatency.record(receivedNanos - sentNanos)
+    }
+  }
+
+  companion object {
+
+    /**
+     * Name of the Unity GameObject receiving message probes.
+     */
+    const val RECEIVER = "DrifterBridge"
+
+    /**
+     * Name of the method invoked on [RECEIVER] with a message probe.
+     */
+    const val METHOD = "Ping"
+
+    /**
+     * Name of the custom event carrying an event probe to Unity.
+     */
+    const val PING_EVENT = "drifter.ping"
+
+    /**
+     * Name of the custom event Unity echoes probes back with.
+     */
+    const val PONG_EVENT = "drifter.pong"
+
+    const val DEFAULT_PERIOD_MILLIS = 10_000L
+
+    private const val MESSAGE_PROBE = 'M'
+    private const val EVENT_PROBE = 'E'
+  }
+}